@@ -0,0 +1,25 @@
+package com.a1a.shared.auth.application.port.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Require a boolean combination of permissions. Codes are combined with &&, || and !, grouped
+ * with parentheses; the expression is parsed and checked against the known permission codes at
+ * startup, and evaluated with a single permission load per call.
+ *
+ * <p>Usage: @RequirePermissionExpr("FAB_PRD_INV_FABRIC_VIEW && (FAB_PRD_INV_FABRIC_EXPORT ||
+ * FAB_PRD_INV_FABRIC_PRINT)") public ResponseEntity<?> exportFabricInventory() { ... }
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequirePermissionExpr {
+
+    /** Permission expression */
+    String value();
+
+    /** Optional: Custom error message */
+    String errorMessage() default "Access denied: Permission requirement not met";
+}
@@ -0,0 +1,26 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Driven Port for storing batches of authorization audit records.
+ *
+ * <p>Called from a single background thread. The records are only valid during the call and must
+ * be copied or rendered, not retained.
+ */
+public interface AuditSinkPort {
+
+    /**
+     * Store a batch of records.
+     *
+     * @param batch records in decision order, never empty
+     * @throws IOException if the batch could not be stored; it is counted as lost
+     */
+    void write(List<? extends AuthorizationAuditRecord> batch) throws IOException;
+
+    /** Release resources; no more batches follow */
+    default void close() throws IOException {}
+}
@@ -0,0 +1,134 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Driven Port for timing the stages of the auth pipeline.
+ *
+ * <p>Callers check {@link #isEnabled()} before reading the clock, so with {@link #NONE} the
+ * instrumented code does no extra work. Several implementations (e.g. Micrometer and JFR) are
+ * combined with {@link #composite(List)}.
+ */
+public interface AuthMetricsPort {
+
+    /** Records nothing */
+    AuthMetricsPort NONE =
+            new AuthMetricsPort() {
+                @Override
+                public boolean isEnabled() {
+                    return false;
+                }
+            };
+
+    /** Outcome of a token verification */
+    enum TokenOutcome {
+        VALID,
+        EXPIRED,
+        INVALID
+    }
+
+    /**
+     * Checks if measurements are recorded; if not, callers skip timing altogether. The answer may
+     * change at runtime (e.g. while a flight recording runs), so callers ask once per operation.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * A token was verified.
+     *
+     * @param outcome result of the verification
+     * @param parseNanos time spent parsing the token
+     * @param signatureNanos time spent obtaining the key and checking the signature
+     * @param claimsNanos time spent validating and mapping the claims
+     */
+    default void tokenVerified(TokenOutcome outcome, long parseNanos, long signatureNanos, long claimsNanos) {}
+
+    /**
+     * Keys were fetched from the JWKS endpoint.
+     *
+     * @param nanos duration of the fetch
+     * @param success false if the fetch failed
+     */
+    default void jwksRefreshed(long nanos, boolean success) {}
+
+    /**
+     * Permissions were fetched from the Gateway.
+     *
+     * @param nanos duration of the call
+     * @param status HTTP status of the response, 0 if there was none
+     * @param bytes Content-Length of the response, -1 if unknown
+     * @param success false if the call failed or the Gateway reported an error
+     */
+    default void gatewayFetched(long nanos, int status, long bytes, boolean success) {}
+
+    /**
+     * A permission or role check of the annotation aspects decided.
+     *
+     * @param check kind of check
+     * @param method annotated method the check guarded
+     * @param granted true if access was granted
+     * @param nanos duration of the check
+     */
+    default void authorizationDecided(
+            AuthorizationAuditRecord.Check check, Method method, boolean granted, long nanos) {}
+
+    /**
+     * Port forwarding to all given ports.
+     *
+     * @return {@link #NONE} if there is no port, the port itself if there is only one
+     */
+    static AuthMetricsPort composite(List<? extends AuthMetricsPort> ports) {
+        AuthMetricsPort[] all = ports.stream().filter(port -> port != NONE).toArray(AuthMetricsPort[]::new);
+        if (all.length == 0) {
+            return NONE;
+        }
+        if (all.length == 1) {
+            return all[0];
+        }
+        return new AuthMetricsPort() {
+            @Override
+            public boolean isEnabled() {
+                for (AuthMetricsPort port : all) {
+                    if (port.isEnabled()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void tokenVerified(TokenOutcome outcome, long parseNanos, long signatureNanos, long claimsNanos) {
+                for (AuthMetricsPort port : all) {
+                    port.tokenVerified(outcome, parseNanos, signatureNanos, claimsNanos);
+                }
+            }
+
+            @Override
+            public void jwksRefreshed(long nanos, boolean success) {
+                for (AuthMetricsPort port : all) {
+                    port.jwksRefreshed(nanos, success);
+                }
+            }
+
+            @Override
+            public void gatewayFetched(long nanos, int status, long bytes, boolean success) {
+                for (AuthMetricsPort port : all) {
+                    port.gatewayFetched(nanos, status, bytes, success);
+                }
+            }
+
+            @Override
+            public void authorizationDecided(
+                    AuthorizationAuditRecord.Check check, Method method, boolean granted, long nanos) {
+                for (AuthMetricsPort port : all) {
+                    port.authorizationDecided(check, method, granted, nanos);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import java.lang.reflect.Method;
+
+/**
+ * Driven Port for recording authorization decisions.
+ *
+ * <p>Called on the request thread for every decision, so implementations must not block on I/O.
+ */
+@FunctionalInterface
+public interface AuthorizationAuditPort {
+
+    /** Discards all decisions */
+    AuthorizationAuditPort NONE = (check, userId, username, method, requirement, granted, latencyNanos) -> {};
+
+    /**
+     * Record a decision.
+     *
+     * @param check kind of check
+     * @param userId account ID of the user, nullable
+     * @param username username of the user, nullable
+     * @param method annotated method the check guarded
+     * @param requirement required permission, role or requirement, rendered later with toString()
+     * @param granted true if access was granted
+     * @param latencyNanos time the check took
+     */
+    void record(
+            AuthorizationAuditRecord.Check check,
+            Long userId,
+            String username,
+            Method method,
+            Object requirement,
+            boolean granted,
+            long latencyNanos);
+
+    /**
+     * Record a check that ended in an exception instead of a decision, e.g. because the
+     * permissions could not be loaded. By default it is recorded as not granted.
+     *
+     * @param error exception the check ended with
+     */
+    default void recordError(
+            AuthorizationAuditRecord.Check check,
+            Long userId,
+            String username,
+            Method method,
+            Object requirement,
+            Throwable error,
+            long latencyNanos) {
+        record(check, userId, username, method, requirement, false, latencyNanos);
+    }
+
+    /** This port followed by another one */
+    default AuthorizationAuditPort andThen(AuthorizationAuditPort next) {
+        AuthorizationAuditPort first = this;
+        return new AuthorizationAuditPort() {
+            @Override
+            public void record(
+                    AuthorizationAuditRecord.Check check,
+                    Long userId,
+                    String username,
+                    Method method,
+                    Object requirement,
+                    boolean granted,
+                    long latencyNanos) {
+                first.record(check, userId, username, method, requirement, granted, latencyNanos);
+                next.record(check, userId, username, method, requirement, granted, latencyNanos);
+            }
+
+            @Override
+            public void recordError(
+                    AuthorizationAuditRecord.Check check,
+                    Long userId,
+                    String username,
+                    Method method,
+                    Object requirement,
+                    Throwable error,
+                    long latencyNanos) {
+                first.recordError(check, userId, username, method, requirement, error, latencyNanos);
+                next.recordError(check, userId, username, method, requirement, error, latencyNanos);
+            }
+        };
+    }
+}
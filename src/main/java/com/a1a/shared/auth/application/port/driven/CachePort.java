@@ -2,7 +2,9 @@ package com.a1a.shared.auth.application.port.driven;
 
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Driven Port for generic caching functionality.
@@ -37,7 +39,31 @@ public interface CachePort<K, V> {
      */
     void evict(K key);
 
+    /**
+     * Evict all keys matching a filter.
+     *
+     * <p>The default implementation evicts the matching keys of {@link #entries()}; implementations
+     * that cannot enumerate their entries must override it.
+     *
+     * @param filter selects the keys to evict
+     */
+    default void evictIf(Predicate<? super K> filter) {
+        entries().keySet().stream().filter(filter).forEach(this::evict);
+    }
+
     /** Clear all entries from the cache. */
     void clear();
+
+    /**
+     * Copy of all entries currently in the cache.
+     *
+     * <p>Implementations that cannot enumerate their entries (e.g. distributed caches) return an
+     * empty map.
+     *
+     * @return immutable map of the cached entries
+     */
+    default Map<K, V> entries() {
+        return Map.of();
+    }
 }
 
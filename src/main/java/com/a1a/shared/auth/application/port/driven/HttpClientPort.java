@@ -0,0 +1,41 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Driven Port for the outbound HTTP calls of the library (JWKS keys, permission Gateway).
+ *
+ * <p>Implemented on WebClient when Spring WebFlux is on the classpath, and on the JDK HTTP client
+ * otherwise. Connect and read timeouts are fixed per instance.
+ */
+public interface HttpClientPort {
+    /**
+     * Send a GET request.
+     *
+     * <p>Any HTTP status is emitted as a {@link Response}; the body is only bound for 2xx answers.
+     * The Mono errors for network failures and timeouts.
+     *
+     * @param url absolute URL
+     * @param headers request headers, by name
+     * @param bodyType type the JSON body is bound to, {@code Void.class} to discard the body
+     * @return Mono emitting the response
+     */
+    <T> Mono<Response<T>> get(String url, Map<String, String> headers, Class<T> bodyType);
+
+    /**
+     * Answer to a request.
+     *
+     * @param status HTTP status code
+     * @param etag ETag header, null if absent
+     * @param contentLength size of the body in bytes, -1 if unknown
+     * @param body bound body, null for non-2xx answers and empty bodies
+     */
+    record Response<T>(int status, String etag, long contentLength, T body) {
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
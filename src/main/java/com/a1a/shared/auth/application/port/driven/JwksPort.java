@@ -1,6 +1,9 @@
 package com.a1a.shared.auth.application.port.driven;
 
+import com.a1a.shared.auth.domain.model.KeyRing;
+
 import java.security.interfaces.RSAPublicKey;
+import java.util.Optional;
 
 /**
  * Driven Port for fetching public keys from JWKS endpoint.
@@ -24,4 +27,24 @@ public interface JwksPort {
      * <p>This forces a refresh of the cached keys. Useful when keys are rotated.
      */
     void refreshKeys();
+
+    /**
+     * Get the key ring fetched most recently.
+     *
+     * @return the current key ring, or empty if no keys were fetched yet
+     */
+    default Optional<KeyRing> getKeyRing() {
+        return Optional.empty();
+    }
+
+    /**
+     * Serve a previously fetched key ring, e.g. restored from an authenticated snapshot at
+     * startup, until keys are fetched again.
+     *
+     * <p>Implementations should fetch the keys now and replace the restored ring with the fetched
+     * one; a ring that was already fetched is kept.
+     *
+     * @param keyRing key ring fetched from the JWKS endpoint before the restart
+     */
+    default void restoreKeyRing(KeyRing keyRing) {}
 }
@@ -0,0 +1,22 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import com.a1a.shared.auth.domain.model.RolePermissionMatrix;
+
+import java.util.Optional;
+
+/**
+ * Driven Port for downloading the complete role to permission matrix.
+ *
+ * <p>Used by loaders that evaluate permissions locally from the user's roles instead of asking
+ * the permission source for every user.
+ */
+public interface PermissionMatrixPort {
+    /**
+     * Download the matrix if it changed since the given version.
+     *
+     * @param currentVersion version of the matrix already held, null to always download
+     * @return the new matrix, or empty if the source reports it unchanged
+     * @throws RuntimeException if the matrix cannot be fetched
+     */
+    Optional<RolePermissionMatrix> fetchMatrix(String currentVersion);
+}
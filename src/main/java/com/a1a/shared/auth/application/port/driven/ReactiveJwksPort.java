@@ -0,0 +1,28 @@
+package com.a1a.shared.auth.application.port.driven;
+
+import com.a1a.shared.auth.domain.model.KeyRing;
+
+import reactor.core.publisher.Mono;
+
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Non-blocking counterpart of {@link JwksPort} for reactive (WebFlux) applications.
+ *
+ * <p>Implementations must not block the calling thread, so the port can be used on event loops.
+ */
+public interface ReactiveJwksPort {
+    /**
+     * Get the RSA public key for RS256 token verification, fetching it if it is not cached.
+     *
+     * @return Mono emitting the RSAPublicKey, or an error if the key cannot be fetched
+     */
+    Mono<RSAPublicKey> publicKey();
+
+    /**
+     * Fetch the keys from the JWKS endpoint again.
+     *
+     * @return Mono emitting the new key ring
+     */
+    Mono<KeyRing> reloadKeys();
+}
@@ -1,6 +1,9 @@
 package com.a1a.shared.auth.application.port.driving;
 
+import com.a1a.shared.auth.domain.model.UserContext;
+
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * SPI for loading user permissions Each microservice implements this to fetch permissions from
@@ -16,6 +19,23 @@ public interface PermissionLoaderUseCase {
      */
     Set<String> loadPermissions(Long userId);
 
+    /**
+     * Load permissions for a specific user without blocking the caller.
+     *
+     * <p>Must be called on a thread where the user is authenticated. The default implementation
+     * loads synchronously; loaders backed by a remote source override it.
+     *
+     * @param userId User identifier
+     * @return future of the set of permission codes the user has
+     */
+    default CompletableFuture<Set<String>> loadPermissionsAsync(Long userId) {
+        try {
+            return CompletableFuture.completedFuture(loadPermissions(userId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Invalidate cached permissions for a user Called when permissions are updated
      *
@@ -33,4 +53,13 @@ public interface PermissionLoaderUseCase {
         invalidate(userId);
         return loadPermissions(userId);
     }
+
+    /**
+     * Start loading permissions for a freshly authenticated user in the background, so a later
+     * {@link #loadPermissions(Long)} for the same user can reuse the result. Called right after
+     * token verification; must not block. Does nothing by default.
+     *
+     * @param user Authenticated user
+     */
+    default void prefetch(UserContext user) {}
 }
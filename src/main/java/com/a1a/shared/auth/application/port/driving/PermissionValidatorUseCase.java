@@ -1,5 +1,10 @@
 package com.a1a.shared.auth.application.port.driving;
 
+import com.a1a.shared.auth.domain.model.Requirement;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
 /** SPI for validating user permissions Coordinates between cache and loader */
 public interface PermissionValidatorUseCase {
 
@@ -29,7 +34,71 @@ public interface PermissionValidatorUseCase {
      * @return true if user has all permissions
      */
     boolean hasAllPermissions(Long userId, String... permissionCodes);
-}
 
+    /**
+     * Check if user satisfies a permission requirement such as {@code A && (B || C)}
+     *
+     * @param userId User identifier
+     * @param requirement Compiled permission requirement
+     * @return true if the requirement is satisfied
+     */
+    default boolean satisfies(Long userId, Requirement requirement) {
+        if (userId == null || requirement == null) {
+            return false;
+        }
+        return requirement.test(code -> hasPermission(userId, code));
+    }
+
+    /**
+     * Check if user has a specific permission without blocking the caller
+     *
+     * @param userId User identifier
+     * @param permissionCode Permission code to check
+     * @return future of true if user has the permission
+     */
+    default CompletableFuture<Boolean> hasPermissionAsync(Long userId, String permissionCode) {
+        return completed(() -> hasPermission(userId, permissionCode));
+    }
+
+    /**
+     * Check if user has any of the specified permissions without blocking the caller
+     *
+     * @param userId User identifier
+     * @param permissionCodes Array of permission codes
+     * @return future of true if user has at least one permission
+     */
+    default CompletableFuture<Boolean> hasAnyPermissionAsync(Long userId, String... permissionCodes) {
+        return completed(() -> hasAnyPermission(userId, permissionCodes));
+    }
+
+    /**
+     * Check if user has all of the specified permissions without blocking the caller
+     *
+     * @param userId User identifier
+     * @param permissionCodes Array of permission codes
+     * @return future of true if user has all permissions
+     */
+    default CompletableFuture<Boolean> hasAllPermissionsAsync(Long userId, String... permissionCodes) {
+        return completed(() -> hasAllPermissions(userId, permissionCodes));
+    }
 
+    /**
+     * Check if user satisfies a permission requirement without blocking the caller
+     *
+     * @param userId User identifier
+     * @param requirement Compiled permission requirement
+     * @return future of true if the requirement is satisfied
+     */
+    default CompletableFuture<Boolean> satisfiesAsync(Long userId, Requirement requirement) {
+        return completed(() -> satisfies(userId, requirement));
+    }
 
+    /** Runs a synchronous check, for implementations without an asynchronous core */
+    private static CompletableFuture<Boolean> completed(BooleanSupplier check) {
+        try {
+            return CompletableFuture.completedFuture(check.getAsBoolean());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
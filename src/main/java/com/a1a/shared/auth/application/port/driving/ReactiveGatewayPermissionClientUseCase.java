@@ -0,0 +1,16 @@
+package com.a1a.shared.auth.application.port.driving;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/** Non-blocking counterpart of {@link GatewayPermissionClientUseCase} */
+public interface ReactiveGatewayPermissionClientUseCase {
+    /**
+     * Fetch user permissions from the Gateway without blocking.
+     *
+     * @param accessToken JWT access token from authentication
+     * @return Mono emitting the set of permission codes
+     */
+    Mono<Set<String>> fetchPermissions(String accessToken);
+}
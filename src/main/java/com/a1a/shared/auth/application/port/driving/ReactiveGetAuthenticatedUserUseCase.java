@@ -0,0 +1,20 @@
+package com.a1a.shared.auth.application.port.driving;
+
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link GetAuthenticatedUserUseCase}.
+ *
+ * <p>Reads the user from the Reactor context of the current request instead of thread-local
+ * storage, so it works on any thread the request is processed on.
+ */
+public interface ReactiveGetAuthenticatedUserUseCase {
+    /**
+     * Get the authenticated user of the current request.
+     *
+     * @return Mono emitting the UserContext, empty if no user is authenticated
+     */
+    Mono<UserContext> getCurrentUser();
+}
@@ -0,0 +1,24 @@
+package com.a1a.shared.auth.application.port.driving;
+
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link PermissionLoaderUseCase} for reactive (WebFlux)
+ * applications.
+ *
+ * <p>Takes the user explicitly because there is no thread-local user to read the access token
+ * from.
+ */
+public interface ReactivePermissionLoaderUseCase {
+    /**
+     * Load permissions for a user
+     *
+     * @param user Authenticated user
+     * @return Mono emitting the set of permission codes the user has
+     */
+    Mono<Set<String>> loadPermissions(UserContext user);
+}
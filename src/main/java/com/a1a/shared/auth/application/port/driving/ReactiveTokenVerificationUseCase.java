@@ -0,0 +1,20 @@
+package com.a1a.shared.auth.application.port.driving;
+
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TokenVerificationUseCase} for reactive (WebFlux)
+ * applications.
+ */
+public interface ReactiveTokenVerificationUseCase {
+    /**
+     * Verify a JWT token and extract the user.
+     *
+     * @param token JWT token string (without "Bearer " prefix)
+     * @return Mono emitting the UserContext, or a TokenVerificationException /
+     *     TokenExpiredException error
+     */
+    Mono<UserContext> verifyAndExtract(String token);
+}
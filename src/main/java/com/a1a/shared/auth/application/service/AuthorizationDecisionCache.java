@@ -0,0 +1,69 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.domain.model.Requirement;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes authorization decisions per (issuer, user, permission set, requirement).
+ *
+ * <p>Users are identified by the issuer of their token and their account id, since account ids
+ * are only unique within one issuer.
+ *
+ * <p>A decision remembers the permission set instance it was computed from. Loaders return the
+ * same instance for as long as a user's permissions are cached and a new one once they are
+ * replaced, so a decision is only reused while the set it was based on is still current; no
+ * explicit invalidation is needed.
+ */
+public class AuthorizationDecisionCache {
+
+    private final CachePort<Key, Decision> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthorizationDecisionCache(CachePort<Key, Decision> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Decision for a requirement, computed if not cached for this permission set.
+     *
+     * @param issuer issuer of the user's token, nullable
+     * @param userId User identifier
+     * @param permissions current permission set of the user
+     * @param requirement requirement to evaluate
+     * @return true if the requirement is satisfied
+     */
+    public boolean decide(String issuer, Long userId, Set<String> permissions, Requirement requirement) {
+        Key key = new Key(issuer, userId, requirement);
+        Optional<Decision> cached = cache.get(key);
+        if (cached.isPresent() && cached.get().permissions() == permissions) {
+            hits.increment();
+            return cached.get().granted();
+        }
+
+        misses.increment();
+        boolean granted = requirement.test(permissions);
+        cache.put(key, new Decision(permissions, granted), null);
+        return granted;
+    }
+
+    /** Number of decisions served from the cache */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** Number of decisions that had to be evaluated */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Cache key: issuer, user and requirement (requirements are compared structurally) */
+    public record Key(String issuer, Long userId, Requirement requirement) {}
+
+    /** Cached outcome and the permission set it was computed from */
+    public record Decision(Set<String> permissions, boolean granted) {}
+}
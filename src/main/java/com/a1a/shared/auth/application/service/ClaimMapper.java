@@ -0,0 +1,22 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Maps the claims of a verified token to the {@link UserContext}.
+ *
+ * <p>Issuers lay out their claims differently; each trusted issuer names the mapper for its
+ * tokens, see {@link TrustedIssuer}. {@link CompiledClaimMapper} maps a layout declared in
+ * app.auth.claim-mappings, by default the one of the A1A Auth Service.
+ */
+@FunctionalInterface
+public interface ClaimMapper {
+    /**
+     * @param claims claims of a token whose signature and expiration were verified
+     * @param token raw token, for {@link UserContext#getRawToken()}
+     * @return the authenticated user
+     * @throws RuntimeException if the claims do not describe a user
+     */
+    UserContext map(JWTClaimsSet claims, String token);
+}
@@ -0,0 +1,103 @@
+package com.a1a.shared.auth.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Location of a value in the claims of a token, compiled once into a chain of accessors.
+ *
+ * <p>The syntax is that of a JSON Pointer (RFC 6901), e.g. {@code /account/id}, with {@code ~1}
+ * for "/" and {@code ~0} for "~" inside a name. A numeric segment indexes into an array, and a
+ * {@code *} segment steps into each element of an array, so {@code /account/groups/*}{@code
+ * /groupCode} reads a list. Reading never interprets the expression: each segment is a
+ * pre-built accessor, and a path that does not match the claims reads null.
+ */
+public final class ClaimPath {
+    static final String EACH = "*";
+
+    private final String expression;
+    private final List<String> segments;
+    private final UnaryOperator<Object> accessor;
+
+    private ClaimPath(String expression, List<String> segments) {
+        this.expression = expression;
+        this.segments = segments;
+        this.accessor = compile(segments, 0);
+    }
+
+    /**
+     * @param expression JSON-pointer-like path, starting with "/"
+     * @throws IllegalArgumentException if the expression is not a valid path
+     */
+    public static ClaimPath compile(String expression) {
+        if (expression == null || !expression.startsWith("/") || expression.length() == 1) {
+            throw new IllegalArgumentException("Invalid claim path '" + expression + "', expected e.g. /account/id");
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : expression.substring(1).split("/", -1)) {
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("Invalid claim path '" + expression + "': empty segment");
+            }
+            segments.add(segment.replace("~1", "/").replace("~0", "~"));
+        }
+        return new ClaimPath(expression, List.copyOf(segments));
+    }
+
+    /**
+     * @param claims claims of a token, as maps, lists and scalars
+     * @return the value, a list if the path contains {@code *}, or null if absent
+     */
+    public Object read(Map<String, Object> claims) {
+        return accessor.apply(claims);
+    }
+
+    /** Unescaped segments, for readers that only materialize the claims a path needs */
+    List<String> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static UnaryOperator<Object> compile(List<String> segments, int index) {
+        if (index == segments.size()) {
+            return UnaryOperator.identity();
+        }
+        String segment = segments.get(index);
+        UnaryOperator<Object> next = compile(segments, index + 1);
+
+        if (EACH.equals(segment)) {
+            return node -> node instanceof List<?> list
+                    ? list.stream().map(next).filter(Objects::nonNull).toList()
+                    : null;
+        }
+        int arrayIndex = arrayIndex(segment);
+        return node -> {
+            Object child = null;
+            if (node instanceof Map<?, ?> map) {
+                child = map.get(segment);
+            } else if (node instanceof List<?> list && arrayIndex >= 0 && arrayIndex < list.size()) {
+                child = list.get(arrayIndex);
+            }
+            return child != null ? next.apply(child) : null;
+        };
+    }
+
+    private static int arrayIndex(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return -1;
+            }
+        }
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
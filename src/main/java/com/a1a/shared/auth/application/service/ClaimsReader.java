@@ -0,0 +1,165 @@
+package com.a1a.shared.auth.application.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader of a token payload that only materializes the claims some paths need.
+ *
+ * <p>The paths are merged into a tree once. A single Jackson streaming pass then skips every
+ * member outside that tree, so the result is the claims map pruned to the requested branches,
+ * which the {@link ClaimPath} accessors read like the full claims. Duplicate member names are
+ * rejected, so the reader never sees another "iss" than the one the signature covers.
+ */
+public final class ClaimsReader {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+            .build();
+
+    private final Node root;
+
+    private ClaimsReader(Node root) {
+        this.root = root;
+    }
+
+    /** Reader of the branches the given paths can reach */
+    public static ClaimsReader of(Collection<ClaimPath> paths) {
+        Node root = new Node();
+        for (ClaimPath path : paths) {
+            Node node = root;
+            for (String segment : path.getSegments()) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            node.whole = true;
+        }
+        return new ClaimsReader(root);
+    }
+
+    /** Reader of all claims */
+    public static ClaimsReader all() {
+        Node root = new Node();
+        root.whole = true;
+        return new ClaimsReader(root);
+    }
+
+    /**
+     * @param payload JSON payload of a token
+     * @return the claims reachable by the paths, as maps, lists and scalars
+     * @throws IOException if the payload is not a JSON object
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> read(byte[] payload) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Token payload is not a JSON object");
+            }
+            Map<String, Object> claims = (Map<String, Object>) read(parser, root);
+            if (parser.nextToken() != null) {
+                throw new IOException("Unexpected content after the token payload");
+            }
+            return claims;
+        }
+    }
+
+    /** Value at the current token, pruned to the branches of the node */
+    private static Object read(JsonParser parser, Node node) throws IOException {
+        if (node.whole) {
+            return readValue(parser);
+        }
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> readObject(parser, node);
+            case START_ARRAY -> readArray(parser, node);
+            default -> readValue(parser);
+        };
+    }
+
+    private static Map<String, Object> readObject(JsonParser parser, Node node) throws IOException {
+        Map<String, Object> object = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            Node child = node.children.get(name);
+            if (child == null) {
+                parser.skipChildren();
+            } else {
+                object.put(name, read(parser, child));
+            }
+        }
+        return object;
+    }
+
+    /** Elements no path reaches are kept as null, so array indexes stay valid */
+    private static List<Object> readArray(JsonParser parser, Node node) throws IOException {
+        List<Object> array = new ArrayList<>();
+        Node each = node.children.get(ClaimPath.EACH);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            Node child = Node.merge(each, node.children.get(Integer.toString(array.size())));
+            if (child == null) {
+                parser.skipChildren();
+                array.add(null);
+            } else {
+                array.add(read(parser, child));
+            }
+        }
+        return array;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> object = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    object.put(name, readValue(parser));
+                }
+                yield object;
+            }
+            case START_ARRAY -> {
+                List<Object> array = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(readValue(parser));
+                }
+                yield array;
+            }
+            case VALUE_STRING -> parser.getText();
+            // Integers are read as Long like the Nimbus parser does
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? parser.getBigIntegerValue()
+                    : (Object) parser.getLongValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw new IOException("Unexpected JSON token " + parser.currentToken());
+        };
+    }
+
+    /** Branch of the path tree; a whole node keeps everything below it */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean whole;
+
+        /** Node reaching both branches, for an element that a "*" and an index segment reach */
+        private static Node merge(Node a, Node b) {
+            if (a == null || b == null) {
+                return a != null ? a : b;
+            }
+            Node merged = new Node();
+            merged.whole = a.whole || b.whole;
+            merged.children.putAll(a.children);
+            b.children.forEach((name, child) -> merged.children.merge(name, child, Node::merge));
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.domain.exception.TokenVerificationException;
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Declarative claim mapping, see app.auth.claim-mappings.
+ *
+ * <p>Each {@link UserContext} field and extra attribute is read at a {@link ClaimPath}. Paths and
+ * type conversions are compiled once into accessors when the mapper is built, so mapping a token
+ * only walks the claims. The mapper reads the Nimbus claims as well as the pruned claims of a
+ * {@link ClaimsReader} built from {@link #getPaths()}.
+ */
+public final class CompiledClaimMapper implements ClaimMapper {
+    private static final ClaimPath ISSUER = ClaimPath.compile("/iss");
+
+    /** Name of the A1A Auth Service layout in app.auth.jwks.issuers.*.claim-mapping */
+    public static final String ACCOUNT_PROFILE = "account";
+
+    /**
+     * Claim layout of the A1A Auth Service: user fields in the "account" object, roles in
+     * "account.groups[].groupCode".
+     */
+    public static final CompiledClaimMapper ACCOUNT = compile(new AuthProperties.ClaimMappingConfig());
+
+    private final ClaimPath accountIdPath;
+    private final List<ClaimPath> paths;
+
+    private final Function<Map<String, Object>, Long> accountId;
+    private final Function<Map<String, Object>, String> username;
+    private final Function<Map<String, Object>, String> fullName;
+    private final Function<Map<String, Object>, String> employeeCode;
+    private final Function<Map<String, Object>, String> employeeFullCode;
+    private final Function<Map<String, Object>, Boolean> firstLogin;
+    private final Function<Map<String, Object>, List<String>> roles;
+    private final Map<String, ClaimPath> attributes;
+
+    private CompiledClaimMapper(AuthProperties.ClaimMappingConfig config) {
+        List<ClaimPath> compiled = new ArrayList<>();
+        compiled.add(ISSUER);
+        this.accountIdPath = ClaimPath.compile(config.getAccountId());
+        compiled.add(accountIdPath);
+        this.accountId = accessor(accountIdPath, CompiledClaimMapper::toLong);
+        this.username = accessor(config.getUsername(), compiled, CompiledClaimMapper::toText);
+        this.fullName = accessor(config.getFullName(), compiled, CompiledClaimMapper::toText);
+        this.employeeCode = accessor(config.getEmployeeCode(), compiled, CompiledClaimMapper::toText);
+        this.employeeFullCode = accessor(config.getEmployeeFullCode(), compiled, CompiledClaimMapper::toText);
+        this.firstLogin = accessor(config.getFirstLogin(), compiled, CompiledClaimMapper::toFlag);
+        this.roles = accessor(config.getRoles(), compiled, CompiledClaimMapper::toTexts);
+
+        Map<String, ClaimPath> attributePaths = new LinkedHashMap<>();
+        config.getAttributes().forEach((name, expression) -> attributePaths.put(name, ClaimPath.compile(expression)));
+        compiled.addAll(attributePaths.values());
+        this.attributes = Collections.unmodifiableMap(attributePaths);
+        this.paths = List.copyOf(compiled);
+    }
+
+    /**
+     * @param config paths of the mapping; blank paths leave their field unset, except the
+     *     account id which every token must carry
+     * @throws IllegalArgumentException if a path is invalid
+     */
+    public static CompiledClaimMapper compile(AuthProperties.ClaimMappingConfig config) {
+        return new CompiledClaimMapper(config);
+    }
+
+    /** Paths of all claims the mapping reads, for a {@link ClaimsReader} */
+    public List<ClaimPath> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public UserContext map(JWTClaimsSet claims, String token) {
+        return map(claims.getClaims(), token);
+    }
+
+    /**
+     * @param claims claims of a verified token, e.g. read by {@link ClaimsReader}
+     * @param token raw token, for {@link UserContext#getRawToken()}
+     * @return the authenticated user
+     * @throws TokenVerificationException if the account id is missing or a claim has the wrong type
+     */
+    public UserContext map(Map<String, Object> claims, String token) {
+        Long id = accountId.apply(claims);
+        if (id == null) {
+            throw new TokenVerificationException("Token does not contain the account id at " + accountIdPath);
+        }
+        List<String> userRoles = roles.apply(claims);
+        return UserContext.builder()
+                .accountId(id)
+                .username(username.apply(claims))
+                .fullName(fullName.apply(claims))
+                .employeeCode(employeeCode.apply(claims))
+                .employeeFullCode(employeeFullCode.apply(claims))
+                .firstLogin(Boolean.TRUE.equals(firstLogin.apply(claims)))
+                .issuer(toText(ISSUER, ISSUER.read(claims)))
+                .rawToken(token)
+                .roles(userRoles != null ? userRoles : List.of())
+                .attributes(attributes(claims))
+                .build();
+    }
+
+    private Map<String, Object> attributes(Map<String, Object> claims) {
+        if (attributes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        attributes.forEach(
+                (name, path) -> {
+                    Object value = path.read(claims);
+                    if (value != null) {
+                        values.put(name, value);
+                    }
+                });
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static <T> Function<Map<String, Object>, T> accessor(
+            String expression, List<ClaimPath> compiled, BiFunction<ClaimPath, Object, T> conversion) {
+        if (expression == null || expression.isBlank()) {
+            return claims -> null;
+        }
+        ClaimPath path = ClaimPath.compile(expression);
+        compiled.add(path);
+        return accessor(path, conversion);
+    }
+
+    private static <T> Function<Map<String, Object>, T> accessor(
+            ClaimPath path, BiFunction<ClaimPath, Object, T> conversion) {
+        return claims -> {
+            Object value = path.read(claims);
+            return value != null ? conversion.apply(path, value) : null;
+        };
+    }
+
+    private static Long toLong(ClaimPath path, Object value) {
+        if (value instanceof Long number) {
+            return number;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger number && number.bitLength() < Long.SIZE) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ex) {
+                // Reported below
+            }
+        }
+        throw new TokenVerificationException("Token claim at " + path + " is not an integer");
+    }
+
+    private static String toText(ClaimPath path, Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        throw new TokenVerificationException("Token claim at " + path + " is not a string");
+    }
+
+    private static Boolean toFlag(ClaimPath path, Object value) {
+        if (value instanceof Boolean flag) {
+            return flag;
+        }
+        if (value instanceof String text) {
+            return Boolean.parseBoolean(text);
+        }
+        throw new TokenVerificationException("Token claim at " + path + " is not a boolean");
+    }
+
+    private static List<String> toTexts(ClaimPath path, Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream()
+                    .filter(Objects::nonNull)
+                    .map(element -> toText(path, element))
+                    .toList();
+        }
+        return List.of(toText(path, value));
+    }
+}
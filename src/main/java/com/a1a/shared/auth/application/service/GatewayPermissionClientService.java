@@ -1,50 +1,72 @@
 package com.a1a.shared.auth.application.service;
 
 import com.a1a.shared.auth.application.dto.GatewayPermissionResponse;
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
 import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGatewayPermissionClientUseCase;
 import com.a1a.shared.auth.domain.exception.AuthenticationException;
+import com.a1a.shared.auth.domain.exception.GatewayUnavailableException;
 import com.a1a.shared.auth.domain.exception.PermissionException;
 import com.a1a.shared.auth.infrastructure.config.AuthProperties;
-
-import io.netty.channel.ChannelOption;
+import com.a1a.shared.auth.infrastructure.resilience.HedgePolicy;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-/** Client for calling Gateway API to fetch user permissions */
+/**
+ * Client for calling Gateway API to fetch user permissions
+ *
+ * <p>Calls are non-blocking ({@link #fetchPermissions(String)}); the synchronous API blocks on
+ * the same pipeline.
+ *
+ * <p>With a {@link HedgePolicy}, a call that has not answered within the observed latency
+ * percentile triggers a second identical request, and whichever answers first is used.
+ */
 @Slf4j
-public class GatewayPermissionClientService implements GatewayPermissionClientUseCase {
+public class GatewayPermissionClientService
+        implements GatewayPermissionClientUseCase, ReactiveGatewayPermissionClientUseCase {
 
     private final AuthProperties properties;
-    private final WebClient webClient;
+    private final HttpClientPort httpClient;
+    private final HedgePolicy hedgePolicy;
+    private final AuthMetricsPort metrics;
+
+    /**
+     * @param httpClient client with the Gateway connect and read timeouts
+     */
+    public GatewayPermissionClientService(HttpClientPort httpClient, AuthProperties properties) {
+        this(httpClient, properties, null);
+    }
 
     public GatewayPermissionClientService(
-            WebClient.Builder webClientBuilder, AuthProperties properties) {
-        this.properties = properties;
+            HttpClientPort httpClient, AuthProperties properties, HedgePolicy hedgePolicy) {
+        this(httpClient, properties, hedgePolicy, AuthMetricsPort.NONE);
+    }
 
-        // Configure timeouts using Reactor Netty HttpClient
-        HttpClient httpClient =
-                HttpClient.create()
-                        .option(
-                                ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                                (int) properties.getPermission().getConnectTimeout().toMillis())
-                        .responseTimeout(properties.getPermission().getReadTimeout());
-
-        this.webClient =
-                webClientBuilder
-                        .clientConnector(new ReactorClientHttpConnector(httpClient))
-                        .build();
+    /**
+     * @param httpClient client with the Gateway connect and read timeouts
+     * @param hedgePolicy hedging of slow calls, nullable
+     * @param metrics recipient of the duration and status of each call
+     */
+    public GatewayPermissionClientService(
+            HttpClientPort httpClient,
+            AuthProperties properties,
+            HedgePolicy hedgePolicy,
+            AuthMetricsPort metrics) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.hedgePolicy = hedgePolicy;
+        this.metrics = metrics;
     }
 
     /**
@@ -55,46 +77,147 @@ public class GatewayPermissionClientService implements GatewayPermissionClientUs
      */
     @Override
     public Set<String> fetchUserPermissions(String accessToken) {
-        try {
-            String url = buildPermissionUrl();
-
-            log.debug("Calling Gateway API: {}", url);
-
-            GatewayPermissionResponse response =
-                    webClient
-                            .get()
-                            .uri(url)
-                            .headers(
-                                    headers -> {
-                                        headers.setContentType(MediaType.APPLICATION_JSON);
-                                        headers.setBearerAuth(accessToken);
-                                    })
-                            .retrieve()
-                            .bodyToMono(GatewayPermissionResponse.class)
-                            .block(); // Block to maintain synchronous behavior
-
-            return parsePermissionResponse(response);
-
-        } catch (WebClientResponseException.Unauthorized e) {
-            // 401: Token is invalid or expired
-            log.error("Authentication failed when fetching permissions: {}", e.getMessage());
-            throw new AuthenticationException("Token is invalid or expired", e);
-
-        } catch (WebClientResponseException.Forbidden e) {
-            // 403: Access forbidden by Gateway
-            log.error("Gateway API denied access: {}", e.getMessage());
-            throw new PermissionException("Access denied by Gateway", e);
-
-        } catch (WebClientResponseException e) {
+        return fetchPermissions(accessToken).block(); // Block to maintain synchronous behavior
+    }
+
+    /**
+     * Fetch user permissions from Gateway API without blocking
+     *
+     * @param accessToken JWT access token from authentication
+     * @return Mono emitting the set of permission codes
+     */
+    @Override
+    public Mono<Set<String>> fetchPermissions(String accessToken) {
+        Mono<HttpClientPort.Response<GatewayPermissionResponse>> exchange =
+                Mono.defer(
+                        () -> {
+                            String url = buildPermissionUrl();
+
+                            log.debug("Calling Gateway API: {}", url);
+
+                            return hedgePolicy != null
+                                    ? hedgedRequest(url, accessToken)
+                                    : request(url, accessToken);
+                        });
+
+        return timed(exchange)
+                .defaultIfEmpty(Collections.emptySet())
+                .onErrorMap(GatewayPermissionClientService::translateError);
+    }
+
+    /** Parse the response and report the duration, status and size of the call, if metrics are enabled */
+    private Mono<Set<String>> timed(Mono<HttpClientPort.Response<GatewayPermissionResponse>> exchange) {
+        if (!metrics.isEnabled()) {
+            return exchange.map(response -> parsePermissionResponse(response.body()));
+        }
+        return Mono.defer(
+                () -> {
+                    long start = System.nanoTime();
+                    HttpClientPort.Response<?>[] received = new HttpClientPort.Response<?>[1];
+                    return exchange.doOnNext(response -> received[0] = response)
+                            .map(response -> parsePermissionResponse(response.body()))
+                            .doOnSuccess(
+                                    permissions -> metrics.gatewayFetched(
+                                            System.nanoTime() - start,
+                                            status(received[0], null),
+                                            contentLength(received[0]),
+                                            true))
+                            .doOnError(
+                                    e -> metrics.gatewayFetched(
+                                            System.nanoTime() - start,
+                                            status(received[0], e),
+                                            contentLength(received[0]),
+                                            false));
+                });
+    }
+
+    private static int status(HttpClientPort.Response<?> response, Throwable error) {
+        if (error instanceof ErrorStatusException statusException) {
+            return statusException.status;
+        }
+        return response != null ? response.status() : 0;
+    }
+
+    private static long contentLength(HttpClientPort.Response<?> response) {
+        return response != null ? response.contentLength() : -1;
+    }
+
+    /** Map HTTP error statuses and network errors to domain exceptions */
+    private static Throwable translateError(Throwable e) {
+        if (e instanceof ErrorStatusException statusException) {
+            int status = statusException.status;
+            if (status == 401) {
+                // 401: Token is invalid or expired
+                return new AuthenticationException("Token is invalid or expired", e);
+            }
+            if (status == 403) {
+                // 403: Access forbidden by Gateway
+                return new PermissionException("Access denied by Gateway", e);
+            }
             // Other HTTP errors
-            log.error("Gateway API returned error: {} - {}", e.getStatusCode(), e.getMessage(), e);
-            throw new PermissionException("Failed to load permissions from Gateway", e);
+            log.error("Gateway API returned error: {}", status, e);
+            if (status >= 500) {
+                return new GatewayUnavailableException("Failed to load permissions from Gateway", e);
+            }
+            return new PermissionException("Failed to load permissions from Gateway", e);
+        }
+        if (e instanceof PermissionException) {
+            // Gateway answered with an error code in the body
+            return e;
+        }
+
+        // Network, timeout, or other errors
+        log.error("Failed to fetch permissions from Gateway API: {}", e.getMessage(), e);
+        return new GatewayUnavailableException("Failed to load permissions from Gateway", e);
+    }
+
+    /** Single Gateway request; records its latency for the hedge policy */
+    private Mono<HttpClientPort.Response<GatewayPermissionResponse>> request(String url, String accessToken) {
+        Mono<HttpClientPort.Response<GatewayPermissionResponse>> call =
+                httpClient
+                        .get(
+                                url,
+                                Map.of("Content-Type", "application/json", "Authorization", "Bearer " + accessToken),
+                                GatewayPermissionResponse.class)
+                        .flatMap(
+                                response -> response.isSuccessful()
+                                        ? Mono.just(response)
+                                        : Mono.error(new ErrorStatusException(response.status())));
 
-        } catch (Exception e) {
-            // Network, timeout, or other errors
-            log.error("Failed to fetch permissions from Gateway API: {}", e.getMessage(), e);
-            throw new PermissionException("Failed to load permissions from Gateway", e);
+        if (hedgePolicy == null) {
+            return call;
         }
+        return call.elapsed()
+                .doOnNext(timed -> hedgePolicy.recordLatency(timed.getT1() * 1_000_000))
+                .map(timed -> timed.getT2());
+    }
+
+    /**
+     * Gateway request with a hedge: if the first request has not answered after the hedge delay,
+     * a second one is sent and the first response wins. Errors of the hedge are ignored, so the
+     * original request still decides the outcome when both fail.
+     */
+    private Mono<HttpClientPort.Response<GatewayPermissionResponse>> hedgedRequest(String url, String accessToken) {
+        hedgePolicy.onCall();
+        Duration delay = hedgePolicy.hedgeDelay();
+        if (delay == null) {
+            return request(url, accessToken);
+        }
+
+        Mono<HttpClientPort.Response<GatewayPermissionResponse>> hedge =
+                Mono.delay(delay)
+                        .flatMap(
+                                tick -> {
+                                    if (!hedgePolicy.tryHedge()) {
+                                        return Mono.never();
+                                    }
+                                    log.debug("Gateway call slower than {}, sending hedged request", delay);
+                                    return request(url, accessToken)
+                                            .doOnNext(response -> hedgePolicy.onHedgeWin())
+                                            .onErrorResume(e -> Mono.never());
+                                });
+
+        return Mono.firstWithSignal(request(url, accessToken), hedge);
     }
 
     /** Build full URL for permission endpoint */
@@ -129,7 +252,14 @@ public class GatewayPermissionClientService implements GatewayPermissionClientUs
 
         return permissionCodes;
     }
-}
-
 
+    /** Non-2xx answer of the Gateway, translated to a domain exception by {@link #translateError} */
+    private static final class ErrorStatusException extends RuntimeException {
+        private final int status;
 
+        ErrorStatusException(int status) {
+            super("Gateway API returned status " + status, null, false, false);
+            this.status = status;
+        }
+    }
+}
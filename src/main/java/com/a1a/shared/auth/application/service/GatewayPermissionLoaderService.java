@@ -1,72 +1,409 @@
 package com.a1a.shared.auth.application.service;
 
+import com.a1a.shared.auth.application.port.driven.CachePort;
 import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
 import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactivePermissionLoaderUseCase;
 import com.a1a.shared.auth.domain.exception.AuthenticationException;
+import com.a1a.shared.auth.domain.exception.GatewayUnavailableException;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
 import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.domain.model.WildcardPermissionSet;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Production PermissionLoader that fetches permissions from Gateway API
  *
  * <p>
- * To use, set property: a1a.security.permission.loader=gateway (default)
+ * To use, set property: app.auth.permission.loader=gateway (default)
+ *
+ * <p>
+ * When a permission cache is configured, loaded sets are kept per user, keyed by
+ * the issuer of the user's token and the account id ({@link AccountKey}), since
+ * account ids are only unique within one issuer:
+ * <ul>
+ * <li>within {@code freshTtl} they are served without calling the Gateway
+ * <li>within {@code maxStale} they are served only when the Gateway is
+ * unavailable (stale-if-error)
+ * </ul>
+ *
+ * <p>
+ * Wildcard grants such as {@code FAB_PRD_INV_*} are compiled once per load, see
+ * {@link WildcardPermissionSet}.
+ *
+ * <p>
+ * When a prefetch executor is configured, {@link #prefetch(UserContext)} starts
+ * loading a user's permissions in the background right after authentication.
+ * A permission check that arrives while that load is in flight joins it instead
+ * of calling the Gateway again; a check that arrives later finds the set in the
+ * permission cache.
+ *
+ * <p>
+ * {@link #invalidate(Long)} also drops the user's in-flight loads, and a load
+ * that started before the invalidation does not write its result to the cache,
+ * so an invalidation is never undone by a load that was already running.
+ *
+ * <p>
+ * All load methods share one asynchronous core: with a non-blocking Gateway
+ * client, {@link #loadPermissionsAsync(Long)} and
+ * {@link #loadPermissions(UserContext)} never block, and
+ * {@link #loadPermissions(Long)} merely waits for the same future. A blocking
+ * client (e.g. the resilience decorator) is called on the bounded elastic
+ * scheduler by the asynchronous methods.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class GatewayPermissionLoaderService implements PermissionLoaderUseCase {
+public class GatewayPermissionLoaderService
+        implements PermissionLoaderUseCase, ReactivePermissionLoaderUseCase {
+
+    /** Runs blocking Gateway calls of the asynchronous API */
+    private static final Executor BOUNDED_ELASTIC = task -> Schedulers.boundedElastic().schedule(task);
 
     private final GatewayPermissionClientUseCase gatewayPermissionClientUseCase;
     private final GetAuthenticatedUserUseCase getAuthenticatedUserUseCase;
+    private final CachePort<AccountKey, PermissionSnapshot> permissionCache;
+    private final Duration freshTtl;
+    private final Duration maxStale;
+    private final Executor prefetchExecutor;
+    private final Clock clock;
+    private final ConcurrentMap<AccountKey, CompletableFuture<Set<String>>> inFlight =
+            new ConcurrentHashMap<>();
+    /** Incremented by each invalidation; loads remember the value they started at */
+    private final AtomicLong generation = new AtomicLong();
+    /** Generation of the last invalidation per account id */
+    private final ConcurrentMap<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder prefetches = new LongAdder();
+    private final LongAdder prefetchJoins = new LongAdder();
+
+    public GatewayPermissionLoaderService(
+            GatewayPermissionClientUseCase gatewayPermissionClientUseCase,
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase) {
+        this(gatewayPermissionClientUseCase, getAuthenticatedUserUseCase, null, null, null);
+    }
+
+    public GatewayPermissionLoaderService(
+            GatewayPermissionClientUseCase gatewayPermissionClientUseCase,
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            CachePort<AccountKey, PermissionSnapshot> permissionCache,
+            Duration freshTtl,
+            Duration maxStale) {
+        this(
+                gatewayPermissionClientUseCase,
+                getAuthenticatedUserUseCase,
+                permissionCache,
+                freshTtl,
+                maxStale,
+                null);
+    }
+
+    /**
+     * @param prefetchExecutor executor background loads run on, null disables
+     *                         prefetching
+     */
+    public GatewayPermissionLoaderService(
+            GatewayPermissionClientUseCase gatewayPermissionClientUseCase,
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            CachePort<AccountKey, PermissionSnapshot> permissionCache,
+            Duration freshTtl,
+            Duration maxStale,
+            Executor prefetchExecutor) {
+        this.gatewayPermissionClientUseCase = gatewayPermissionClientUseCase;
+        this.getAuthenticatedUserUseCase = getAuthenticatedUserUseCase;
+        this.permissionCache = permissionCache;
+        this.freshTtl = freshTtl;
+        this.maxStale = maxStale;
+        this.prefetchExecutor = prefetchExecutor;
+        this.clock = Clock.systemUTC();
+    }
 
+    /**
+     * Load permissions of the user authenticated on the calling thread.
+     *
+     * <p>The Gateway answers for the owner of the access token, so other user ids get no
+     * permissions.
+     */
     @Override
     public Set<String> loadPermissions(Long userId) {
+        // Gateway calls of a blocking client run on the calling thread
+        return join(load(userId, getAuthenticatedUserUseCase.getCurrentUser(), Runnable::run));
+    }
+
+    /**
+     * Load permissions without blocking the caller.
+     *
+     * <p>The access token is taken from the user authenticated on the calling thread.
+     */
+    @Override
+    public CompletableFuture<Set<String>> loadPermissionsAsync(Long userId) {
+        return load(userId, getAuthenticatedUserUseCase.getCurrentUser(), BOUNDED_ELASTIC);
+    }
+
+    /**
+     * Load permissions of any authenticated user without blocking the caller, e.g. to check
+     * several users concurrently.
+     *
+     * @param user User whose access token is sent to the Gateway
+     * @return future of the set of permission codes the user has
+     */
+    public CompletableFuture<Set<String>> loadPermissionsAsync(UserContext user) {
+        return load(user != null ? user.getAccountId() : null, user, BOUNDED_ELASTIC);
+    }
+
+    /**
+     * Load permissions for a user without blocking, see {@link #loadPermissionsAsync(UserContext)}.
+     */
+    @Override
+    public Mono<Set<String>> loadPermissions(UserContext user) {
+        return Mono.fromFuture(() -> loadPermissionsAsync(user), true);
+    }
+
+    @Override
+    public void prefetch(UserContext user) {
+        if (prefetchExecutor == null
+                || permissionCache == null
+                || user == null
+                || user.getAccountId() == null
+                || user.getRawToken() == null) {
+            return;
+        }
+
+        AccountKey key = AccountKey.of(user);
+        Optional<PermissionSnapshot> cached = cachedSnapshot(key);
+        if (cached.isPresent() && cached.get().isYoungerThan(freshTtl, clock.instant())) {
+            return;
+        }
+
+        CompletableFuture<Set<String>> started = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, started) != null) {
+            return;
+        }
+
+        log.debug("Prefetching permissions for userId: {}", key.getAccountId());
+        prefetches.increment();
         try {
-            log.debug("Loading permissions from Gateway API for userId: {}", userId);
+            fetch(key, user.getRawToken(), cached, prefetchExecutor)
+                    .whenComplete(
+                            (permissions, e) -> {
+                                if (e == null) {
+                                    started.complete(permissions);
+                                } else {
+                                    started.completeExceptionally(unwrap(e));
+                                }
+                                inFlight.remove(key, started);
+                            });
+        } catch (RuntimeException e) {
+            // Executor rejected the task (e.g. during shutdown) - load lazily instead
+            inFlight.remove(key, started);
+            started.cancel(false);
+            log.debug("Permission prefetch rejected for userId {}: {}", key.getAccountId(), e.getMessage());
+        }
+    }
 
-            // Get access token from current user context
-            UserContext currentUser = getAuthenticatedUserUseCase.getCurrentUser();
-            if (currentUser == null || currentUser.getRawToken() == null) {
-                log.warn("No authenticated user or token found for userId: {}", userId);
-                return Collections.emptySet();
-            }
+    /**
+     * Asynchronous core of all load methods.
+     *
+     * @param user User whose access token is sent to the Gateway
+     * @param blockingExecutor runs the call when the Gateway client is blocking
+     */
+    private CompletableFuture<Set<String>> load(Long userId, UserContext user, Executor blockingExecutor) {
+        if (user == null || !Objects.equals(user.getAccountId(), userId)) {
+            // The Gateway answers for the owner of the token, so its answer must not be served
+            // or cached as the permissions of another user
+            log.warn("No authenticated user found for userId: {}", userId);
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+
+        // Cached sets and in-flight loads belong to the user of one issuer
+        AccountKey key = AccountKey.of(user);
 
-            String accessToken = currentUser.getRawToken();
-            Set<String> permissions = gatewayPermissionClientUseCase.fetchUserPermissions(accessToken);
+        // Checked before the cache: a prefetch stores its result before leaving inFlight
+        CompletableFuture<Set<String>> pending = userId != null ? inFlight.get(key) : null;
+        if (pending == null) {
+            return loadCachedOrFetch(key, user, blockingExecutor);
+        }
+
+        log.debug("Joining in-flight permission load for userId: {}", userId);
+        return pending.thenApply(
+                        prefetched -> {
+                            prefetchJoins.increment();
+                            return prefetched;
+                        })
+                .exceptionallyCompose(
+                        e -> unwrap(e) instanceof CancellationException
+                                // Cancelled before it started - load here instead
+                                ? loadCachedOrFetch(key, user, blockingExecutor)
+                                : CompletableFuture.failedFuture(unwrap(e)));
+    }
+
+    private CompletableFuture<Set<String>> loadCachedOrFetch(
+            AccountKey key, UserContext user, Executor blockingExecutor) {
+        Optional<PermissionSnapshot> cached = cachedSnapshot(key);
+        if (cached.isPresent() && cached.get().isYoungerThan(freshTtl, clock.instant())) {
+            log.debug("Serving cached permissions for userId: {}", key.getAccountId());
+            return CompletableFuture.completedFuture(cached.get().getPermissions());
+        }
+
+        // Get access token from the user context
+        if (user.getRawToken() == null) {
+            log.warn("No authenticated user or token found for userId: {}", key.getAccountId());
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+
+        return fetch(key, user.getRawToken(), cached, blockingExecutor);
+    }
+
+    /**
+     * Gateway call; uses the client's non-blocking API when it has one, otherwise the blocking
+     * call runs on {@code blockingExecutor}.
+     */
+    private CompletableFuture<Set<String>> fetch(
+            AccountKey key,
+            String accessToken,
+            Optional<PermissionSnapshot> cached,
+            Executor blockingExecutor) {
+        log.debug("Loading permissions from Gateway API for userId: {}", key.getAccountId());
+        long startedAt = generation.get();
 
-            log.info(
-                    "Successfully loaded {} permissions for userId: {}",
-                    permissions.size(),
-                    userId);
-            log.debug("Permissions for userId {}: {}", userId, permissions);
+        CompletableFuture<Set<String>> response =
+                gatewayPermissionClientUseCase instanceof ReactiveGatewayPermissionClientUseCase reactiveClient
+                        ? reactiveClient.fetchPermissions(accessToken).toFuture()
+                        : CompletableFuture.supplyAsync(
+                                () -> gatewayPermissionClientUseCase.fetchUserPermissions(accessToken),
+                                blockingExecutor);
 
-            return permissions;
+        return response.handle(
+                (permissions, e) -> e == null
+                        ? store(key, permissions, startedAt)
+                        : recover(key.getAccountId(), cached, unwrap(e)));
+    }
+
+    /**
+     * Compile and cache a freshly loaded permission set, unless the user was invalidated after the
+     * load started
+     */
+    private Set<String> store(AccountKey key, Set<String> loaded, long startedAt) {
+        Set<String> permissions = WildcardPermissionSet.of(loaded);
+
+        log.info(
+                "Successfully loaded {} permissions for userId: {}",
+                permissions.size(),
+                key.getAccountId());
+        log.debug("Permissions for userId {}: {}", key.getAccountId(), permissions);
+
+        Long invalidated = invalidatedAt.get(key.getAccountId());
+        if (invalidated != null && invalidated > startedAt) {
+            log.debug("Not caching permissions for userId {}: invalidated during the load", key.getAccountId());
+        } else if (permissionCache != null) {
+            permissionCache.put(
+                    key, new PermissionSnapshot(permissions, clock.instant()), freshTtl);
+        }
 
-        } catch (AuthenticationException e) {
+        return permissions;
+    }
+
+    /** Outcome of a failed load: rethrow, serve stale permissions or degrade to none */
+    private Set<String> recover(Long userId, Optional<PermissionSnapshot> cached, Throwable e) {
+        if (e instanceof AuthenticationException authenticationException) {
             // Rethrow authentication errors (401) - these should not be degraded
             log.error("Authentication failed for userId {}: {}", userId, e.getMessage());
-            throw e;
+            throw authenticationException;
+        }
+
+        if (e instanceof GatewayUnavailableException) {
+            // Gateway is down or overloaded - fall back to the last known permissions if allowed
+            if (cached.isPresent() && cached.get().isYoungerThan(maxStale, clock.instant())) {
+                staleServed.increment();
+                log.warn(
+                        "Gateway unavailable for userId {}, serving permissions loaded at {}: {}",
+                        userId,
+                        cached.get().getLoadedAt(),
+                        e.getMessage());
+                return cached.get().getPermissions();
+            }
 
-        } catch (Exception e) {
-            // For other errors, degrade gracefully
-            log.error("Failed to load permissions for userId {}: {}", userId, e.getMessage(), e);
+            log.error("Failed to load permissions for userId {}: {}", userId, e.getMessage());
             return Collections.emptySet();
         }
+
+        // For other errors, degrade gracefully
+        log.error("Failed to load permissions for userId {}: {}", userId, e.getMessage(), e);
+        return Collections.emptySet();
+    }
+
+    /** Result of a load, rethrowing its failure unwrapped */
+    private static Set<String> join(CompletableFuture<Set<String>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
+    /**
+     * Drops the cached permissions and in-flight loads of the account id, for every issuer. Loads
+     * that are already running finish for their callers but are not cached.
+     */
     @Override
     public void invalidate(Long userId) {
         log.debug("Invalidating permissions for userId: {} (cache invalidation)", userId);
-        // Cache invalidation is handled by PermissionCacheService
-        // This method is just a notification
+        if (userId == null) {
+            return;
+        }
+        invalidatedAt.put(userId, generation.incrementAndGet());
+        inFlight.keySet().removeIf(key -> userId.equals(key.getAccountId()));
+        if (permissionCache != null) {
+            permissionCache.evictIf(key -> userId.equals(key.getAccountId()));
+        }
+    }
+
+    /** Number of times a stale permission set was served because the Gateway failed */
+    public long getStaleServedCount() {
+        return staleServed.sum();
     }
-}
 
+    /** Number of background permission loads started by {@link #prefetch(UserContext)} */
+    public long getPrefetchCount() {
+        return prefetches.sum();
+    }
 
+    /** Number of permission checks that joined an in-flight background load */
+    public long getPrefetchJoinCount() {
+        return prefetchJoins.sum();
+    }
 
+    private Optional<PermissionSnapshot> cachedSnapshot(AccountKey key) {
+        if (permissionCache == null || key.getAccountId() == null) {
+            return Optional.empty();
+        }
+        return permissionCache.get(key);
+    }
+}
@@ -0,0 +1,46 @@
+package com.a1a.shared.auth.application.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Trusted token issuers by their "iss" claim.
+ *
+ * <p>Each issuer has its own {@link com.a1a.shared.auth.application.port.driven.JwksPort}, so its
+ * keys are cached and refreshed independently of the other issuers.
+ */
+public class IssuerRegistry {
+    private final Map<String, TrustedIssuer> byIssuer;
+
+    /**
+     * @throws IllegalArgumentException if two issuers expect the same "iss" claim
+     */
+    public IssuerRegistry(Collection<TrustedIssuer> issuers) {
+        Map<String, TrustedIssuer> map = new LinkedHashMap<>();
+        for (TrustedIssuer issuer : issuers) {
+            TrustedIssuer previous = map.putIfAbsent(issuer.getIssuer(), issuer);
+            if (previous != null) {
+                throw new IllegalArgumentException(
+                        "Issuers " + previous.getName() + " and " + issuer.getName() + " both expect iss "
+                                + issuer.getIssuer());
+            }
+        }
+        this.byIssuer = map;
+    }
+
+    /**
+     * @param issuer "iss" claim of a token, nullable
+     * @return the trusted issuer, or empty if tokens of this issuer are not accepted
+     */
+    public Optional<TrustedIssuer> find(String issuer) {
+        return issuer == null ? Optional.empty() : Optional.ofNullable(byIssuer.get(issuer));
+    }
+
+    /** Trusted issuers in configuration order */
+    public List<TrustedIssuer> getIssuers() {
+        return List.copyOf(byIssuer.values());
+    }
+}
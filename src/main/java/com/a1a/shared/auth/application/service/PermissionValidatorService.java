@@ -1,53 +1,168 @@
 package com.a1a.shared.auth.application.service;
 
+import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionValidatorUseCase;
-
-import lombok.RequiredArgsConstructor;
+import com.a1a.shared.auth.domain.model.Requirement;
+import com.a1a.shared.auth.domain.model.UserContext;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service for validating user permissions.
  *
  * <p>This service validates permissions by loading them from the Gateway API via
  * PermissionLoaderUseCase. No caching is implemented in this version.
+ *
+ * <p>Loaders return wildcard grants (e.g. {@code FAB_PRD_INV_*}) already compiled into a {@link
+ * com.a1a.shared.auth.domain.model.WildcardPermissionSet}, so {@code contains} covers them.
+ *
+ * <p>Checks are asynchronous at the core ({@code *Async} methods) and complete when the loader's
+ * {@link PermissionLoaderUseCase#loadPermissionsAsync(Long)} does; the synchronous methods wait
+ * for them.
+ *
+ * <p>With an {@link AuthorizationDecisionCache}, outcomes of {@link #satisfies(Long, Requirement)}
+ * are memoized while the user's permission set stays the same. Decisions are kept per issuer of
+ * the authenticated user's token, so users of different issuers with the same account id never
+ * share them.
  */
-@RequiredArgsConstructor
 public class PermissionValidatorService implements PermissionValidatorUseCase {
     private static final org.slf4j.Logger log =
             org.slf4j.LoggerFactory.getLogger(PermissionValidatorService.class);
 
     private final PermissionLoaderUseCase permissionLoader;
+    private final AuthorizationDecisionCache decisionCache;
+    private final GetAuthenticatedUserUseCase getAuthenticatedUserUseCase;
+
+    public PermissionValidatorService(PermissionLoaderUseCase permissionLoader) {
+        this(permissionLoader, null, null);
+    }
+
+    /**
+     * @param decisionCache decision cache, null evaluates every check
+     */
+    public PermissionValidatorService(
+            PermissionLoaderUseCase permissionLoader, AuthorizationDecisionCache decisionCache) {
+        this(permissionLoader, decisionCache, null);
+    }
+
+    /**
+     * @param decisionCache decision cache, null evaluates every check
+     * @param getAuthenticatedUserUseCase lookup of the issuer decisions are kept under, nullable
+     */
+    public PermissionValidatorService(
+            PermissionLoaderUseCase permissionLoader,
+            AuthorizationDecisionCache decisionCache,
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase) {
+        this.permissionLoader = permissionLoader;
+        this.decisionCache = decisionCache;
+        this.getAuthenticatedUserUseCase = getAuthenticatedUserUseCase;
+    }
 
     @Override
     public boolean hasPermission(Long userId, String permissionCode) {
+        return join(hasPermissionAsync(userId, permissionCode));
+    }
+
+    @Override
+    public boolean hasAnyPermission(Long userId, String... permissionCodes) {
+        return join(hasAnyPermissionAsync(userId, permissionCodes));
+    }
+
+    @Override
+    public boolean hasAllPermissions(Long userId, String... permissionCodes) {
+        return join(hasAllPermissionsAsync(userId, permissionCodes));
+    }
+
+    @Override
+    public boolean satisfies(Long userId, Requirement requirement) {
+        return join(satisfiesAsync(userId, requirement));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasPermissionAsync(Long userId, String permissionCode) {
         if (userId == null || permissionCode == null) {
             log.warn("Null userId or permissionCode provided");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        Set<String> permissions = permissionLoader.loadPermissions(userId);
-
-        log.debug("User {} has {} permissions: {}", userId, permissions.size(), permissions);
-
-        boolean result = permissions.contains(permissionCode);
+        return permissionLoader
+                .loadPermissionsAsync(userId)
+                .thenApply(
+                        permissions -> {
+                            log.debug(
+                                    "User {} has {} permissions: {}",
+                                    userId,
+                                    permissions.size(),
+                                    permissions);
+
+                            boolean result = permissions.contains(permissionCode);
+
+                            log.debug(
+                                    "Permission check for user {} - permission {}: {}",
+                                    userId,
+                                    permissionCode,
+                                    result);
+
+                            return result;
+                        });
+    }
 
-        log.debug(
-                "Permission check for user {} - permission {}: {}", userId, permissionCode, result);
+    @Override
+    public CompletableFuture<Boolean> hasAnyPermissionAsync(Long userId, String... permissionCodes) {
+        if (userId == null || permissionCodes == null || permissionCodes.length == 0) {
+            log.warn("Null or empty parameters provided");
+            return CompletableFuture.completedFuture(false);
+        }
 
-        return result;
+        return permissionLoader
+                .loadPermissionsAsync(userId)
+                .thenApply(permissions -> hasAny(userId, permissions, permissionCodes));
     }
 
     @Override
-    public boolean hasAnyPermission(Long userId, String... permissionCodes) {
+    public CompletableFuture<Boolean> hasAllPermissionsAsync(Long userId, String... permissionCodes) {
         if (userId == null || permissionCodes == null || permissionCodes.length == 0) {
             log.warn("Null or empty parameters provided");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        Set<String> permissions = permissionLoader.loadPermissions(userId);
+        return permissionLoader
+                .loadPermissionsAsync(userId)
+                .thenApply(permissions -> hasAll(userId, permissions, permissionCodes));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> satisfiesAsync(Long userId, Requirement requirement) {
+        if (userId == null || requirement == null) {
+            log.warn("Null userId or requirement provided");
+            return CompletableFuture.completedFuture(false);
+        }
 
+        // Read on the calling thread, where the user is authenticated
+        String issuer = decisionCache != null ? issuerOf(userId) : null;
+        return permissionLoader
+                .loadPermissionsAsync(userId)
+                .thenApply(
+                        permissions -> {
+                            boolean result =
+                                    decisionCache != null
+                                            ? decisionCache.decide(issuer, userId, permissions, requirement)
+                                            : requirement.test(permissions);
+
+                            log.debug(
+                                    "Requirement check for user {} - {}: {}",
+                                    userId,
+                                    requirement,
+                                    result);
+
+                            return result;
+                        });
+    }
+
+    private boolean hasAny(Long userId, Set<String> permissions, String... permissionCodes) {
         log.debug("User {} has {} permissions: {}", userId, permissions.size(), permissions);
         log.debug(
                 "Checking if user {} has ANY of: {}",
@@ -68,15 +183,7 @@ public class PermissionValidatorService implements PermissionValidatorUseCase {
         return false;
     }
 
-    @Override
-    public boolean hasAllPermissions(Long userId, String... permissionCodes) {
-        if (userId == null || permissionCodes == null || permissionCodes.length == 0) {
-            log.warn("Null or empty parameters provided");
-            return false;
-        }
-
-        Set<String> permissions = permissionLoader.loadPermissions(userId);
-
+    private boolean hasAll(Long userId, Set<String> permissions, String... permissionCodes) {
         log.debug("User {} has {} permissions: {}", userId, permissions.size(), permissions);
         log.debug(
                 "Checking if user {} has ALL of: {}",
@@ -95,7 +202,23 @@ public class PermissionValidatorService implements PermissionValidatorUseCase {
         log.debug("✓ User {} has all {} required permissions", userId, permissionCodes.length);
         return true;
     }
-}
-
 
+    /** Issuer of the authenticated user if the check is for that user, null otherwise */
+    private String issuerOf(Long userId) {
+        UserContext user =
+                getAuthenticatedUserUseCase != null ? getAuthenticatedUserUseCase.getCurrentUser() : null;
+        return user != null && userId.equals(user.getAccountId()) ? user.getIssuer() : null;
+    }
 
+    /** Result of a check, rethrowing its failure unwrapped */
+    private static boolean join(CompletableFuture<Boolean> check) {
+        try {
+            return check.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of ReactiveGetAuthenticatedUserUseCase driving port.
+ *
+ * <p>
+ * Reads the current authenticated user from the security context stored in the
+ * Reactor context by Spring Security WebFlux.
+ */
+public class ReactiveGetAuthenticatedUserService implements ReactiveGetAuthenticatedUserUseCase {
+
+    @Override
+    public Mono<UserContext> getCurrentUser() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getPrincipal)
+                .ofType(UserContext.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driven.ReactiveJwksPort;
+import com.a1a.shared.auth.application.port.driving.ReactiveTokenVerificationUseCase;
+import com.a1a.shared.auth.application.port.driving.TokenVerificationUseCase;
+import com.a1a.shared.auth.domain.exception.TokenVerificationException;
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.interfaces.RSAPublicKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking token verification for reactive (WebFlux) applications.
+ *
+ * <p>The public key is obtained through {@link ReactiveJwksPort} when the JWKS port supports it;
+ * a blocking {@link JwksPort} is called on the bounded elastic scheduler instead. Parsing and the
+ * signature check are CPU-bound and run on the calling thread.
+ *
+ * <p>A custom {@link TokenVerificationUseCase} cannot be given the key, so it is called on the
+ * bounded elastic scheduler as a whole.
+ *
+ * <p>When tokens are routed on their issuer, the issuer is resolved from the payload first, and
+ * the key is obtained from that issuer's JWKS port the same way.
+ */
+@Slf4j
+public class ReactiveTokenVerificationService implements ReactiveTokenVerificationUseCase {
+    private final TokenVerificationUseCase tokenVerificationService;
+    private final Mono<RSAPublicKey> publicKey;
+    private final AuthProperties authProperties;
+
+    /** Key lookups per JWKS port of the trusted issuers */
+    private final Map<JwksPort, Mono<RSAPublicKey>> issuerPublicKeys = new ConcurrentHashMap<>();
+
+    public ReactiveTokenVerificationService(
+            TokenVerificationUseCase tokenVerificationService,
+            JwksPort jwksPort,
+            AuthProperties authProperties) {
+        this.tokenVerificationService = tokenVerificationService;
+        this.authProperties = authProperties;
+        this.publicKey = publicKey(jwksPort);
+    }
+
+    private static Mono<RSAPublicKey> publicKey(JwksPort jwksPort) {
+        Mono<RSAPublicKey> lookup = jwksPort instanceof ReactiveJwksPort reactiveJwksPort
+                ? reactiveJwksPort.publicKey()
+                : Mono.fromCallable(jwksPort::getPublicKey).subscribeOn(Schedulers.boundedElastic());
+        return lookup.onErrorMap(
+                ex -> {
+                    log.error("Token verification failed", ex);
+                    return new TokenVerificationException("Failed to verify token", ex);
+                });
+    }
+
+    @Override
+    public Mono<UserContext> verifyAndExtract(String token) {
+        if (!(tokenVerificationService instanceof TokenVerificationService verifier)) {
+            return Mono.fromCallable(() -> tokenVerificationService.verifyAndExtract(token))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        if (!authProperties.getJwks().isEnabled()) {
+            return Mono.fromCallable(() -> verifier.verifyAndExtract(token, null));
+        }
+
+        Mono<RSAPublicKey> keyLookup = verifier.getIssuerRegistry() == null
+                ? publicKey
+                // Untrusted issuers are rejected here, before any key lookup
+                : Mono.fromCallable(() -> verifier.resolveIssuer(token))
+                        .flatMap(
+                                issuer -> issuerPublicKeys.computeIfAbsent(
+                                        issuer.getJwksPort(), ReactiveTokenVerificationService::publicKey));
+
+        return keyLookup.map(key -> verifier.verifyAndExtract(token, key));
+    }
+}
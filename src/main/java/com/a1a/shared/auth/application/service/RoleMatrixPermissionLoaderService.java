@@ -0,0 +1,198 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driven.PermissionMatrixPort;
+import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactivePermissionLoaderUseCase;
+import com.a1a.shared.auth.domain.model.RolePermissionMatrix;
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PermissionLoader that evaluates permissions locally from the user's roles.
+ *
+ * <p>
+ * To use, set property: app.auth.permission.loader=matrix
+ *
+ * <p>
+ * The complete role to permission matrix is downloaded once per node and
+ * re-synced periodically; unchanged matrices are not downloaded again. A
+ * user's permissions are the union of the permissions of the roles in
+ * {@link UserContext#getRoles()}, so no per-user Gateway calls are made.
+ *
+ * <p>
+ * Until the first matrix has been loaded every user has no permissions. When a
+ * sync fails, the previous matrix stays in use.
+ */
+@Slf4j
+public class RoleMatrixPermissionLoaderService
+        implements PermissionLoaderUseCase, ReactivePermissionLoaderUseCase, AutoCloseable {
+
+    private final PermissionMatrixPort permissionMatrixPort;
+    private final GetAuthenticatedUserUseCase getAuthenticatedUserUseCase;
+    private final Duration syncInterval;
+
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder unchangedSyncs = new LongAdder();
+    private final LongAdder failedSyncs = new LongAdder();
+
+    private volatile RolePermissionMatrix matrix;
+    private ScheduledExecutorService scheduler;
+
+    public RoleMatrixPermissionLoaderService(
+            PermissionMatrixPort permissionMatrixPort,
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            Duration syncInterval) {
+        this.permissionMatrixPort = permissionMatrixPort;
+        this.getAuthenticatedUserUseCase = getAuthenticatedUserUseCase;
+        this.syncInterval = syncInterval;
+    }
+
+    /** Load the matrix and schedule periodic re-syncs */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        sync();
+
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "auth-permission-matrix-sync");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.scheduleWithFixedDelay(
+                this::sync, syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public Set<String> loadPermissions(Long userId) {
+        UserContext currentUser = getAuthenticatedUserUseCase.getCurrentUser();
+        if (currentUser == null || !Objects.equals(currentUser.getAccountId(), userId)) {
+            // Roles are only known for the authenticated user
+            log.warn("No authenticated user found for userId: {}", userId);
+            return Collections.emptySet();
+        }
+
+        return permissionsFor(currentUser);
+    }
+
+    /** Evaluation is local and in memory, so it never blocks */
+    @Override
+    public Mono<Set<String>> loadPermissions(UserContext user) {
+        if (user == null) {
+            log.warn("No authenticated user found");
+            return Mono.just(Collections.emptySet());
+        }
+        return Mono.fromSupplier(() -> permissionsFor(user));
+    }
+
+    private Set<String> permissionsFor(UserContext user) {
+        RolePermissionMatrix current = matrix;
+        if (current == null) {
+            log.warn(
+                    "Permission matrix not loaded yet, denying permissions for userId: {}",
+                    user.getAccountId());
+            return Collections.emptySet();
+        }
+
+        Set<String> permissions = current.permissionsFor(user.getRoles());
+        log.debug(
+                "Evaluated {} permissions for userId {} from roles {} (matrix version {})",
+                permissions.size(),
+                user.getAccountId(),
+                user.getRoles(),
+                current.getVersion());
+        return permissions;
+    }
+
+    /**
+     * Permissions are not cached per user; an update of a user's permissions
+     * means the matrix changed, so an early re-sync is requested instead.
+     */
+    @Override
+    public void invalidate(Long userId) {
+        log.debug("Invalidating permissions for userId: {} (matrix re-sync)", userId);
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.execute(this::sync);
+        } catch (RejectedExecutionException e) {
+            log.debug("Permission matrix re-sync rejected: {}", e.getMessage());
+        }
+    }
+
+    /** Download the matrix if it changed and swap it in */
+    public void sync() {
+        syncs.increment();
+        RolePermissionMatrix current = matrix;
+        try {
+            Optional<RolePermissionMatrix> fetched =
+                    permissionMatrixPort.fetchMatrix(current != null ? current.getVersion() : null);
+
+            if (fetched.isEmpty()) {
+                unchangedSyncs.increment();
+                return;
+            }
+
+            matrix = fetched.get();
+            log.info(
+                    "Permission matrix updated to version {} ({} roles, {} permissions)",
+                    fetched.get().getVersion(),
+                    fetched.get().getRoleCount(),
+                    fetched.get().getPermissionCount());
+
+        } catch (Exception e) {
+            failedSyncs.increment();
+            log.error(
+                    "Failed to sync permission matrix, keeping version {}: {}",
+                    current != null ? current.getVersion() : null,
+                    e.getMessage());
+        }
+    }
+
+    /** The matrix currently used, empty until the first sync succeeded */
+    public Optional<RolePermissionMatrix> getMatrix() {
+        return Optional.ofNullable(matrix);
+    }
+
+    /** Number of sync attempts */
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    /** Number of syncs that found the matrix unchanged */
+    public long getUnchangedSyncCount() {
+        return unchangedSyncs.sum();
+    }
+
+    /** Number of syncs that failed */
+    public long getFailedSyncCount() {
+        return failedSyncs.sum();
+    }
+}
@@ -1,5 +1,6 @@
 package com.a1a.shared.auth.application.service;
 
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
 import com.a1a.shared.auth.application.port.driven.JwksPort;
 import com.a1a.shared.auth.application.port.driving.TokenVerificationUseCase;
 import com.a1a.shared.auth.domain.exception.TokenExpiredException;
@@ -11,16 +12,18 @@ import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for verifying and extracting user information from JWT tokens.
@@ -33,12 +36,101 @@ import java.util.stream.Collectors;
  *   <li>Validates expiration
  *   <li>Maps claims to UserContext domain model
  * </ul>
+ *
+ * <p>With an {@link IssuerRegistry}, the token is routed on its "iss" claim, read from the
+ * not yet verified payload: tokens of unknown issuers are rejected before any signature work,
+ * and each trusted issuer brings its own keys, accepted audiences and claim mapping.
+ *
+ * <p>With app.auth.validation.claims-parser=streaming, the payload is not parsed by Nimbus: a
+ * {@link ClaimsReader} materializes only the registered claims and the claims the mappings read.
  */
-@RequiredArgsConstructor
 @Slf4j
 public class TokenVerificationService implements TokenVerificationUseCase {
-    private final JwksPort jwksPort;
+    /** Value of app.auth.validation.claims-parser selecting the {@link ClaimsReader} */
+    public static final String STREAMING = "streaming";
+
+    /** Registered claims the service validates, read along with the mapped claims */
+    private static final ClaimPath ISSUER = ClaimPath.compile("/iss");
+    private static final ClaimPath EXPIRATION_TIME = ClaimPath.compile("/exp");
+    private static final ClaimPath AUDIENCE = ClaimPath.compile("/aud");
+
     private final AuthProperties AuthProperties;
+    private final AuthMetricsPort metrics;
+    private final IssuerRegistry issuerRegistry;
+
+    /** Streaming reader of the payload, null to parse it with Nimbus */
+    private final ClaimsReader claimsReader;
+
+    /** Issuer of all tokens when no registry is configured */
+    private final TrustedIssuer defaultIssuer;
+
+    public TokenVerificationService(JwksPort jwksPort, AuthProperties authProperties) {
+        this(jwksPort, authProperties, AuthMetricsPort.NONE);
+    }
+
+    /**
+     * @param metrics recipient of the stage durations of each verification
+     */
+    public TokenVerificationService(
+            JwksPort jwksPort, AuthProperties authProperties, AuthMetricsPort metrics) {
+        this(jwksPort, authProperties, metrics, null);
+    }
+
+    /**
+     * @param jwksPort keys of tokens without a registry, nullable when a registry is given
+     * @param metrics recipient of the stage durations of each verification
+     * @param issuerRegistry trusted issuers to route tokens to, null to accept any issuer with the
+     *     keys of jwksPort
+     */
+    public TokenVerificationService(
+            JwksPort jwksPort,
+            AuthProperties authProperties,
+            AuthMetricsPort metrics,
+            IssuerRegistry issuerRegistry) {
+        this(jwksPort, authProperties, metrics, issuerRegistry, CompiledClaimMapper.ACCOUNT);
+    }
+
+    /**
+     * @param jwksPort keys of tokens without a registry, nullable when a registry is given
+     * @param metrics recipient of the stage durations of each verification
+     * @param issuerRegistry trusted issuers to route tokens to, null to accept any issuer with the
+     *     keys of jwksPort
+     * @param claimMapper mapping of tokens without a registry
+     */
+    public TokenVerificationService(
+            JwksPort jwksPort,
+            AuthProperties authProperties,
+            AuthMetricsPort metrics,
+            IssuerRegistry issuerRegistry,
+            ClaimMapper claimMapper) {
+        this.AuthProperties = authProperties;
+        this.metrics = metrics;
+        this.issuerRegistry = issuerRegistry;
+        this.defaultIssuer = new TrustedIssuer(null, null, jwksPort, List.of(), claimMapper);
+        this.claimsReader = STREAMING.equals(authProperties.getValidation().getClaimsParser())
+                ? claimsReader(issuerRegistry != null ? issuerRegistry.getIssuers() : List.of(defaultIssuer))
+                : null;
+    }
+
+    /**
+     * Reader of the registered claims and the claims of all compiled mappings; mappers that need
+     * the Nimbus claims get the whole payload.
+     */
+    private static ClaimsReader claimsReader(List<TrustedIssuer> issuers) {
+        List<ClaimPath> paths = new ArrayList<>(List.of(ISSUER, EXPIRATION_TIME, AUDIENCE));
+        for (TrustedIssuer issuer : issuers) {
+            if (!(issuer.getClaimMapper() instanceof CompiledClaimMapper mapper)) {
+                return ClaimsReader.all();
+            }
+            paths.addAll(mapper.getPaths());
+        }
+        return ClaimsReader.of(paths);
+    }
+
+    /** Trusted issuers tokens are routed to, null if tokens are not routed */
+    public IssuerRegistry getIssuerRegistry() {
+        return issuerRegistry;
+    }
 
     /**
      * Verify JWT token and extract UserContext.
@@ -50,31 +142,106 @@ public class TokenVerificationService implements TokenVerificationUseCase {
      */
     @Override
     public UserContext verifyAndExtract(String token) {
+        return verify(token, issuer -> issuer.getJwksPort().getPublicKey());
+    }
+
+    /**
+     * Verify JWT token against an already fetched public key and extract UserContext.
+     *
+     * <p>Used by callers that obtain the key themselves, e.g. without blocking.
+     *
+     * @param token JWT token string (without "Bearer " prefix)
+     * @param publicKey RSA public key to verify the signature with, unused when JWKS is disabled
+     * @return UserContext extracted from token
+     * @throws TokenVerificationException if verification fails
+     * @throws TokenExpiredException if token is expired
+     */
+    public UserContext verifyAndExtract(String token, RSAPublicKey publicKey) {
+        return verify(token, issuer -> publicKey);
+    }
+
+    /**
+     * Trusted issuer of a token, from its unverified payload.
+     *
+     * <p>Used by callers that obtain the issuer's key themselves before verifying.
+     *
+     * @param token JWT token string (without "Bearer " prefix)
+     * @return the issuer whose keys verify the token
+     * @throws TokenVerificationException if the token cannot be parsed or its issuer is not trusted
+     */
+    public TrustedIssuer resolveIssuer(String token) {
         try {
-            // Parse JWT
+            return trustedIssuer(readClaims(SignedJWT.parse(token)).issuer());
+        } catch (ParseException ex) {
+            throw new TokenVerificationException("Failed to parse token", ex);
+        }
+    }
+
+    private TrustedIssuer trustedIssuer(String iss) {
+        if (issuerRegistry == null) {
+            return defaultIssuer;
+        }
+        return issuerRegistry
+                .find(iss)
+                .orElseThrow(
+                        () -> {
+                            log.debug("Rejecting token of untrusted issuer {}", iss);
+                            return new TokenVerificationException("Token issuer is not trusted");
+                        });
+    }
+
+    private UserContext verify(String token, Function<TrustedIssuer, RSAPublicKey> publicKey) {
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        long parsed = 0L;
+        long verified = 0L;
+        AuthMetricsPort.TokenOutcome outcome = AuthMetricsPort.TokenOutcome.INVALID;
+        try {
+            // Parse JWT; the claims are not trusted until the signature is verified
             SignedJWT signedJWT = SignedJWT.parse(token);
+            TokenClaims claims = readClaims(signedJWT);
 
-            // Verify signature
-            verifySignature(signedJWT);
+            // Route on the issuer before any signature work
+            TrustedIssuer issuer = trustedIssuer(claims.issuer());
+            if (timed) {
+                parsed = System.nanoTime();
+            }
 
-            // Extract claims
-            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            // Verify signature
+            verifySignature(signedJWT, () -> publicKey.apply(issuer));
+            if (timed) {
+                verified = System.nanoTime();
+            }
 
-            // Validate expiration
+            // Validate expiration and audience
             validateExpiration(claims);
+            validateAudience(claims, issuer);
 
             // Map to UserContext
-            return mapToUserContext(claims, token);
+            UserContext user = mapToUserContext(claims, token, issuer);
+            outcome = AuthMetricsPort.TokenOutcome.VALID;
+            return user;
 
-        } catch (TokenVerificationException | TokenExpiredException ex) {
+        } catch (TokenExpiredException ex) {
+            outcome = AuthMetricsPort.TokenOutcome.EXPIRED;
+            throw ex;
+        } catch (TokenVerificationException ex) {
             throw ex;
         } catch (Exception ex) {
             log.error("Token verification failed", ex);
             throw new TokenVerificationException("Failed to verify token", ex);
+        } finally {
+            if (timed) {
+                // A stage that failed ends now; the stages after it took no time
+                long end = System.nanoTime();
+                long parseEnd = parsed != 0L ? parsed : end;
+                long signatureEnd = verified != 0L ? verified : end;
+                metrics.tokenVerified(outcome, parseEnd - start, signatureEnd - parseEnd, end - signatureEnd);
+            }
         }
     }
 
-    private void verifySignature(SignedJWT signedJWT) {
+    private void verifySignature(SignedJWT signedJWT, Supplier<RSAPublicKey> publicKeySupplier) {
         if (!AuthProperties.getJwks().isEnabled()) {
             log.warn(
                     "JWKS verification is DISABLED. Skipping signature check. DO NOT USE IN PRODUCTION!");
@@ -82,7 +249,7 @@ public class TokenVerificationService implements TokenVerificationUseCase {
         }
 
         try {
-            RSAPublicKey publicKey = jwksPort.getPublicKey();
+            RSAPublicKey publicKey = publicKeySupplier.get();
             RSASSAVerifier verifier = new RSASSAVerifier(publicKey);
 
             if (!signedJWT.verify(verifier)) {
@@ -96,12 +263,63 @@ public class TokenVerificationService implements TokenVerificationUseCase {
         }
     }
 
-    private void validateExpiration(JWTClaimsSet claims) {
+    /** Claims of the payload, parsed by Nimbus or read by the streaming reader */
+    private TokenClaims readClaims(SignedJWT signedJWT) throws ParseException {
+        if (claimsReader == null) {
+            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
+            return new TokenClaims(
+                    claimsSet.getIssuer(), claimsSet.getExpirationTime(), claimsSet.getAudience(), null, claimsSet);
+        }
+        Map<String, Object> values;
+        try {
+            values = claimsReader.read(signedJWT.getPayload().toBytes());
+        } catch (IOException ex) {
+            throw new TokenVerificationException("Failed to parse token claims", ex);
+        }
+        return new TokenClaims(
+                registeredText(ISSUER.read(values)),
+                registeredTime(EXPIRATION_TIME.read(values)),
+                registeredTexts(AUDIENCE.read(values)),
+                values,
+                null);
+    }
+
+    private static String registeredText(Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new TokenVerificationException("Token issuer is not a string");
+    }
+
+    private static Date registeredTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number seconds) {
+            return new Date(seconds.longValue() * 1000L);
+        }
+        throw new TokenVerificationException("Token expiration time is not a number");
+    }
+
+    private static List<String> registeredTexts(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof String text) {
+            return List.of(text);
+        }
+        if (value instanceof List<?> list && list.stream().allMatch(String.class::isInstance)) {
+            return list.stream().map(String.class::cast).toList();
+        }
+        throw new TokenVerificationException("Token audience is not a string or a list of strings");
+    }
+
+    private void validateExpiration(TokenClaims claims) {
         if (!AuthProperties.getValidation().isValidateExpiration()) {
             return;
         }
 
-        Date expirationTime = claims.getExpirationTime();
+        Date expirationTime = claims.expirationTime();
         if (expirationTime == null) {
             throw new TokenVerificationException("Token does not have expiration time");
         }
@@ -118,44 +336,39 @@ public class TokenVerificationService implements TokenVerificationUseCase {
         log.debug("Token expiration validated successfully");
     }
 
-    @SuppressWarnings("unchecked")
-    private UserContext mapToUserContext(JWTClaimsSet claims, String token) {
+    private void validateAudience(TokenClaims claims, TrustedIssuer issuer) {
+        if (!issuer.acceptsAudience(claims.audience())) {
+            throw new TokenVerificationException("Token audience is not accepted");
+        }
+    }
+
+    private UserContext mapToUserContext(TokenClaims claims, String token, TrustedIssuer issuer) {
+        ClaimMapper mapper = issuer.getClaimMapper();
         try {
-            // Extract account object
-            Map<String, Object> account = claims.getJSONObjectClaim("account");
-            if (account == null) {
-                throw new TokenVerificationException("Token does not contain 'account' claim");
+            if (claims.claimsSet() != null) {
+                return mapper.map(claims.claimsSet(), token);
             }
-
-            // Extract groups and map to roles
-            List<Map<String, Object>> groups = (List<Map<String, Object>>) account.get("groups");
-            List<String> roles = List.of();
-            if (groups != null) {
-                roles =
-                        groups.stream()
-                                .map(group -> (String) group.get("groupCode"))
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toList());
+            if (mapper instanceof CompiledClaimMapper compiled) {
+                return compiled.map(claims.values(), token);
             }
-
-            // Build UserContext
-            return UserContext.builder()
-                    .accountId((Long) account.get("id"))
-                    .username((String) account.get("username"))
-                    .fullName((String) account.get("fullName"))
-                    .employeeCode((String) account.get("employeeCode"))
-                    .employeeFullCode((String) account.get("employeeFullCode"))
-                    .firstLogin(Boolean.TRUE.equals(account.get("firstLogin")))
-                    .rawToken(token)
-                    .roles(roles)
-                    .build();
-
+            // The reader kept the whole payload for mappers that need the Nimbus claims
+            return mapper.map(JWTClaimsSet.parse(claims.values()), token);
+        } catch (TokenVerificationException ex) {
+            throw ex;
         } catch (Exception ex) {
             log.error("Failed to map token claims to UserContext", ex);
             throw new TokenVerificationException("Failed to extract user from token", ex);
         }
     }
-}
-
-
 
+    /**
+     * Claims the service validates, plus the claims to map: the Nimbus claims set, or the values
+     * of the streaming reader.
+     */
+    private record TokenClaims(
+            String issuer,
+            Date expirationTime,
+            List<String> audience,
+            Map<String, Object> values,
+            JWTClaimsSet claimsSet) {}
+}
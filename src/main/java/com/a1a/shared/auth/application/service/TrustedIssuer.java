@@ -0,0 +1,36 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+
+import lombok.Value;
+
+import java.util.List;
+
+/** Token issuer whose tokens are accepted, with the keys and claim layout of its tokens */
+@Value
+public class TrustedIssuer {
+    /** Configuration name, used in logs */
+    String name;
+
+    /** Expected "iss" claim */
+    String issuer;
+
+    /** Source of the issuer's signing keys */
+    JwksPort jwksPort;
+
+    /** Accepted "aud" values; empty accepts any audience */
+    List<String> audiences;
+
+    /** Mapping of the issuer's claims to the user */
+    ClaimMapper claimMapper;
+
+    /**
+     * Checks if a token audience is accepted.
+     *
+     * @param tokenAudiences "aud" claim of the token, empty if absent
+     * @return true if no audience is required or the token names one of the accepted audiences
+     */
+    public boolean acceptsAudience(List<String> tokenAudiences) {
+        return audiences.isEmpty() || tokenAudiences.stream().anyMatch(audiences::contains);
+    }
+}
@@ -0,0 +1,19 @@
+package com.a1a.shared.auth.domain.exception;
+
+/**
+ * Exception thrown when the permission Gateway cannot be reached or is unhealthy.
+ *
+ * <p>This covers network errors, timeouts, 5xx responses and calls rejected locally by the
+ * circuit breaker or bulkhead. Unlike other {@link PermissionException}s it says nothing about the
+ * user, so callers may fall back to a previously loaded permission set.
+ */
+public class GatewayUnavailableException extends PermissionException {
+
+    public GatewayUnavailableException(String message) {
+        super(message);
+    }
+
+    public GatewayUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,14 +4,34 @@ package com.a1a.shared.auth.domain.exception;
  * Base exception for all IAM domain errors.
  *
  * <p>This is the parent exception for authentication and authorization failures.
+ *
+ * <p>Rejected requests are expected, not exceptional, so filling in a stack trace for each of
+ * them is mostly wasted work. With {@link #setStackTraces(boolean)} turned off, the whole
+ * hierarchy is created without stack traces (and without suppressed exceptions); causes keep
+ * their own traces.
  */
 public class IamDomainException extends RuntimeException {
+    private static volatile boolean stackTraces = true;
+
     public IamDomainException(String message) {
-        super(message);
+        super(message, null, stackTraces, stackTraces);
     }
 
     public IamDomainException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, stackTraces, stackTraces);
+    }
+
+    /**
+     * Turn stack traces of IAM domain exceptions on (default) or off, for exceptions created
+     * afterwards.
+     */
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+
+    /** Checks if IAM domain exceptions are created with stack traces */
+    public static boolean isStackTraces() {
+        return stackTraces;
     }
 }
 
@@ -0,0 +1,24 @@
+package com.a1a.shared.auth.domain.model;
+
+import lombok.Value;
+
+/**
+ * Key of per-user state such as cached permission sets: the issuer of the user's token and the
+ * account id.
+ *
+ * <p>Account ids are only unique within one issuer, so state loaded for a user of one issuer must
+ * never be served to a user of another issuer with the same id.
+ */
+@Value
+public class AccountKey {
+    /** Issuer of the user's token ("iss" claim), nullable */
+    String issuer;
+
+    /** Account ID within the issuer */
+    Long accountId;
+
+    /** Key of an authenticated user */
+    public static AccountKey of(UserContext user) {
+        return new AccountKey(user.getIssuer(), user.getAccountId());
+    }
+}
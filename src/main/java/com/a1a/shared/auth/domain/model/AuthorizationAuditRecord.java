@@ -0,0 +1,46 @@
+package com.a1a.shared.auth.domain.model;
+
+import java.lang.reflect.Method;
+
+/**
+ * One allow/deny decision of a permission or role check, as handed to an audit sink.
+ *
+ * <p>Records are read on the audit thread, after the request has moved on. Values that are
+ * expensive to render (the method, the requirement) are kept as objects and only turned into text
+ * by the sink.
+ */
+public interface AuthorizationAuditRecord {
+
+    /** Kind of check that made the decision */
+    enum Check {
+        PERMISSION,
+        ROLE
+    }
+
+    /** Time of the decision, epoch milliseconds */
+    long getTimestamp();
+
+    Check getCheck();
+
+    /** Account ID of the user, null if unknown */
+    Long getUserId();
+
+    /** Username of the user, null if unknown */
+    String getUsername();
+
+    /** Annotated method the check guarded */
+    Method getMethod();
+
+    /** Required permission, role or {@link Requirement}; rendered with toString() */
+    Object getRequirement();
+
+    boolean isGranted();
+
+    /** Class name of the exception the check ended with, null if it made a decision */
+    default String getError() {
+        return null;
+    }
+
+    /** Time the check took, in nanoseconds */
+    long getLatencyNanos();
+}
@@ -0,0 +1,52 @@
+package com.a1a.shared.auth.domain.model;
+
+import lombok.Value;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Set of public signing keys published by a JWKS endpoint.
+ *
+ * <p>The first key is the one used for RS256 verification; the others are kept so the ring can be
+ * inspected as a whole.
+ */
+@Value
+public class KeyRing {
+    /** Keys in the order they were published */
+    List<SigningKey> keys;
+
+    /** When the keys were fetched from the JWKS endpoint */
+    Instant fetchedAt;
+
+    /** When the keys should be fetched again */
+    Instant expiresAt;
+
+    /**
+     * Checks if the key ring can still be used.
+     *
+     * @param now current time
+     * @return true if the ring has keys and is not expired
+     */
+    public boolean isValidAt(Instant now) {
+        return !keys.isEmpty() && now.isBefore(expiresAt);
+    }
+
+    /** Primary key used for verification */
+    public RSAPublicKey primaryKey() {
+        return keys.get(0).getPublicKey();
+    }
+
+    /** Public signing key with its JWKS metadata */
+    @Value
+    public static class SigningKey {
+        /** Key id ("kid"), nullable */
+        String keyId;
+
+        /** Algorithm ("alg"), nullable */
+        String algorithm;
+
+        RSAPublicKey publicKey;
+    }
+}
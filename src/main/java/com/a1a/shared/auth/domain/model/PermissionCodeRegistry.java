@@ -0,0 +1,66 @@
+package com.a1a.shared.auth.domain.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Set of permission codes known to the application.
+ *
+ * <p>Used to validate permission requirements at startup, so a misspelled code in an annotation
+ * fails the boot instead of silently denying every request.
+ */
+public final class PermissionCodeRegistry {
+    private final Set<String> codes;
+
+    private PermissionCodeRegistry(Set<String> codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Registry of the given permissions, e.g. {@code of(FabricPermission.values())}.
+     *
+     * @param permissions known permissions
+     * @return the registry
+     */
+    public static PermissionCodeRegistry of(PermissionCode... permissions) {
+        return of(Arrays.asList(permissions));
+    }
+
+    /**
+     * Registry of the given permissions.
+     *
+     * @param permissions known permissions
+     * @return the registry
+     */
+    public static PermissionCodeRegistry of(Collection<? extends PermissionCode> permissions) {
+        return new PermissionCodeRegistry(
+                permissions.stream().map(PermissionCode::getCode).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /** Known permission codes */
+    public Set<String> getCodes() {
+        return codes;
+    }
+
+    /** Checks if a permission code is known */
+    public boolean isKnown(String code) {
+        return codes.contains(code);
+    }
+
+    /**
+     * Checks that a requirement only refers to known permission codes.
+     *
+     * @param requirement requirement to check
+     * @throws IllegalArgumentException listing the unknown codes
+     */
+    public void validate(Requirement requirement) {
+        List<String> unknown = requirement.getCodes().stream().filter(code -> !isKnown(code)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unknown permission code(s) " + unknown + " in requirement: " + requirement);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.a1a.shared.auth.domain.model;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Permission set of a user as loaded at a given point in time.
+ *
+ * <p>Used by permission loaders to decide whether a cached set can still be served as fresh, or
+ * only as a stale fallback while the permission source is unavailable.
+ */
+@Value
+public class PermissionSnapshot {
+    /** Permission codes the user had when the snapshot was taken */
+    Set<String> permissions;
+
+    /** When the permissions were loaded from the source */
+    Instant loadedAt;
+
+    /**
+     * Checks if the snapshot is not older than the given age.
+     *
+     * @param maxAge maximum age, null means never
+     * @param now current time
+     * @return true if the snapshot is within the given age
+     */
+    public boolean isYoungerThan(Duration maxAge, Instant now) {
+        return maxAge != null && !now.isAfter(loadedAt.plus(maxAge));
+    }
+}
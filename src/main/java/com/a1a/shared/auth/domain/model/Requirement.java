@@ -0,0 +1,351 @@
+package com.a1a.shared.auth.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Boolean permission requirement such as {@code A && (B || C)}.
+ *
+ * <p>Built either by parsing an expression ({@link #parse(String)}) or programmatically:
+ *
+ * <pre>
+ * Requirement.of("FAB_PRD_INV_FABRIC_VIEW")
+ *         .and(Requirement.anyOf("FAB_PRD_INV_FABRIC_EXPORT", "FAB_PRD_INV_FABRIC_PRINT"));
+ * </pre>
+ *
+ * <p>On construction the requirement is compiled into a truth table over its distinct permission
+ * codes. Evaluation looks up each code once, packs the results into a bit index and reads the
+ * outcome from the table, without branching on the expression structure. Requirements with more
+ * than {@value #MAX_TABLE_CODES} distinct codes are evaluated on the expression tree instead.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public final class Requirement {
+    /** Maximum number of distinct codes compiled into a truth table (2^16 bits = 8 KiB) */
+    public static final int MAX_TABLE_CODES = 16;
+
+    private final Expr expr;
+    private final String[] codes;
+    private final long[] table;
+
+    private Requirement(Expr expr) {
+        this.expr = expr;
+
+        Map<String, Integer> index = new LinkedHashMap<>();
+        expr.collect(index);
+        this.codes = index.keySet().toArray(String[]::new);
+        this.table = codes.length <= MAX_TABLE_CODES ? compile(expr, index, codes.length) : null;
+    }
+
+    /**
+     * Parses a requirement expression.
+     *
+     * <p>Grammar: codes combined with {@code &&}, {@code ||}, {@code !} and parentheses; {@code !}
+     * binds tightest, then {@code &&}, then {@code ||}.
+     *
+     * @param expression expression such as {@code A && (B || C)}
+     * @return the compiled requirement
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static Requirement parse(String expression) {
+        return new Requirement(new Parser(expression).parse());
+    }
+
+    /**
+     * Requirement for a single permission code.
+     *
+     * <p>Programmatic requirements accept any non-empty code, including codes that could not be
+     * written in an expression.
+     */
+    public static Requirement of(String code) {
+        return new Requirement(new Code(checkCode(code)));
+    }
+
+    /** Requirement for a single permission */
+    public static Requirement of(PermissionCode permission) {
+        return of(permission.getCode());
+    }
+
+    /** Requirement satisfied when any of the codes is granted */
+    public static Requirement anyOf(String... codes) {
+        return new Requirement(new Or(codeList(codes)));
+    }
+
+    /** Requirement satisfied when all of the codes are granted */
+    public static Requirement allOf(String... codes) {
+        return new Requirement(new And(codeList(codes)));
+    }
+
+    /** This requirement and the other one */
+    public Requirement and(Requirement other) {
+        return new Requirement(new And(List.of(expr, other.expr)));
+    }
+
+    /** This requirement or the other one */
+    public Requirement or(Requirement other) {
+        return new Requirement(new Or(List.of(expr, other.expr)));
+    }
+
+    /** Negation of this requirement */
+    public Requirement not() {
+        return new Requirement(new Not(expr));
+    }
+
+    /** Distinct permission codes the requirement refers to, in order of appearance */
+    public List<String> getCodes() {
+        return List.of(codes);
+    }
+
+    /**
+     * Evaluates the requirement against a permission set.
+     *
+     * @param permissions permission codes the user has
+     * @return true if the requirement is satisfied
+     */
+    public boolean test(Set<String> permissions) {
+        return test(permissions::contains);
+    }
+
+    /**
+     * Evaluates the requirement, looking up each code once.
+     *
+     * @param granted tells whether a permission code is granted
+     * @return true if the requirement is satisfied
+     */
+    public boolean test(Predicate<String> granted) {
+        if (table == null) {
+            return expr.evaluate(granted);
+        }
+        int row = 0;
+        for (int i = 0; i < codes.length; i++) {
+            row |= (granted.test(codes[i]) ? 1 : 0) << i;
+        }
+        return ((table[row >>> 6] >>> row) & 1L) != 0;
+    }
+
+    /** Canonical expression text */
+    @Override
+    public String toString() {
+        return expr.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Requirement other && expr.equals(other.expr);
+    }
+
+    @Override
+    public int hashCode() {
+        return expr.hashCode();
+    }
+
+    /** Evaluate the expression for every assignment of the codes */
+    private static long[] compile(Expr expr, Map<String, Integer> index, int codeCount) {
+        int rows = 1 << codeCount;
+        long[] table = new long[Math.max(1, rows >>> 6)];
+        for (int row = 0; row < rows; row++) {
+            int assignment = row;
+            if (expr.evaluate(code -> ((assignment >>> index.get(code)) & 1) != 0)) {
+                table[row >>> 6] |= 1L << row;
+            }
+        }
+        return table;
+    }
+
+    private static List<Expr> codeList(String... codes) {
+        if (codes == null || codes.length == 0) {
+            throw new IllegalArgumentException("At least one permission code is required");
+        }
+        return Arrays.stream(codes).map(code -> (Expr) new Code(checkCode(code))).toList();
+    }
+
+    private static String checkCode(String code) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("Permission code must not be empty");
+        }
+        return code;
+    }
+
+    /** Expression tree */
+    private sealed interface Expr permits Code, Not, And, Or {
+        boolean evaluate(Predicate<String> granted);
+
+        void collect(Map<String, Integer> index);
+    }
+
+    private record Code(String code) implements Expr {
+        @Override
+        public boolean evaluate(Predicate<String> granted) {
+            return granted.test(code);
+        }
+
+        @Override
+        public void collect(Map<String, Integer> index) {
+            index.putIfAbsent(code, index.size());
+        }
+
+        @Override
+        public String toString() {
+            return code;
+        }
+    }
+
+    private record Not(Expr operand) implements Expr {
+        @Override
+        public boolean evaluate(Predicate<String> granted) {
+            return !operand.evaluate(granted);
+        }
+
+        @Override
+        public void collect(Map<String, Integer> index) {
+            operand.collect(index);
+        }
+
+        @Override
+        public String toString() {
+            return operand instanceof Code ? "!" + operand : "!(" + operand + ")";
+        }
+    }
+
+    private record And(List<Expr> operands) implements Expr {
+        @Override
+        public boolean evaluate(Predicate<String> granted) {
+            for (Expr operand : operands) {
+                if (!operand.evaluate(granted)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void collect(Map<String, Integer> index) {
+            operands.forEach(operand -> operand.collect(index));
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream()
+                    .map(operand -> operand instanceof Or ? "(" + operand + ")" : operand.toString())
+                    .collect(Collectors.joining(" && "));
+        }
+    }
+
+    private record Or(List<Expr> operands) implements Expr {
+        @Override
+        public boolean evaluate(Predicate<String> granted) {
+            for (Expr operand : operands) {
+                if (operand.evaluate(granted)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void collect(Map<String, Integer> index) {
+            operands.forEach(operand -> operand.collect(index));
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Expr::toString).collect(Collectors.joining(" || "));
+        }
+    }
+
+    /** Recursive descent parser for requirement expressions */
+    private static final class Parser {
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            if (input == null || input.isBlank()) {
+                throw new IllegalArgumentException("Permission expression must not be empty");
+            }
+            this.input = input;
+        }
+
+        static boolean isCodeChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':';
+        }
+
+        Expr parse() {
+            Expr expr = or();
+            skipWhitespace();
+            if (pos < input.length()) {
+                throw error("Unexpected '" + input.charAt(pos) + "'");
+            }
+            return expr;
+        }
+
+        private Expr or() {
+            List<Expr> operands = new ArrayList<>();
+            operands.add(and());
+            while (consume("||")) {
+                operands.add(and());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(List.copyOf(operands));
+        }
+
+        private Expr and() {
+            List<Expr> operands = new ArrayList<>();
+            operands.add(unary());
+            while (consume("&&")) {
+                operands.add(unary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(List.copyOf(operands));
+        }
+
+        private Expr unary() {
+            if (consume("!")) {
+                return new Not(unary());
+            }
+            if (consume("(")) {
+                Expr expr = or();
+                if (!consume(")")) {
+                    throw error("Expected ')'");
+                }
+                return expr;
+            }
+            return code();
+        }
+
+        private Expr code() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length() && isCodeChar(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error(pos < input.length() ? "Unexpected '" + input.charAt(pos) + "'" : "Unexpected end");
+            }
+            return new Code(input.substring(start, pos));
+        }
+
+        private boolean consume(String token) {
+            skipWhitespace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                    message + " at position " + pos + " in permission expression: " + input);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.a1a.shared.auth.domain.model;
+
+import java.time.Instant;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled mapping from role (group) codes to the permission codes granted by each role.
+ *
+ * <p>Every distinct permission code gets a bit index; each role is stored as a {@link BitSet} over
+ * those indexes. The permissions of a user are the union of the bitsets of the user's roles, so
+ * they can be computed locally without asking the permission source.
+ *
+ * <p>Unions are memoized per role combination, so users with the same roles share one permission
+ * set instance for as long as the matrix is in use.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public final class RolePermissionMatrix {
+    /** Maximum number of role combinations whose unions are memoized */
+    private static final int MAX_MEMOIZED_UNIONS = 4096;
+
+    private final String version;
+    private final Instant loadedAt;
+    private final String[] codes;
+    private final Map<String, Integer> codeIndex;
+    private final Map<String, BitSet> roleBits;
+    private final BitSet wildcardBits;
+    private final Map<List<String>, Set<String>> unions = new ConcurrentHashMap<>();
+
+    private RolePermissionMatrix(
+            String version,
+            Instant loadedAt,
+            String[] codes,
+            Map<String, Integer> codeIndex,
+            Map<String, BitSet> roleBits) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.codes = codes;
+        this.codeIndex = codeIndex;
+        this.roleBits = roleBits;
+
+        this.wildcardBits = new BitSet(codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            if (WildcardPermissionSet.isWildcard(codes[i])) {
+                wildcardBits.set(i);
+            }
+        }
+    }
+
+    /**
+     * Compiles a matrix from role to permission code mappings.
+     *
+     * @param version version of the source data (e.g. an ETag), nullable
+     * @param loadedAt when the source data was loaded
+     * @param permissionsByRole permission codes granted by each role code
+     * @return the compiled matrix
+     */
+    public static RolePermissionMatrix compile(
+            String version, Instant loadedAt, Map<String, ? extends Collection<String>> permissionsByRole) {
+        Map<String, Integer> codeIndex = new HashMap<>();
+        Map<String, BitSet> roleBits = new HashMap<>();
+
+        for (Map.Entry<String, ? extends Collection<String>> entry : permissionsByRole.entrySet()) {
+            BitSet bits = new BitSet();
+            for (String code : entry.getValue()) {
+                Integer index = codeIndex.get(code);
+                if (index == null) {
+                    index = codeIndex.size();
+                    codeIndex.put(code, index);
+                }
+                bits.set(index);
+            }
+            roleBits.put(entry.getKey(), bits);
+        }
+
+        String[] codes = new String[codeIndex.size()];
+        codeIndex.forEach((code, index) -> codes[index] = code);
+
+        return new RolePermissionMatrix(
+                version, loadedAt, codes, Map.copyOf(codeIndex), Map.copyOf(roleBits));
+    }
+
+    /** Version of the source data, null if the source does not version it */
+    public String getVersion() {
+        return version;
+    }
+
+    /** When the source data was loaded */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /** Number of roles in the matrix */
+    public int getRoleCount() {
+        return roleBits.size();
+    }
+
+    /** Number of distinct permission codes in the matrix */
+    public int getPermissionCount() {
+        return codes.length;
+    }
+
+    /**
+     * Computes the permissions granted by a set of roles.
+     *
+     * @param roles role codes of the user; unknown roles grant nothing
+     * @return read-only set of permission codes, wildcard grants compiled
+     */
+    public Set<String> permissionsFor(Collection<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<String> key = roles instanceof List<String> list ? list : new ArrayList<>(roles);
+        Set<String> permissions = unions.get(key);
+        if (permissions == null) {
+            permissions = union(key);
+            if (unions.size() < MAX_MEMOIZED_UNIONS) {
+                Set<String> existing = unions.putIfAbsent(Collections.unmodifiableList(new ArrayList<>(key)), permissions);
+                if (existing != null) {
+                    permissions = existing;
+                }
+            }
+        }
+        return permissions;
+    }
+
+    private Set<String> union(Collection<String> roles) {
+        BitSet union = null;
+        for (String role : roles) {
+            BitSet bits = role != null ? roleBits.get(role) : null;
+            if (bits == null) {
+                continue;
+            }
+            if (union == null) {
+                union = (BitSet) bits.clone();
+            } else {
+                union.or(bits);
+            }
+        }
+
+        if (union == null || union.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> permissions = new PermissionBitSet(union);
+        return union.intersects(wildcardBits) ? WildcardPermissionSet.of(permissions) : permissions;
+    }
+
+    /** Read-only view of permission codes backed by a bitset over the matrix code table */
+    private final class PermissionBitSet extends AbstractSet<String> {
+        private final BitSet bits;
+        private final int size;
+
+        private PermissionBitSet(BitSet bits) {
+            this.bits = bits;
+            this.size = bits.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String code)) {
+                return false;
+            }
+            Integer index = codeIndex.get(code);
+            return index != null && bits.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    String code = codes[next];
+                    next = bits.nextSetBit(next + 1);
+                    return code;
+                }
+            };
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Value;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Domain model representing the authenticated user context.
@@ -25,6 +26,9 @@ public class UserContext {
     /** Full name of the user */
     String fullName;
 
+    /** Issuer of the token ("iss" claim, nullable) */
+    String issuer;
+
     /** Raw JWT token for propagating to downstream services */
     String rawToken;
 
@@ -44,6 +48,9 @@ public class UserContext {
      */
     @Builder.Default List<String> roles = List.of();
 
+    /** Extra claims by attribute name, as declared in the claim mapping of the issuer */
+    @Builder.Default Map<String, Object> attributes = Map.of();
+
     /**
      * Checks if the user has a specific role.
      *
@@ -0,0 +1,141 @@
+package com.a1a.shared.auth.domain.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Permission set that understands wildcard grants.
+ *
+ * <p>Permission codes are hierarchical ({@code FAB_PRD_INV_FABRIC_VIEW}), so a grant ending in
+ * {@code *} covers every code starting with the part before it: {@code FAB_PRD_INV_*} covers
+ * {@code FAB_PRD_INV_FABRIC_VIEW}, {@code FAB_*} covers all fabric permissions and {@code *}
+ * covers everything.
+ *
+ * <p>Wildcard grants are compiled into a prefix trie, so {@link #contains(Object)} costs one hash
+ * lookup plus at most one step per character of the checked code, independent of the number of
+ * grants. Iteration and {@link #size()} reflect the grants as received, wildcards included.
+ */
+public final class WildcardPermissionSet extends AbstractSet<String> {
+    /** Suffix marking a wildcard grant */
+    public static final char WILDCARD = '*';
+
+    private final Set<String> grants;
+    private final Node wildcards;
+
+    private WildcardPermissionSet(Set<String> grants, Node wildcards) {
+        this.grants = grants;
+        this.wildcards = wildcards;
+    }
+
+    /**
+     * Compiles a set of grants.
+     *
+     * @param grants permission codes, possibly ending in {@code *}
+     * @return the grants themselves if none is a wildcard, a compiled set otherwise
+     */
+    public static Set<String> of(Collection<String> grants) {
+        boolean hasWildcard = false;
+        for (String grant : grants) {
+            if (isWildcard(grant)) {
+                hasWildcard = true;
+                break;
+            }
+        }
+        if (!hasWildcard) {
+            return grants instanceof Set<String> set ? set : Set.copyOf(grants);
+        }
+
+        Node root = new Node();
+        for (String grant : grants) {
+            if (isWildcard(grant)) {
+                root.insert(grant, grant.length() - 1);
+            }
+        }
+
+        return new WildcardPermissionSet(
+                grants instanceof Set<String> set ? set : Set.copyOf(grants), root);
+    }
+
+    /** Checks if a grant is a wildcard grant */
+    public static boolean isWildcard(String grant) {
+        return grant != null && !grant.isEmpty() && grant.charAt(grant.length() - 1) == WILDCARD;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String code)) {
+            return false;
+        }
+        return grants.contains(code) || wildcards.matchesPrefixOf(code);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return grants.iterator();
+    }
+
+    @Override
+    public int size() {
+        return grants.size();
+    }
+
+    /** Trie node; children are kept in small parallel arrays as codes use few distinct characters */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        void insert(String grant, int prefixLength) {
+            Node node = this;
+            for (int i = 0; i < prefixLength && !node.terminal; i++) {
+                node = node.childOrCreate(grant.charAt(i));
+            }
+            // A shorter wildcard already covers everything below this node
+            node.terminal = true;
+            node.keys = new char[0];
+            node.children = new Node[0];
+        }
+
+        boolean matchesPrefixOf(String code) {
+            Node node = this;
+            int length = code.length();
+            for (int i = 0; ; i++) {
+                if (node.terminal) {
+                    return true;
+                }
+                if (i == length) {
+                    return false;
+                }
+                node = node.child(code.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+
+        private Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                int n = keys.length;
+                keys = Arrays.copyOf(keys, n + 1);
+                children = Arrays.copyOf(children, n + 1);
+                keys[n] = key;
+                children[n] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.a1a.shared.auth.infrastructure.actuator;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.a1a.shared.auth.infrastructure.resilience.CircuitBreaker;
+import com.a1a.shared.auth.infrastructure.resilience.ResilientGatewayPermissionClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/auth} for operating the auth caches.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/auth} - key ring, permission cache and Gateway circuit state
+ *   <li>{@code POST /actuator/auth/keys} - fetch the JWKS keys now
+ *   <li>{@code DELETE /actuator/auth/permissions} - drop the cached permissions of all users
+ *   <li>{@code DELETE /actuator/auth/permissions/{userId}} - drop the cached permissions of one
+ *       user
+ * </ul>
+ *
+ * <p>Like every actuator endpoint it has to be exposed explicitly
+ * (management.endpoints.web.exposure.include=auth). The write operations change authorization
+ * state, so the actuator paths should be protected by the application's security configuration.
+ */
+@Slf4j
+@Endpoint(id = "auth")
+public class AuthEndpoint {
+    private static final String KEYS = "keys";
+    private static final String PERMISSIONS = "permissions";
+
+    /** Number of permission cache entries measured for the memory estimate */
+    private static final int MEMORY_SAMPLE_SIZE = 64;
+
+    private final JwksPort jwksPort;
+    private final CachePort<AccountKey, PermissionSnapshot> permissionCache;
+    private final PermissionLoaderUseCase permissionLoader;
+    private final GatewayPermissionClientUseCase gatewayPermissionClient;
+
+    /**
+     * @param jwksPort JWKS keys, nullable
+     * @param permissionCache cache of loaded permission sets, nullable
+     * @param permissionLoader loader to invalidate users with, nullable
+     * @param gatewayPermissionClient Gateway client, nullable
+     */
+    public AuthEndpoint(
+            JwksPort jwksPort,
+            CachePort<AccountKey, PermissionSnapshot> permissionCache,
+            PermissionLoaderUseCase permissionLoader,
+            GatewayPermissionClientUseCase gatewayPermissionClient) {
+        this.jwksPort = jwksPort;
+        this.permissionCache = permissionCache;
+        this.permissionLoader = permissionLoader;
+        this.gatewayPermissionClient = gatewayPermissionClient;
+    }
+
+    @ReadOperation
+    public AuthDescriptor auth() {
+        return new AuthDescriptor(keyRing(), permissionCache(), gateway());
+    }
+
+    /** Fetch the JWKS keys, bypassing the key cache */
+    @WriteOperation
+    public KeyRingDescriptor refresh(@Selector String target) {
+        requireTarget(target, KEYS);
+        if (jwksPort == null) {
+            throw new IllegalStateException("JWKS verification is not configured");
+        }
+        log.info("Refreshing JWKS keys on request of the auth endpoint");
+        jwksPort.refreshKeys();
+        return keyRing();
+    }
+
+    /** Drop the cached permissions of all users */
+    @DeleteOperation
+    public PermissionCacheDescriptor invalidateAll(@Selector String target) {
+        requireTarget(target, PERMISSIONS);
+        if (permissionCache != null) {
+            log.info("Clearing the permission cache on request of the auth endpoint");
+            permissionCache.clear();
+        }
+        return permissionCache();
+    }
+
+    /** Drop the cached permissions of one user */
+    @DeleteOperation
+    public PermissionCacheDescriptor invalidate(@Selector String target, @Selector Long userId) {
+        requireTarget(target, PERMISSIONS);
+        if (permissionLoader != null) {
+            log.info("Invalidating permissions of user {} on request of the auth endpoint", userId);
+            permissionLoader.invalidate(userId);
+        }
+        return permissionCache();
+    }
+
+    private KeyRingDescriptor keyRing() {
+        if (jwksPort == null) {
+            return null;
+        }
+        return jwksPort.getKeyRing()
+                .map(
+                        ring -> new KeyRingDescriptor(
+                                ring.getKeys().stream()
+                                        .map(
+                                                key -> new KeyDescriptor(
+                                                        key.getKeyId(),
+                                                        key.getAlgorithm(),
+                                                        key.getPublicKey().getModulus().bitLength()))
+                                        .toList(),
+                                ring.getFetchedAt(),
+                                ring.getExpiresAt(),
+                                ring.isValidAt(Instant.now())))
+                .orElseGet(() -> new KeyRingDescriptor(List.of(), null, null, false));
+    }
+
+    private PermissionCacheDescriptor permissionCache() {
+        if (!(permissionCache instanceof CaffeineAdapter<AccountKey, PermissionSnapshot> adapter)) {
+            // Size and statistics are only known for the built-in Caffeine cache
+            return new PermissionCacheDescriptor(permissionCache != null, null, null, null);
+        }
+        Cache<AccountKey, PermissionSnapshot> cache = adapter.getCache();
+        long size = cache.estimatedSize();
+        CacheStats stats = cache.stats();
+        return new PermissionCacheDescriptor(
+                true,
+                size,
+                stats.requestCount() > 0 ? stats.hitRate() : null,
+                estimateBytes(cache, size));
+    }
+
+    /**
+     * Rough retained size of the cache: the average of a sample of entries times the entry count.
+     * Permission code strings shared between entries are counted for each entry.
+     */
+    private static long estimateBytes(Cache<AccountKey, PermissionSnapshot> cache, long size) {
+        long sampledBytes = 0;
+        int sampled = 0;
+        Iterator<PermissionSnapshot> values = cache.asMap().values().iterator();
+        while (sampled < MEMORY_SAMPLE_SIZE && values.hasNext()) {
+            sampledBytes += estimateBytes(values.next());
+            sampled++;
+        }
+        return sampled == 0 ? 0 : sampledBytes / sampled * size;
+    }
+
+    /** Cache node, Long key, snapshot, Instant and set, plus a hash node and a String per code */
+    private static long estimateBytes(PermissionSnapshot snapshot) {
+        long bytes = 48 + 16 + 16 + 24 + 48;
+        for (String code : snapshot.getPermissions()) {
+            bytes += 32 + 4 + 24 + 16 + code.length();
+        }
+        return bytes;
+    }
+
+    private GatewayDescriptor gateway() {
+        if (!(gatewayPermissionClient instanceof ResilientGatewayPermissionClient client)) {
+            return new GatewayDescriptor(gatewayPermissionClient != null, null, null, null);
+        }
+        CircuitBreaker circuitBreaker = client.getCircuitBreaker();
+        return new GatewayDescriptor(
+                true,
+                circuitBreaker.getState().name(),
+                circuitBreaker.getRejectedCallCount(),
+                client.getBulkhead().getAvailableSlots());
+    }
+
+    private static void requireTarget(String target, String expected) {
+        if (!expected.equals(target)) {
+            throw new InvalidEndpointRequestException(
+                    "Unknown auth endpoint target: " + target, "Expected '" + expected + "'");
+        }
+    }
+
+    /** State reported by {@code GET /actuator/auth} */
+    public record AuthDescriptor(
+            KeyRingDescriptor keyRing, PermissionCacheDescriptor permissionCache, GatewayDescriptor gateway) {}
+
+    /** JWKS keys fetched most recently */
+    public record KeyRingDescriptor(List<KeyDescriptor> keys, Instant fetchedAt, Instant expiresAt, boolean valid) {}
+
+    /** Public signing key */
+    public record KeyDescriptor(String kid, String alg, int bits) {}
+
+    /**
+     * Permission cache; size, hit ratio and memory estimate are null when unknown.
+     *
+     * @param hitRatio null until statistics were recorded, see app.auth.metrics.cache-statistics
+     */
+    public record PermissionCacheDescriptor(boolean present, Long size, Double hitRatio, Long estimatedBytes) {}
+
+    /** Permission Gateway; the circuit fields are null without app.auth.permission.resilience */
+    public record GatewayDescriptor(
+            boolean present, String circuitState, Long rejectedCalls, Integer availableSlots) {}
+}
@@ -0,0 +1,66 @@
+package com.a1a.shared.auth.infrastructure.actuator;
+
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.infrastructure.resilience.CircuitBreaker;
+import com.a1a.shared.auth.infrastructure.resilience.ResilientGatewayPermissionClient;
+
+import org.springframework.boot.actuate.health.Health;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Reachability of the permission Gateway.
+ *
+ * <p>The probe sends an unauthenticated request to the permission URL, at most once per interval:
+ * any answer below 500 (typically 401) shows that the Gateway is up. While the circuit breaker of
+ * the Gateway client is open, the Gateway is reported down without probing.
+ */
+public class GatewayHealthIndicator extends ProbedHealthIndicator {
+    private final HttpClientPort httpClient;
+    private final String url;
+    private final Duration timeout;
+    private final GatewayPermissionClientUseCase gatewayPermissionClient;
+
+    /**
+     * @param httpClient client to probe the Gateway with
+     * @param url permission URL of the Gateway
+     * @param timeout maximum time to wait for the Gateway
+     * @param gatewayPermissionClient client whose circuit state is reported, nullable
+     * @param interval minimum time between two probes
+     */
+    public GatewayHealthIndicator(
+            HttpClientPort httpClient,
+            String url,
+            Duration timeout,
+            GatewayPermissionClientUseCase gatewayPermissionClient,
+            Duration interval) {
+        super(interval);
+        this.httpClient = httpClient;
+        this.url = url;
+        this.timeout = timeout;
+        this.gatewayPermissionClient = gatewayPermissionClient;
+    }
+
+    @Override
+    public Health health() {
+        if (gatewayPermissionClient instanceof ResilientGatewayPermissionClient client
+                && client.getCircuitBreaker().getState() == CircuitBreaker.State.OPEN) {
+            return Health.down().withDetail("circuit", CircuitBreaker.State.OPEN.name()).build();
+        }
+        return super.health();
+    }
+
+    @Override
+    protected Health.Builder probe() {
+        Integer status = httpClient
+                .get(url, Map.of(), Void.class)
+                .map(HttpClientPort.Response::status)
+                .block(timeout);
+        if (status == null) {
+            return Health.down().withDetail("reason", "No response");
+        }
+        return (status < 500 ? Health.up() : Health.down()).withDetail("status", status);
+    }
+}
@@ -0,0 +1,53 @@
+package com.a1a.shared.auth.infrastructure.actuator;
+
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.domain.model.KeyRing;
+
+import org.springframework.boot.actuate.health.Health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Readiness of JWT verification: up only while a valid key ring is loaded.
+ *
+ * <p>A loaded, unexpired key ring is reported without any network call. Otherwise the probe
+ * fetches the keys, at most once per interval, so a pod that is held out of rotation warms itself
+ * up without hammering the JWKS endpoint.
+ */
+public class JwksHealthIndicator extends ProbedHealthIndicator {
+    private final JwksPort jwksPort;
+
+    /**
+     * @param interval minimum time between two JWKS fetches of the probe
+     */
+    public JwksHealthIndicator(JwksPort jwksPort, Duration interval) {
+        super(interval);
+        this.jwksPort = jwksPort;
+    }
+
+    @Override
+    public Health health() {
+        Optional<KeyRing> keyRing = jwksPort.getKeyRing();
+        if (keyRing.isPresent() && keyRing.get().isValidAt(Instant.now())) {
+            return describe(Health.up(), keyRing.get()).build();
+        }
+        return super.health();
+    }
+
+    @Override
+    protected Health.Builder probe() {
+        jwksPort.refreshKeys();
+        return jwksPort.getKeyRing()
+                .filter(ring -> ring.isValidAt(Instant.now()))
+                .map(ring -> describe(Health.up(), ring))
+                .orElseGet(() -> Health.down().withDetail("reason", "No valid JWKS key ring"));
+    }
+
+    private static Health.Builder describe(Health.Builder builder, KeyRing keyRing) {
+        return builder.withDetail("keys", keyRing.getKeys().size())
+                .withDetail("fetchedAt", keyRing.getFetchedAt())
+                .withDetail("expiresAt", keyRing.getExpiresAt());
+    }
+}
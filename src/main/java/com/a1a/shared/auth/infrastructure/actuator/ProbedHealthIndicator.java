@@ -0,0 +1,62 @@
+package com.a1a.shared.auth.infrastructure.actuator;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Health indicator whose probe result is cached.
+ *
+ * <p>At most one probe runs per interval, however often Kubernetes or a monitoring system asks;
+ * calls in between, and calls made while a probe is running, get the previous result. The probe
+ * duration and time are added to the details.
+ */
+public abstract class ProbedHealthIndicator implements HealthIndicator {
+    private final long intervalNanos;
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private volatile Health last;
+    private volatile long lastProbeNanos;
+
+    /**
+     * @param interval minimum time between two probes
+     */
+    protected ProbedHealthIndicator(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        Health current = last;
+        if ((current == null || System.nanoTime() - lastProbeNanos >= intervalNanos)
+                && probing.compareAndSet(false, true)) {
+            try {
+                current = probeTimed();
+                last = current;
+            } finally {
+                lastProbeNanos = System.nanoTime();
+                probing.set(false);
+            }
+        }
+        return current != null ? current : Health.unknown().withDetail("probe", "in progress").build();
+    }
+
+    /** Probe the dependency; called at most once per interval */
+    protected abstract Health.Builder probe();
+
+    private Health probeTimed() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        try {
+            builder = probe();
+        } catch (RuntimeException e) {
+            builder = Health.down(e);
+        }
+        return builder.withDetail("latencyMs", (System.nanoTime() - start) / 1_000_000)
+                .withDetail("checkedAt", Instant.now())
+                .build();
+    }
+}
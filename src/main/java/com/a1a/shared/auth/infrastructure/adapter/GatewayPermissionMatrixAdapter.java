@@ -0,0 +1,118 @@
+package com.a1a.shared.auth.infrastructure.adapter;
+
+import com.a1a.shared.auth.application.dto.GatewayPermissionResponse;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driven.PermissionMatrixPort;
+import com.a1a.shared.auth.domain.exception.GatewayUnavailableException;
+import com.a1a.shared.auth.domain.exception.PermissionException;
+import com.a1a.shared.auth.domain.model.RolePermissionMatrix;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Adapter for downloading the role to permission matrix from the Gateway.
+ *
+ * <p>
+ * The matrix endpoint returns the same payload as the per-user permission
+ * endpoint, but for all groups: one entry per (groupCode, permissionCode) pair.
+ *
+ * <p>
+ * Downloads are conditional: the ETag of the last matrix is sent as
+ * {@code If-None-Match}, and a {@code 304 Not Modified} answer means the held
+ * matrix is still current.
+ */
+@Slf4j
+public class GatewayPermissionMatrixAdapter implements PermissionMatrixPort {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final HttpClientPort httpClient;
+    private final AuthProperties.MatrixConfig matrixConfig;
+
+    /**
+     * @param httpClient client with the Gateway connect and read timeouts
+     */
+    public GatewayPermissionMatrixAdapter(HttpClientPort httpClient, AuthProperties authProperties) {
+        this.httpClient = httpClient;
+        this.matrixConfig = authProperties.getPermission().getMatrix();
+    }
+
+    @Override
+    public Optional<RolePermissionMatrix> fetchMatrix(String currentVersion) {
+        try {
+            log.debug("Fetching permission matrix from: {}", matrixConfig.getUrl());
+
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Accept", "application/json");
+            if (currentVersion != null) {
+                headers.put("If-None-Match", currentVersion);
+            }
+            if (matrixConfig.getToken() != null) {
+                headers.put("Authorization", "Bearer " + matrixConfig.getToken());
+            }
+
+            HttpClientPort.Response<GatewayPermissionResponse> response = httpClient
+                    .get(matrixConfig.getUrl(), headers, GatewayPermissionResponse.class)
+                    .block();
+
+            if (response == null || response.status() == NOT_MODIFIED) {
+                log.debug("Permission matrix unchanged (version {})", currentVersion);
+                return Optional.empty();
+            }
+
+            if (!response.isSuccessful()) {
+                log.error("Gateway API returned error for permission matrix: {}", response.status());
+                if (response.status() >= 500) {
+                    throw new GatewayUnavailableException("Failed to load permission matrix from Gateway");
+                }
+                throw new PermissionException("Failed to load permission matrix from Gateway");
+            }
+
+            return Optional.of(compile(response.etag(), response.body()));
+
+        } catch (PermissionException e) {
+            throw e;
+
+        } catch (Exception e) {
+            // Network, timeout, or other errors
+            log.error("Failed to fetch permission matrix: {}", e.getMessage());
+            throw new GatewayUnavailableException("Failed to load permission matrix from Gateway", e);
+        }
+    }
+
+    /** Group the (groupCode, permissionCode) pairs by group and compile them */
+    private RolePermissionMatrix compile(String version, GatewayPermissionResponse response) {
+        if (response == null || response.getData() == null) {
+            throw new PermissionException("Empty permission matrix response from Gateway");
+        }
+        if (response.getCode() != null && response.getCode() != 200) {
+            throw new PermissionException("Gateway API error: " + response.getMessage());
+        }
+
+        Map<String, Set<String>> permissionsByRole = new HashMap<>();
+        for (GatewayPermissionResponse.PermissionData entry : response.getData()) {
+            if (entry.getGroupCode() == null || entry.getPermissionCode() == null) {
+                continue;
+            }
+            permissionsByRole
+                    .computeIfAbsent(entry.getGroupCode(), group -> new HashSet<>())
+                    .add(entry.getPermissionCode());
+        }
+
+        RolePermissionMatrix matrix = RolePermissionMatrix.compile(version, Instant.now(), permissionsByRole);
+        log.info(
+                "Fetched permission matrix version {}: {} roles, {} permissions",
+                version,
+                matrix.getRoleCount(),
+                matrix.getPermissionCount());
+        return matrix;
+    }
+}
@@ -1,25 +1,28 @@
 package com.a1a.shared.auth.infrastructure.adapter;
 
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
 import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
 import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driven.ReactiveJwksPort;
 
+import com.a1a.shared.auth.domain.model.KeyRing;
 import com.a1a.shared.auth.infrastructure.config.AuthProperties;
-import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
 import java.math.BigInteger;
 import java.security.KeyFactory;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.RSAPublicKeySpec;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Adapter for fetching RSA public keys from JWKS endpoint.
@@ -32,30 +35,67 @@ import java.util.Map;
  * <li>Caches keys to minimize network calls
  * <li>Supports RS256 algorithm (RSA with SHA-256)
  * </ul>
+ *
+ * <p>
+ * Fetches are non-blocking ({@link ReactiveJwksPort}); the blocking
+ * {@link JwksPort} methods wait for the same fetch.
  */
 @Slf4j
-public class JwksAdapter implements JwksPort {
+public class JwksAdapter implements JwksPort, ReactiveJwksPort {
     private static final String CACHE_KEY = "rsa_public_key";
+    private static final Map<String, String> HEADERS = Map.of("Accept", "application/json");
 
-    private final WebClient webClient;
+    private final HttpClientPort httpClient;
     private final CachePort<String, RSAPublicKey> keyCache;
-    private final AuthProperties authProperties;
+    private final String jwksUrl;
+    private final Duration ttl;
+    private final AuthMetricsPort metrics;
 
+    private volatile KeyRing keyRing;
+    private volatile Mono<KeyRing> inFlight;
+
+    /**
+     * @param httpClient client with the JWKS connect and read timeouts
+     */
     public JwksAdapter(
-            WebClient.Builder webClientBuilder,
+            HttpClientPort httpClient,
             CachePort<String, RSAPublicKey> keyCache,
             AuthProperties authProperties) {
-        this.keyCache = keyCache;
-        this.authProperties = authProperties;
+        this(httpClient, keyCache, authProperties, AuthMetricsPort.NONE);
+    }
 
-        // Configure timeouts using Reactor Netty HttpClient
-        HttpClient httpClient = HttpClient.create()
-                .option(
-                        ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                        (int) authProperties.getJwks().getConnectTimeout().toMillis())
-                .responseTimeout(authProperties.getJwks().getReadTimeout());
+    /**
+     * @param httpClient client with the JWKS connect and read timeouts
+     * @param metrics recipient of the duration and outcome of each JWKS fetch
+     */
+    public JwksAdapter(
+            HttpClientPort httpClient,
+            CachePort<String, RSAPublicKey> keyCache,
+            AuthProperties authProperties,
+            AuthMetricsPort metrics) {
+        this(httpClient, authProperties.getJwksUrl(), authProperties.getCache().getTtl(), keyCache, metrics);
+    }
 
-        this.webClient = webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    /**
+     * Adapter for one of several JWKS endpoints, e.g. of a trusted issuer.
+     *
+     * @param httpClient client with the JWKS connect and read timeouts
+     * @param jwksUrl JWKS endpoint
+     * @param ttl time the fetched keys are used
+     * @param keyCache cache of this endpoint's key, not shared with other endpoints
+     * @param metrics recipient of the duration and outcome of each JWKS fetch
+     */
+    public JwksAdapter(
+            HttpClientPort httpClient,
+            String jwksUrl,
+            Duration ttl,
+            CachePort<String, RSAPublicKey> keyCache,
+            AuthMetricsPort metrics) {
+        this.httpClient = httpClient;
+        this.jwksUrl = jwksUrl;
+        this.ttl = ttl;
+        this.keyCache = keyCache;
+        this.metrics = metrics;
     }
 
     @Override
@@ -73,42 +113,139 @@ public class JwksAdapter implements JwksPort {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void refreshKeys() {
-        try {
-            String jwksUrl = authProperties.getJwksUrl();
-            log.info("Fetching keys from JWKS endpoint: {}", jwksUrl);
-
-            // Fetch JWKS response using WebClient
-            Map<String, Object> response = webClient
-                    .get()
-                    .uri(jwksUrl)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(); // Block to maintain synchronous behavior
-
-            if (response == null) {
-                throw new RuntimeException("JWKS endpoint returned null response");
-            }
+        reloadKeys().block(); // Block to maintain synchronous behavior
+    }
 
-            // Extract RSA public key
-            RSAPublicKey publicKey = extractRSAPublicKey(response);
+    @Override
+    public Mono<RSAPublicKey> publicKey() {
+        return Mono.defer(
+                () -> keyCache.get(CACHE_KEY)
+                        .map(Mono::just)
+                        .orElseGet(
+                                () -> {
+                                    log.info("RSA public key not in cache, fetching from JWKS endpoint");
+                                    return reloadKeys().map(KeyRing::primaryKey);
+                                }));
+    }
 
-            // Cache the key
-            Duration ttl = authProperties.getCache().getTtl();
-            keyCache.put(CACHE_KEY, publicKey, ttl);
+    /**
+     * Fetch the keys without blocking. Concurrent callers share a single request, so a cold
+     * cache under load results in one JWKS call.
+     */
+    @Override
+    public Mono<KeyRing> reloadKeys() {
+        return Mono.defer(
+                () -> {
+                    Mono<KeyRing> current = inFlight;
+                    if (current != null) {
+                        return current;
+                    }
+                    synchronized (this) {
+                        if (inFlight == null) {
+                            inFlight = timed(fetchKeys())
+                                    .doFinally(signal -> inFlight = null)
+                                    .cache();
+                        }
+                        return inFlight;
+                    }
+                });
+    }
 
-            log.info("RSA public key cached successfully with TTL: {}", ttl);
+    /** Report the duration of the fetch to the metrics port, if enabled */
+    private Mono<KeyRing> timed(Mono<KeyRing> fetch) {
+        if (!metrics.isEnabled()) {
+            return fetch;
+        }
+        return Mono.defer(
+                () -> {
+                    long start = System.nanoTime();
+                    return fetch.doOnSuccess(ring -> metrics.jwksRefreshed(System.nanoTime() - start, true))
+                            .doOnError(ex -> metrics.jwksRefreshed(System.nanoTime() - start, false));
+                });
+    }
 
-        } catch (Exception ex) {
-            log.error("Failed to refresh keys from JWKS endpoint", ex);
-            throw new RuntimeException("Failed to fetch JWKS", ex);
+    @SuppressWarnings("unchecked")
+    private Mono<KeyRing> fetchKeys() {
+        log.info("Fetching keys from JWKS endpoint: {}", jwksUrl);
+
+        return httpClient
+                .get(jwksUrl, HEADERS, Map.class)
+                .flatMap(
+                        response -> {
+                            if (!response.isSuccessful()) {
+                                return Mono.error(new RuntimeException(
+                                        "JWKS endpoint returned status " + response.status()));
+                            }
+                            return Mono.justOrEmpty(response.body());
+                        })
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("JWKS endpoint returned null response")))
+                .map(
+                        response -> {
+                            // Extract RSA public keys
+                            Instant fetchedAt = Instant.now();
+                            KeyRing fetched = new KeyRing(
+                                    extractRSAPublicKeys((Map<String, Object>) response),
+                                    fetchedAt,
+                                    fetchedAt.plus(ttl));
+
+                            // Cache the primary key
+                            keyRing = fetched;
+                            keyCache.put(CACHE_KEY, fetched.primaryKey(), ttl);
+
+                            log.info("RSA public key cached successfully with TTL: {}", ttl);
+                            return fetched;
+                        })
+                .onErrorMap(
+                        ex -> {
+                            log.error("Failed to refresh keys from JWKS endpoint", ex);
+                            return new RuntimeException("Failed to fetch JWKS", ex);
+                        });
+    }
+
+    @Override
+    public Optional<KeyRing> getKeyRing() {
+        return Optional.ofNullable(keyRing);
+    }
+
+    /**
+     * Serve the restored keys while they are fetched again in the background; the fetched keys
+     * replace them, or they are served for the configured TTL if the fetch fails.
+     */
+    @Override
+    public void restoreKeyRing(KeyRing restored) {
+        synchronized (this) {
+            if (keyRing != null || restored.getKeys().isEmpty()) {
+                return;
+            }
+            keyRing = new KeyRing(restored.getKeys(), restored.getFetchedAt(), Instant.now().plus(ttl));
+            keyCache.put(CACHE_KEY, restored.primaryKey(), ttl);
         }
+        List<String> keyIds = keyIds(restored);
+        log.info("Restored {} JWKS key(s) {}, fetching the keys from the JWKS endpoint", keyIds.size(), keyIds);
+        reloadKeys()
+                .subscribe(
+                        fetched -> {
+                            List<String> fetchedIds = keyIds(fetched);
+                            if (fetchedIds.equals(keyIds)) {
+                                log.debug("JWKS keys confirm the restored keys {}", keyIds);
+                            } else {
+                                log.info("JWKS keys were rotated since the snapshot: {} -> {}", keyIds, fetchedIds);
+                            }
+                        },
+                        ex -> log.warn(
+                                "Failed to fetch JWKS keys after restoring them, serving the restored keys for {}: {}",
+                                ttl,
+                                ex.getMessage()));
+    }
+
+    private static List<String> keyIds(KeyRing ring) {
+        return ring.getKeys().stream().map(KeyRing.SigningKey::getKeyId).toList();
     }
 
-    /** Extract RSA public key from JWKS response. */
+    /** Extract RSA public keys from JWKS response, in published order. */
     @SuppressWarnings("unchecked")
-    private RSAPublicKey extractRSAPublicKey(Map<String, Object> response) {
+    private List<KeyRing.SigningKey> extractRSAPublicKeys(Map<String, Object> response) {
         try {
             // JWKS format: { "keys": [ { "kty": "RSA", "alg": "RS256", "n": "...", "e": "..." } ] }
             if (!response.containsKey("keys")) {
@@ -125,7 +262,8 @@ public class JwksAdapter implements JwksPort {
                 throw new RuntimeException("JWKS 'keys' array is empty");
             }
 
-            // Find RSA key (typically RS256)
+            // Find RSA keys (typically RS256)
+            List<KeyRing.SigningKey> signingKeys = new ArrayList<>();
             for (Map<String, Object> key : keys) {
                 String kty = (String) key.get("kty");
                 String alg = (String) key.get("alg");
@@ -150,10 +288,14 @@ public class JwksAdapter implements JwksPort {
                     RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(spec);
 
                     log.info("Successfully extracted RSA public key with algorithm: {}", alg);
-                    return publicKey;
+                    signingKeys.add(new KeyRing.SigningKey((String) key.get("kid"), alg, publicKey));
                 }
             }
 
+            if (!signingKeys.isEmpty()) {
+                return List.copyOf(signingKeys);
+            }
+
             throw new RuntimeException(
                     "Could not find RSA public key in JWKS response. Response: " + response);
 
@@ -162,5 +304,3 @@ public class JwksAdapter implements JwksPort {
         }
     }
 }
-
-
@@ -0,0 +1,76 @@
+package com.a1a.shared.auth.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+/**
+ * Checks for local files holding security state (snapshots, audit logs).
+ *
+ * <p>A file is only used when nobody but the process user can have planted or changed it: it must
+ * not be a symbolic link, must be owned by the process user and must not be writable by group or
+ * others. Its directory must be owned by the process user or root and must not be writable by
+ * group or others either, so the file cannot be replaced. Permission checks are skipped on file
+ * systems without POSIX attributes.
+ */
+public final class PrivateFiles {
+    private static final String ROOT = "root";
+
+    private PrivateFiles() {}
+
+    /**
+     * @param file file to check, may not exist yet
+     * @throws IOException if the file or its directory could have been written by another user
+     */
+    public static void check(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path directory = absolute.getParent();
+        if (directory != null && Files.exists(directory)) {
+            PosixFileAttributes attributes = posixAttributes(directory);
+            if (attributes != null) {
+                String owner = attributes.owner().getName();
+                if (!owner.equals(processUser()) && !owner.equals(ROOT)) {
+                    throw new IOException("Directory " + directory + " is owned by " + owner);
+                }
+                checkNotShared(directory, attributes.permissions());
+            }
+        }
+
+        if (!Files.exists(absolute, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        if (!Files.isRegularFile(absolute, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException(absolute + " is not a regular file");
+        }
+        PosixFileAttributes attributes = posixAttributes(absolute);
+        if (attributes != null) {
+            String owner = attributes.owner().getName();
+            if (!owner.equals(processUser())) {
+                throw new IOException("File " + absolute + " is owned by " + owner);
+            }
+            checkNotShared(absolute, attributes.permissions());
+        }
+    }
+
+    private static PosixFileAttributes posixAttributes(Path path) throws IOException {
+        PosixFileAttributeView view =
+                Files.getFileAttributeView(path, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+        return view != null ? view.readAttributes() : null;
+    }
+
+    private static void checkNotShared(Path path, Set<PosixFilePermission> permissions) throws IOException {
+        if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+                || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+            throw new IOException(path + " is writable by group or others");
+        }
+    }
+
+    private static String processUser() {
+        return System.getProperty("user.name");
+    }
+}
@@ -7,7 +7,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Caffeine-based in-memory cache adapter.
@@ -22,6 +24,11 @@ import java.util.Optional;
 public class CaffeineAdapter<K, V> implements CachePort<K, V> {
     private final Cache<K, V> cache;
 
+    /** Underlying Caffeine cache, e.g. for statistics */
+    public Cache<K, V> getCache() {
+        return cache;
+    }
+
     @Override
     public Optional<V> get(K key) {
         V value = cache.getIfPresent(key);
@@ -45,11 +52,22 @@ public class CaffeineAdapter<K, V> implements CachePort<K, V> {
         log.debug("Evicted key: {}", key);
     }
 
+    @Override
+    public void evictIf(Predicate<? super K> filter) {
+        cache.asMap().keySet().removeIf(filter);
+        log.debug("Evicted matching keys");
+    }
+
     @Override
     public void clear() {
         cache.invalidateAll();
         log.debug("Cache cleared");
     }
+
+    @Override
+    public Map<K, V> entries() {
+        return Map.copyOf(cache.asMap());
+    }
 }
 
 
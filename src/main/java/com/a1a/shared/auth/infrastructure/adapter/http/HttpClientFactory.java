@@ -0,0 +1,18 @@
+package com.a1a.shared.auth.infrastructure.adapter.http;
+
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+
+import java.time.Duration;
+
+/**
+ * Creates the {@link HttpClientPort} of each outbound integration, so the JWKS and Gateway clients
+ * get their own timeouts but share one HTTP stack.
+ */
+@FunctionalInterface
+public interface HttpClientFactory {
+    /**
+     * @param connectTimeout maximum time to establish a connection, null for the client default
+     * @param readTimeout maximum time to wait for the response, null for no limit
+     */
+    HttpClientPort create(Duration connectTimeout, Duration readTimeout);
+}
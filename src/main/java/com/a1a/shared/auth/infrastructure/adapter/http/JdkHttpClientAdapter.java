@@ -0,0 +1,102 @@
+package com.a1a.shared.auth.infrastructure.adapter.http;
+
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link HttpClientPort} on the JDK HTTP client ({@code java.net.http}), for servlet applications
+ * without WebFlux and Reactor Netty on the classpath.
+ *
+ * <p>Requests are sent asynchronously and negotiate HTTP/2 where the server supports it. Response
+ * handling runs on virtual threads instead of a platform thread pool, and bodies are bound with
+ * Jackson.
+ */
+public class JdkHttpClientAdapter implements HttpClientPort {
+    private static final Executor VIRTUAL_THREADS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("auth-http-", 0).factory());
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+
+    /**
+     * Client binding bodies with a default ObjectMapper that ignores unknown properties.
+     *
+     * @param connectTimeout maximum time to establish a connection, nullable
+     * @param readTimeout maximum time to wait for the response, nullable
+     */
+    public JdkHttpClientAdapter(Duration connectTimeout, Duration readTimeout) {
+        this(
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+                connectTimeout,
+                readTimeout);
+    }
+
+    /**
+     * @param objectMapper mapper to bind response bodies with
+     * @param connectTimeout maximum time to establish a connection, nullable
+     * @param readTimeout maximum time to wait for the response, nullable
+     */
+    public JdkHttpClientAdapter(ObjectMapper objectMapper, Duration connectTimeout, Duration readTimeout) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .executor(VIRTUAL_THREADS);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        this.httpClient = builder.build();
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public <T> Mono<Response<T>> get(String url, Map<String, String> headers, Class<T> bodyType) {
+        return Mono.fromCallable(() -> request(url, headers))
+                // Cancelling the Mono (e.g. the losing hedge) cancels the exchange
+                .flatMap(request -> Mono.fromFuture(
+                        () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())))
+                .map(response -> toResponse(url, response, bodyType));
+    }
+
+    private HttpRequest request(String url, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (readTimeout != null) {
+            request.timeout(readTimeout);
+        }
+        headers.forEach(request::header);
+        return request.build();
+    }
+
+    private <T> Response<T> toResponse(String url, HttpResponse<byte[]> response, Class<T> bodyType) {
+        HttpHeaders headers = response.headers();
+        byte[] bytes = response.body();
+        int status = response.statusCode();
+        String etag = headers.firstValue("ETag").orElse(null);
+        long contentLength = headers.firstValueAsLong("Content-Length")
+                .orElse(bytes != null ? bytes.length : -1);
+
+        boolean successful = status >= 200 && status < 300;
+        if (!successful || bodyType == Void.class || bytes == null || bytes.length == 0) {
+            return new Response<>(status, etag, contentLength, null);
+        }
+        try {
+            return new Response<>(status, etag, contentLength, objectMapper.readValue(bytes, bodyType));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response of " + url, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.a1a.shared.auth.infrastructure.adapter.http;
+
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+
+import io.netty.channel.ChannelOption;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@link HttpClientPort} on Spring WebClient with Reactor Netty, for applications that have
+ * WebFlux on the classpath anyway.
+ */
+public class WebClientHttpAdapter implements HttpClientPort {
+    private final WebClient webClient;
+
+    /**
+     * @param webClientBuilder builder to derive the client from, it is not modified
+     * @param connectTimeout maximum time to establish a connection, nullable
+     * @param readTimeout maximum time to wait for the response, nullable
+     */
+    public WebClientHttpAdapter(
+            WebClient.Builder webClientBuilder, Duration connectTimeout, Duration readTimeout) {
+        // Configure timeouts using Reactor Netty HttpClient
+        HttpClient httpClient = HttpClient.create();
+        if (connectTimeout != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        }
+        if (readTimeout != null) {
+            httpClient = httpClient.responseTimeout(readTimeout);
+        }
+
+        this.webClient = webClientBuilder
+                .clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public <T> Mono<Response<T>> get(String url, Map<String, String> headers, Class<T> bodyType) {
+        return webClient
+                .get()
+                .uri(url)
+                .headers(httpHeaders -> headers.forEach(httpHeaders::set))
+                .exchangeToMono(response -> toResponse(response, bodyType));
+    }
+
+    private static <T> Mono<Response<T>> toResponse(ClientResponse response, Class<T> bodyType) {
+        int status = response.statusCode().value();
+        String etag = response.headers().asHttpHeaders().getETag();
+        long contentLength = response.headers().contentLength().orElse(-1);
+        Response<T> empty = new Response<>(status, etag, contentLength, null);
+
+        if (!response.statusCode().is2xxSuccessful() || bodyType == Void.class) {
+            return response.releaseBody().thenReturn(empty);
+        }
+        return response.bodyToMono(bodyType)
+                .map(body -> new Response<>(status, etag, contentLength, body))
+                .defaultIfEmpty(empty);
+    }
+}
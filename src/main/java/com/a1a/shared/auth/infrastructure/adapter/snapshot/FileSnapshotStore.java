@@ -0,0 +1,207 @@
+package com.a1a.shared.auth.infrastructure.adapter.snapshot;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.KeyRing;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.infrastructure.adapter.PrivateFiles;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the permission cache and the JWKS key ring to a local file for warm restarts.
+ *
+ * <p>On start (during context refresh, before the application reports ready) entries that are
+ * still valid are restored from the file. While running, the file is rewritten periodically and
+ * once more on shutdown. Writes go to a temporary file that is atomically moved into place, so a
+ * crash never leaves a half-written snapshot behind.
+ *
+ * <p>The file contains permission sets, so it is created readable by the owner only where the
+ * file system supports POSIX permissions. It is authenticated with an HMAC under a configured
+ * secret, and files that another user could have written are refused, see {@link PrivateFiles}.
+ * The public signing keys are restored and served until the JWKS endpoint, fetched again in the
+ * background, confirms or replaces them.
+ */
+@Slf4j
+public class FileSnapshotStore implements SmartLifecycle {
+
+    private final Path path;
+    private final Duration interval;
+    private final JwksPort jwksPort;
+    private final CachePort<AccountKey, PermissionSnapshot> permissionCache;
+    private final Duration permissionRetention;
+    private final byte[] secret;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * @param path snapshot file
+     * @param interval time between periodic writes
+     * @param jwksPort key source to snapshot, nullable
+     * @param permissionCache permission cache to snapshot, nullable
+     * @param permissionRetention how long after loading a permission set is worth restoring
+     * @param secret HMAC key the file is authenticated with
+     */
+    public FileSnapshotStore(
+            Path path,
+            Duration interval,
+            JwksPort jwksPort,
+            CachePort<AccountKey, PermissionSnapshot> permissionCache,
+            Duration permissionRetention,
+            byte[] secret) {
+        this.path = path;
+        this.interval = interval;
+        this.jwksPort = jwksPort;
+        this.permissionCache = permissionCache;
+        this.permissionRetention = permissionRetention;
+        this.secret = secret.clone();
+    }
+
+    @Override
+    public void start() {
+        restore();
+
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "auth-snapshot-writer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.scheduleWithFixedDelay(
+                this::write, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        write();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Restore before other lifecycle beans (e.g. the web server) start */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /** Restore still valid entries from the snapshot file, if present. */
+    public void restore() {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            log.info("No auth snapshot found at {}, starting cold", path);
+            return;
+        }
+
+        try {
+            PrivateFiles.check(path);
+            SnapshotCodec.Contents contents = SnapshotCodec.read(path, secret);
+            Instant now = Instant.now();
+
+            if (jwksPort != null && contents.getKeyRing() != null) {
+                jwksPort.restoreKeyRing(contents.getKeyRing());
+            }
+
+            int restored = 0;
+            if (permissionCache != null && permissionRetention != null) {
+                for (Map.Entry<AccountKey, PermissionSnapshot> entry : contents.getPermissions().entrySet()) {
+                    PermissionSnapshot snapshot = entry.getValue();
+                    if (snapshot.isYoungerThan(permissionRetention, now)) {
+                        permissionCache.put(
+                                entry.getKey(),
+                                snapshot,
+                                Duration.between(now, snapshot.getLoadedAt().plus(permissionRetention)));
+                        restored++;
+                    }
+                }
+            }
+
+            log.info(
+                    "Restored auth snapshot from {}: {} JWKS key(s), {} of {} permission sets still valid",
+                    path,
+                    contents.getKeyRing() != null ? contents.getKeyRing().getKeys().size() : 0,
+                    restored,
+                    contents.getPermissions().size());
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to restore auth snapshot from {}, starting cold: {}", path, e.getMessage());
+        }
+    }
+
+    /** Write the current key ring and permission cache to the snapshot file. */
+    public synchronized void write() {
+        try {
+            KeyRing keyRing = jwksPort != null ? jwksPort.getKeyRing().orElse(null) : null;
+            Map<AccountKey, PermissionSnapshot> permissions =
+                    permissionCache != null ? permissionCache.entries() : new HashMap<>();
+            if (keyRing == null && permissions.isEmpty()) {
+                return;
+            }
+
+            byte[] bytes = SnapshotCodec.encode(keyRing, permissions, secret);
+
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            PrivateFiles.check(path);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try {
+                restrictToOwner(temp);
+                Files.write(temp, bytes);
+                move(temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            log.debug(
+                    "Wrote auth snapshot to {} ({} bytes, {} permission sets)",
+                    path,
+                    bytes.length,
+                    permissions.size());
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write auth snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void move(Path temp) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void restrictToOwner(Path file) {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            log.debug("Could not restrict permissions of {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.a1a.shared.auth.infrastructure.adapter.snapshot;
+
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.KeyRing;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.domain.model.WildcardPermissionSet;
+
+import lombok.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Binary format of the warm-restart snapshot file.
+ *
+ * <p>Layout (big-endian, strings and big integers are u16 length + UTF-8 or unsigned bytes):
+ *
+ * <pre>
+ * header      magic "A1AS" (i32), version (i16), written-at epoch millis (i64)
+ * key ring    count (i32), 0 if none was fetched, else fetched-at (i64), count x (kid, alg,
+ *             RSA modulus, RSA public exponent) of the last fetched key ring
+ * code table  count (i32), count x permission code
+ * users       count (i32), count x (issuer, account id (i64), loaded-at (i64), n (i32), n x code index)
+ * mac         HMAC-SHA256 of everything before it (32 bytes)
+ * </pre>
+ *
+ * <p>The MAC is checked before anything is decoded, so a file that was not written with the
+ * configured secret is rejected as a whole, including the public keys it would have restored.
+ *
+ * <p>Permission codes are written once in the code table and referenced by index (u16 when the
+ * table has fewer than 65536 codes, i32 otherwise), which keeps the file small when many users
+ * share the same permissions. Files are read through a read-only memory mapping.
+ */
+final class SnapshotCodec {
+    private static final int MAGIC = 0x41314153;
+    private static final short VERSION = 4;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final String NULL_STRING = "\u0000";
+
+    private SnapshotCodec() {}
+
+    /** Decoded snapshot file contents */
+    @Value
+    static class Contents {
+        /** Last fetched key ring, null if none was written */
+        KeyRing keyRing;
+
+        Map<AccountKey, PermissionSnapshot> permissions;
+    }
+
+    static byte[] encode(KeyRing keyRing, Map<AccountKey, PermissionSnapshot> permissions, byte[] secret)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+
+        List<KeyRing.SigningKey> keys = keyRing != null ? keyRing.getKeys() : List.of();
+        out.writeInt(keys.size());
+        if (!keys.isEmpty()) {
+            out.writeLong(keyRing.getFetchedAt().toEpochMilli());
+        }
+        for (KeyRing.SigningKey key : keys) {
+            writeString(out, key.getKeyId());
+            writeString(out, key.getAlgorithm());
+            writeBigInteger(out, key.getPublicKey().getModulus());
+            writeBigInteger(out, key.getPublicKey().getPublicExponent());
+        }
+
+        Map<String, Integer> codeIndex = new LinkedHashMap<>();
+        for (PermissionSnapshot snapshot : permissions.values()) {
+            for (String code : snapshot.getPermissions()) {
+                codeIndex.putIfAbsent(code, codeIndex.size());
+            }
+        }
+        out.writeInt(codeIndex.size());
+        for (String code : codeIndex.keySet()) {
+            writeString(out, code);
+        }
+
+        boolean wideIndex = codeIndex.size() > 0xFFFF;
+        out.writeInt(permissions.size());
+        for (Map.Entry<AccountKey, PermissionSnapshot> entry : permissions.entrySet()) {
+            writeString(out, entry.getKey().getIssuer());
+            out.writeLong(entry.getKey().getAccountId());
+            out.writeLong(entry.getValue().getLoadedAt().toEpochMilli());
+            Set<String> codes = entry.getValue().getPermissions();
+            out.writeInt(codes.size());
+            for (String code : codes) {
+                int index = codeIndex.get(code);
+                if (wideIndex) {
+                    out.writeInt(index);
+                } else {
+                    out.writeShort(index);
+                }
+            }
+        }
+
+        out.flush();
+        out.write(mac(secret, ByteBuffer.wrap(bytes.toByteArray())));
+        return bytes.toByteArray();
+    }
+
+    static Contents read(Path file, byte[] secret) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < MAC_LENGTH) {
+                throw new IOException("Truncated or corrupt auth snapshot file");
+            }
+            int contentLength = buffer.limit() - MAC_LENGTH;
+            byte[] expected = mac(secret, buffer.duplicate().limit(contentLength));
+            byte[] actual = new byte[MAC_LENGTH];
+            buffer.get(contentLength, actual);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new IOException("Auth snapshot file was not written with the configured secret");
+            }
+            return decode(buffer.limit(contentLength));
+        }
+    }
+
+    private static byte[] mac(byte[] secret, ByteBuffer content) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+            mac.update(content);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot compute the auth snapshot MAC", e);
+        }
+    }
+
+    private static Contents decode(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not an auth snapshot file");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported auth snapshot version: " + version);
+            }
+            in.getLong(); // written-at, informational only
+
+            KeyRing keyRing = decodeKeyRing(in);
+
+            int codeCount = in.getInt();
+            String[] codes = new String[codeCount];
+            for (int i = 0; i < codeCount; i++) {
+                codes[i] = readString(in);
+            }
+
+            boolean wideIndex = codeCount > 0xFFFF;
+            int userCount = in.getInt();
+            Map<AccountKey, PermissionSnapshot> permissions = new HashMap<>(Math.min(userCount, 1 << 16) * 2);
+            for (int i = 0; i < userCount; i++) {
+                AccountKey key = new AccountKey(readString(in), in.getLong());
+                Instant loadedAt = Instant.ofEpochMilli(in.getLong());
+                String[] userCodes = new String[in.getInt()];
+                for (int j = 0; j < userCodes.length; j++) {
+                    userCodes[j] = codes[wideIndex ? in.getInt() : Short.toUnsignedInt(in.getShort())];
+                }
+                permissions.put(
+                        key,
+                        new PermissionSnapshot(
+                                WildcardPermissionSet.of(Arrays.asList(userCodes)), loadedAt));
+            }
+
+            return new Contents(keyRing, permissions);
+
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt auth snapshot file", e);
+        }
+    }
+
+    private static KeyRing decodeKeyRing(ByteBuffer in) throws IOException {
+        int keyCount = in.getInt();
+        if (keyCount == 0) {
+            return null;
+        }
+        Instant fetchedAt = Instant.ofEpochMilli(in.getLong());
+        List<KeyRing.SigningKey> keys = new ArrayList<>(Math.min(keyCount, 64));
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (int i = 0; i < keyCount; i++) {
+                String keyId = readString(in);
+                String algorithm = readString(in);
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(readBigInteger(in), readBigInteger(in));
+                keys.add(new KeyRing.SigningKey(
+                        keyId, algorithm, (RSAPublicKey) keyFactory.generatePublic(spec)));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Invalid public key in auth snapshot file", e);
+        }
+        // Expiry is decided by the JWKS adapter the ring is restored into
+        return new KeyRing(Collections.unmodifiableList(keys), fetchedAt, fetchedAt);
+    }
+
+    private static void writeBigInteger(DataOutputStream out, BigInteger value) throws IOException {
+        byte[] bytes = value.toByteArray();
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static BigInteger readBigInteger(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new BigInteger(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : NULL_STRING).getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        return NULL_STRING.equals(value) ? null : value;
+    }
+
+}
@@ -3,12 +3,18 @@ package com.a1a.shared.auth.infrastructure.aspect;
 import com.a1a.shared.auth.application.port.annotation.RequireAllPermissions;
 import com.a1a.shared.auth.application.port.annotation.RequireAnyPermission;
 import com.a1a.shared.auth.application.port.annotation.RequirePermission;
+import com.a1a.shared.auth.application.port.annotation.RequirePermissionExpr;
+import com.a1a.shared.auth.application.port.driven.AuthorizationAuditPort;
 import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionValidatorUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.application.service.PermissionValidatorService;
 import com.a1a.shared.auth.domain.exception.PermissionException;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+import com.a1a.shared.auth.domain.model.PermissionCodeRegistry;
+import com.a1a.shared.auth.domain.model.Requirement;
 import com.a1a.shared.auth.domain.model.UserContext;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -16,20 +22,86 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 
+import reactor.core.publisher.Mono;
+
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 /**
  * AOP Aspect to intercept and validate permission annotations Uses SPI
  * interfaces for extensibility
+ *
+ * <p>
+ * Methods returning Mono/Flux are checked on subscription instead of on call
+ * when reactive user lookup is configured, see {@link ReactiveAdvice}. They are
+ * decided by the same validator, through its asynchronous API, so both share
+ * its decision cache.
+ *
+ * <p>
+ * Every decision is handed to the {@link AuthorizationAuditPort}, with the
+ * time the check took.
  */
 @Slf4j
 @Aspect
-@RequiredArgsConstructor
 public class PermissionCheckAspect {
 
     private final GetAuthenticatedUserUseCase getAuthenticatedUserUseCase;
     private final PermissionValidatorUseCase permissionValidatorUseCase;
+    private final PermissionExpressionCompiler permissionExpressionCompiler;
+    private final ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase;
+    private final AuthorizationAuditPort auditPort;
+
+    public PermissionCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            PermissionValidatorUseCase permissionValidatorUseCase) {
+        this(getAuthenticatedUserUseCase, permissionValidatorUseCase, new PermissionExpressionCompiler((PermissionCodeRegistry) null));
+    }
+
+    public PermissionCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            PermissionValidatorUseCase permissionValidatorUseCase,
+            PermissionExpressionCompiler permissionExpressionCompiler) {
+        this(getAuthenticatedUserUseCase, permissionValidatorUseCase, permissionExpressionCompiler, null);
+    }
+
+    /**
+     * @param reactiveGetAuthenticatedUserUseCase user lookup for methods returning Mono/Flux, null
+     *     checks them like other methods
+     */
+    public PermissionCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            PermissionValidatorUseCase permissionValidatorUseCase,
+            PermissionExpressionCompiler permissionExpressionCompiler,
+            ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase) {
+        this(
+                getAuthenticatedUserUseCase,
+                permissionValidatorUseCase,
+                permissionExpressionCompiler,
+                reactiveGetAuthenticatedUserUseCase,
+                AuthorizationAuditPort.NONE);
+    }
+
+    /**
+     * @param reactiveGetAuthenticatedUserUseCase user lookup for methods returning Mono/Flux, null
+     *     checks them like other methods
+     * @param auditPort recipient of every allow/deny decision
+     */
+    public PermissionCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            PermissionValidatorUseCase permissionValidatorUseCase,
+            PermissionExpressionCompiler permissionExpressionCompiler,
+            ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase,
+            AuthorizationAuditPort auditPort) {
+        this.auditPort = auditPort;
+        this.getAuthenticatedUserUseCase = getAuthenticatedUserUseCase;
+        this.permissionValidatorUseCase = permissionValidatorUseCase;
+        this.permissionExpressionCompiler = permissionExpressionCompiler;
+        this.reactiveGetAuthenticatedUserUseCase = reactiveGetAuthenticatedUserUseCase;
+    }
 
     /** Intercept @RequirePermission annotation */
     @Around("@annotation(com.a1a.shared.auth.application.port.annotation.RequirePermission)")
@@ -38,20 +110,43 @@ public class PermissionCheckAspect {
         Method method = signature.getMethod();
         RequirePermission annotation = method.getAnnotation(RequirePermission.class);
 
-        Long userId = getAuthenticatedUserUseCase.getCurrentUser().getAccountId();
+        if (isReactive(method)) {
+            String requiredPermission = annotation.value();
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            userId -> permissionValidatorUseCase.hasPermissionAsync(userId, requiredPermission),
+                            requiredPermission,
+                            user ->
+                                    "User "
+                                            + user.getUsername()
+                                            + " does not have required permission: "
+                                            + requiredPermission));
+        }
+
+        long start = System.nanoTime();
+        UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
+        Long userId = user.getAccountId();
         String requiredPermission = annotation.value();
 
         log.debug("Checking permission: {} for user: {}", requiredPermission, userId);
 
-        boolean hasPermission = permissionValidatorUseCase.hasPermission(userId, requiredPermission);
+        boolean hasPermission = decide(
+                user,
+                method,
+                requiredPermission,
+                start,
+                () -> permissionValidatorUseCase.hasPermission(userId, requiredPermission));
 
         if (!hasPermission) {
-            UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
             log.warn("Permission denied: User {} lacks permission {}", userId, requiredPermission);
             throw new PermissionException(
-                    String.format(
-                            "User %s does not have required permission: %s",
-                            user.getUsername(), requiredPermission));
+                    "User "
+                            + user.getUsername()
+                            + " does not have required permission: "
+                            + requiredPermission);
         }
 
         log.debug("Permission granted: {} for user {}", requiredPermission, userId);
@@ -64,8 +159,29 @@ public class PermissionCheckAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         RequireAnyPermission annotation = method.getAnnotation(RequireAnyPermission.class);
+        Requirement requirement = codesRequirement(method, RequireAnyPermission.class, annotation.value());
+        Object required = requirement != null ? requirement : Arrays.toString(annotation.value());
 
-        Long userId = getAuthenticatedUserUseCase.getCurrentUser().getAccountId();
+        if (isReactive(method)) {
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            userId -> cachedDecision(requirement)
+                                    ? permissionValidatorUseCase.satisfiesAsync(userId, requirement)
+                                    : permissionValidatorUseCase.hasAnyPermissionAsync(userId, annotation.value()),
+                            required,
+                            user ->
+                                    "User "
+                                            + user.getUsername()
+                                            + " does not have any of required permissions: "
+                                            + Arrays.toString(annotation.value())));
+        }
+
+        long start = System.nanoTime();
+        UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
+        Long userId = user.getAccountId();
         String[] requiredPermissions = annotation.value();
 
         log.debug(
@@ -73,18 +189,25 @@ public class PermissionCheckAspect {
                 Arrays.toString(requiredPermissions),
                 userId);
 
-        boolean hasAnyPermission = permissionValidatorUseCase.hasAnyPermission(userId, requiredPermissions);
+        boolean hasAnyPermission = decide(
+                user,
+                method,
+                required,
+                start,
+                () -> cachedDecision(requirement)
+                        ? permissionValidatorUseCase.satisfies(userId, requirement)
+                        : permissionValidatorUseCase.hasAnyPermission(userId, requiredPermissions));
 
         if (!hasAnyPermission) {
-            UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
             log.warn(
                     "Permission denied: User {} lacks any of permissions {}",
                     userId,
                     Arrays.toString(requiredPermissions));
             throw new PermissionException(
-                    String.format(
-                            "User %s does not have any of required permissions: %s",
-                            user.getUsername(), Arrays.toString(requiredPermissions)));
+                    "User "
+                            + user.getUsername()
+                            + " does not have any of required permissions: "
+                            + Arrays.toString(requiredPermissions));
         }
 
         log.debug("Permission granted (ANY): User {} has at least one permission", userId);
@@ -97,8 +220,29 @@ public class PermissionCheckAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         RequireAllPermissions annotation = method.getAnnotation(RequireAllPermissions.class);
+        Requirement requirement = codesRequirement(method, RequireAllPermissions.class, annotation.value());
+        Object required = requirement != null ? requirement : Arrays.toString(annotation.value());
+
+        if (isReactive(method)) {
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            userId -> cachedDecision(requirement)
+                                    ? permissionValidatorUseCase.satisfiesAsync(userId, requirement)
+                                    : permissionValidatorUseCase.hasAllPermissionsAsync(userId, annotation.value()),
+                            required,
+                            user ->
+                                    "User "
+                                            + user.getUsername()
+                                            + " does not have all required permissions: "
+                                            + Arrays.toString(annotation.value())));
+        }
 
-        Long userId = getAuthenticatedUserUseCase.getCurrentUser().getAccountId();
+        long start = System.nanoTime();
+        UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
+        Long userId = user.getAccountId();
         String[] requiredPermissions = annotation.value();
 
         log.debug(
@@ -106,22 +250,167 @@ public class PermissionCheckAspect {
                 Arrays.toString(requiredPermissions),
                 userId);
 
-        boolean hasAllPermissions = permissionValidatorUseCase.hasAllPermissions(userId, requiredPermissions);
+        boolean hasAllPermissions = decide(
+                user,
+                method,
+                required,
+                start,
+                () -> cachedDecision(requirement)
+                        ? permissionValidatorUseCase.satisfies(userId, requirement)
+                        : permissionValidatorUseCase.hasAllPermissions(userId, requiredPermissions));
 
         if (!hasAllPermissions) {
-            UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
             log.warn(
                     "Permission denied: User {} lacks all permissions {}",
                     userId,
                     Arrays.toString(requiredPermissions));
             throw new PermissionException(
-                    String.format(
-                            "User %s does not have all required permissions: %s",
-                            user.getUsername(), Arrays.toString(requiredPermissions)));
+                    "User "
+                            + user.getUsername()
+                            + " does not have all required permissions: "
+                            + Arrays.toString(requiredPermissions));
         }
 
         log.debug("Permission granted (ALL): User {} has all required permissions", userId);
         return joinPoint.proceed();
     }
-}
 
+    /** Intercept @RequirePermissionExpr annotation */
+    @Around("@annotation(com.a1a.shared.auth.application.port.annotation.RequirePermissionExpr)")
+    public Object checkPermissionExpression(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        Requirement requirement = permissionExpressionCompiler.requirementFor(method);
+
+        if (isReactive(method)) {
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            userId -> permissionValidatorUseCase.satisfiesAsync(userId, requirement),
+                            requirement,
+                            user ->
+                                    "User "
+                                            + user.getUsername()
+                                            + " does not satisfy required permissions: "
+                                            + requirement));
+        }
+
+        long start = System.nanoTime();
+        UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
+        Long userId = user.getAccountId();
+
+        log.debug("Checking permission expression: {} for user: {}", requirement, userId);
+
+        boolean satisfied = decide(
+                user,
+                method,
+                requirement,
+                start,
+                () -> permissionValidatorUseCase.satisfies(userId, requirement));
+
+        if (!satisfied) {
+            log.warn("Permission denied: User {} does not satisfy {}", userId, requirement);
+            throw new PermissionException(
+                    "User "
+                            + user.getUsername()
+                            + " does not satisfy required permissions: "
+                            + requirement);
+        }
+
+        log.debug("Permission granted (EXPR): User {} satisfies {}", userId, requirement);
+        return joinPoint.proceed();
+    }
+
+    /** Compiled codes of an any/all annotation, null if it lists none (always denied) */
+    private Requirement codesRequirement(
+            Method method, Class<? extends Annotation> annotationType, String[] codes) {
+        return codes.length > 0 ? permissionExpressionCompiler.requirementFor(method, annotationType) : null;
+    }
+
+    /**
+     * Checks if an any/all check is decided as a requirement: the built-in validator serves it from
+     * its decision cache, while custom validators keep deciding through hasAny/hasAll.
+     */
+    private boolean cachedDecision(Requirement requirement) {
+        return requirement != null && permissionValidatorUseCase instanceof PermissionValidatorService;
+    }
+
+    /** Checks if the method returns Mono/Flux and reactive checks are available */
+    private boolean isReactive(Method method) {
+        return reactiveGetAuthenticatedUserUseCase != null && ReactiveAdvice.returnsPublisher(method);
+    }
+
+    /**
+     * Permission check run on subscription: the user comes from the Reactor context and the
+     * validator decides asynchronously on the user's behalf; a denial is signalled as
+     * PermissionException.
+     */
+    private Mono<Void> checkReactive(
+            Method method,
+            Function<Long, CompletableFuture<Boolean>> check,
+            Object required,
+            Function<UserContext, String> denialMessage) {
+        return ReactiveAdvice.currentUser(reactiveGetAuthenticatedUserUseCase)
+                .flatMap(
+                        user -> {
+                            long start = System.nanoTime();
+                            return ReactiveAdvice.callAs(user, () -> check.apply(user.getAccountId()))
+                                    .doOnError(e -> auditError(user, method, required, e, start))
+                                    .flatMap(
+                                            allowed -> {
+                                                audit(user, method, required, allowed, start);
+                                                if (allowed) {
+                                                    log.debug(
+                                                            "Permission granted (reactive): {} for user {}",
+                                                            required,
+                                                            user.getAccountId());
+                                                    return Mono.<Void>empty();
+                                                }
+                                                log.warn(
+                                                        "Permission denied: User {} lacks {}",
+                                                        user.getAccountId(),
+                                                        required);
+                                                return Mono.<Void>error(
+                                                        new PermissionException(denialMessage.apply(user)));
+                                            });
+                        });
+    }
+
+    /** Run a check and audit its decision, or the exception it ended with */
+    private boolean decide(
+            UserContext user, Method method, Object required, long start, BooleanSupplier check) {
+        boolean granted;
+        try {
+            granted = check.getAsBoolean();
+        } catch (RuntimeException e) {
+            auditError(user, method, required, e, start);
+            throw e;
+        }
+        audit(user, method, required, granted, start);
+        return granted;
+    }
+
+    private void auditError(UserContext user, Method method, Object required, Throwable error, long start) {
+        auditPort.recordError(
+                AuthorizationAuditRecord.Check.PERMISSION,
+                user.getAccountId(),
+                user.getUsername(),
+                method,
+                required,
+                error,
+                System.nanoTime() - start);
+    }
+
+    private void audit(UserContext user, Method method, Object required, boolean granted, long start) {
+        auditPort.record(
+                AuthorizationAuditRecord.Check.PERMISSION,
+                user.getAccountId(),
+                user.getUsername(),
+                method,
+                required,
+                granted,
+                System.nanoTime() - start);
+    }
+}
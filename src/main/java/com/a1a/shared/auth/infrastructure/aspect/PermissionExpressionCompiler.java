@@ -0,0 +1,140 @@
+package com.a1a.shared.auth.infrastructure.aspect;
+
+import com.a1a.shared.auth.application.port.annotation.RequireAllPermissions;
+import com.a1a.shared.auth.application.port.annotation.RequireAnyPermission;
+import com.a1a.shared.auth.application.port.annotation.RequirePermissionExpr;
+import com.a1a.shared.auth.domain.model.PermissionCodeRegistry;
+import com.a1a.shared.auth.domain.model.Requirement;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Compiles {@link RequirePermissionExpr} expressions once, at startup.
+ *
+ * <p>Every bean is scanned for annotated methods when it is initialized. Each expression is
+ * parsed, checked against the {@link PermissionCodeRegistry} and compiled into a {@link
+ * Requirement}; a malformed expression or an unknown permission code fails the application
+ * context. {@link PermissionCheckAspect} then only looks the compiled requirement up.
+ *
+ * <p>The codes of {@link RequireAnyPermission} and {@link RequireAllPermissions} are compiled into
+ * requirements too, lazily and without the registry check, so these annotations accept any codes
+ * as before; the requirement lets the built-in validator serve them from its decision cache.
+ *
+ * <p>The registry is looked up on the first compile, not when the post-processor is created, so
+ * it is built as a regular bean after all post-processors are registered.
+ */
+@Slf4j
+public class PermissionExpressionCompiler implements BeanPostProcessor {
+    private final SingletonSupplier<PermissionCodeRegistry> permissionCodeRegistry;
+    private final Map<AnnotatedMethod, Requirement> requirements = new ConcurrentHashMap<>();
+    private final Map<String, Requirement> byExpression = new ConcurrentHashMap<>();
+
+    /**
+     * @param permissionCodeRegistry known permission codes, null skips the code check
+     */
+    public PermissionExpressionCompiler(PermissionCodeRegistry permissionCodeRegistry) {
+        this(() -> permissionCodeRegistry);
+    }
+
+    /**
+     * @param permissionCodeRegistry lookup of the known permission codes, called on the first
+     *     compile; a null result skips the code check
+     */
+    public PermissionExpressionCompiler(Supplier<PermissionCodeRegistry> permissionCodeRegistry) {
+        this.permissionCodeRegistry = SingletonSupplier.of(permissionCodeRegistry);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        ReflectionUtils.doWithMethods(
+                targetClass,
+                method -> {
+                    try {
+                        requirementFor(method);
+                    } catch (IllegalArgumentException e) {
+                        throw new BeanInitializationException(
+                                "Invalid @RequirePermissionExpr on "
+                                        + targetClass.getName()
+                                        + "."
+                                        + method.getName()
+                                        + ": "
+                                        + e.getMessage(),
+                                e);
+                    }
+                },
+                method -> AnnotatedElementUtils.hasAnnotation(method, RequirePermissionExpr.class));
+        return bean;
+    }
+
+    /**
+     * Compiled requirement of a method annotated with {@link RequirePermissionExpr}.
+     *
+     * @param method annotated method
+     * @return the compiled requirement
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public Requirement requirementFor(Method method) {
+        return requirementFor(method, RequirePermissionExpr.class);
+    }
+
+    /**
+     * Compiled requirement of a permission annotation on a method.
+     *
+     * @param method annotated method
+     * @param annotationType {@link RequirePermissionExpr}, {@link RequireAnyPermission} or
+     *     {@link RequireAllPermissions}
+     * @return the compiled requirement
+     * @throws IllegalArgumentException if the annotation is missing or invalid
+     */
+    public Requirement requirementFor(Method method, Class<? extends Annotation> annotationType) {
+        AnnotatedMethod key = new AnnotatedMethod(method, annotationType);
+        Requirement requirement = requirements.get(key);
+        if (requirement != null) {
+            return requirement;
+        }
+
+        Annotation annotation = AnnotatedElementUtils.findMergedAnnotation(method, annotationType);
+        if (annotation == null) {
+            throw new IllegalArgumentException(
+                    "Method is not annotated with @" + annotationType.getSimpleName());
+        }
+
+        requirement =
+                switch (annotation) {
+                    case RequirePermissionExpr expr -> byExpression.computeIfAbsent(expr.value(), this::compile);
+                    case RequireAnyPermission any -> Requirement.anyOf(any.value());
+                    case RequireAllPermissions all -> Requirement.allOf(all.value());
+                    default -> throw new IllegalArgumentException(
+                            "Unsupported permission annotation: @" + annotationType.getSimpleName());
+                };
+        requirements.put(key, requirement);
+        return requirement;
+    }
+
+    private Requirement compile(String expression) {
+        Requirement requirement = Requirement.parse(expression);
+        PermissionCodeRegistry registry = permissionCodeRegistry.get();
+        if (registry != null) {
+            registry.validate(requirement);
+        }
+        log.debug("Compiled permission expression: {}", requirement);
+        return requirement;
+    }
+
+    private record AnnotatedMethod(Method method, Class<? extends Annotation> annotationType) {}
+}
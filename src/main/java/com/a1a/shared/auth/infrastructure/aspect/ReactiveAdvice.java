@@ -0,0 +1,113 @@
+package com.a1a.shared.auth.infrastructure.aspect;
+
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.domain.exception.AuthenticationException;
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.reactivestreams.Publisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Support for advising methods that return {@link Mono}, {@link Flux} or another {@link
+ * Publisher}.
+ *
+ * <p>Such methods only assemble a pipeline when called; the work happens on subscription, on
+ * whatever thread the publisher runs on. A check made before {@code proceed()} would read the
+ * thread-bound security context at assembly time and block there. Instead, the check is prepended
+ * to the returned publisher: the user is read from the Reactor context on subscription, and a
+ * failed check is signalled as an error.
+ *
+ * <p>The check itself is made by the same validator as for other methods, through its
+ * asynchronous API, see {@link #callAs(UserContext, Supplier)}.
+ */
+final class ReactiveAdvice {
+
+    private ReactiveAdvice() {}
+
+    /** Checks if the method returns a reactive type */
+    static boolean returnsPublisher(Method method) {
+        return Publisher.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * The current user from the Reactor context.
+     *
+     * @return Mono emitting the user, or an AuthenticationException error if there is none
+     */
+    static Mono<UserContext> currentUser(ReactiveGetAuthenticatedUserUseCase getAuthenticatedUser) {
+        return getAuthenticatedUser
+                .getCurrentUser()
+                .switchIfEmpty(
+                        Mono.error(() -> new AuthenticationException("No authenticated user")));
+    }
+
+    /**
+     * Start an asynchronous validator call on behalf of a user.
+     *
+     * <p>The call is started on the bounded elastic scheduler, with the user installed in {@link
+     * SecurityContextHolder} while it starts, since validators and loaders read the current user
+     * and access token from there; a validator that decides synchronously may block it.
+     *
+     * @return Mono emitting the call's result, cancelling the future on cancellation
+     */
+    static <T> Mono<T> callAs(UserContext user, Supplier<CompletableFuture<T>> call) {
+        return Mono.fromFuture(() -> startAs(user, call), true).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static <T> CompletableFuture<T> startAs(UserContext user, Supplier<CompletableFuture<T>> call) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        SecurityContextHolder.setContext(context);
+        try {
+            return call.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    /**
+     * Defer the advised method behind a check.
+     *
+     * @param check completes empty to proceed, or errors to deny
+     * @return a publisher of the method's return type that runs the check on subscription
+     */
+    static Object proceedAfter(ProceedingJoinPoint joinPoint, Method method, Mono<?> check) {
+        Class<?> returnType = method.getReturnType();
+        if (Mono.class.isAssignableFrom(returnType)) {
+            return check.then(Mono.defer(() -> Mono.from(proceed(joinPoint))));
+        }
+        Flux<?> result = check.thenMany(Flux.defer(() -> proceed(joinPoint)));
+        return Flux.class.isAssignableFrom(returnType) ? result : adapt(result, returnType);
+    }
+
+    /** Other Publisher types can only receive a Flux if they are a supertype of it */
+    private static Object adapt(Flux<?> result, Class<?> returnType) {
+        if (!returnType.isInstance(result)) {
+            throw new IllegalStateException(
+                    "Unsupported reactive return type for permission checks: " + returnType.getName());
+        }
+        return result;
+    }
+
+    private static Publisher<?> proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            Object result = joinPoint.proceed();
+            return result != null ? (Publisher<?>) result : Mono.empty();
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.a1a.shared.auth.infrastructure.aspect;
 import com.a1a.shared.auth.application.port.annotation.RequireAllRoles;
 import com.a1a.shared.auth.application.port.annotation.RequireAnyRole;
 import com.a1a.shared.auth.application.port.annotation.RequireRole;
+import com.a1a.shared.auth.application.port.driven.AuthorizationAuditPort;
 import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
 import com.a1a.shared.auth.domain.model.UserContext;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -15,22 +17,59 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.security.access.AccessDeniedException;
 
+import reactor.core.publisher.Mono;
+
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * AOP Aspect to intercept and validate role annotations
  *
  * <p>This aspect checks user roles from UserContext.roles against required roles specified in
  * annotations.
+ *
+ * <p>Methods returning Mono/Flux are checked on subscription, with the user from the Reactor
+ * context, when a reactive user lookup is configured.
+ *
+ * <p>Every decision is handed to the {@link AuthorizationAuditPort}, with the time the check took.
  */
 @Slf4j
 @Aspect
-@RequiredArgsConstructor
 public class RoleCheckAspect {
 
     private final GetAuthenticatedUserUseCase getAuthenticatedUserUseCase;
+    private final ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase;
+    private final AuthorizationAuditPort auditPort;
+
+    public RoleCheckAspect(GetAuthenticatedUserUseCase getAuthenticatedUserUseCase) {
+        this(getAuthenticatedUserUseCase, null);
+    }
+
+    /**
+     * @param reactiveGetAuthenticatedUserUseCase user lookup for methods returning Mono/Flux, null
+     *     checks them like other methods
+     */
+    public RoleCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase) {
+        this(getAuthenticatedUserUseCase, reactiveGetAuthenticatedUserUseCase, AuthorizationAuditPort.NONE);
+    }
+
+    /**
+     * @param reactiveGetAuthenticatedUserUseCase user lookup for methods returning Mono/Flux, null
+     *     checks them like other methods
+     * @param auditPort recipient of every allow/deny decision
+     */
+    public RoleCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUserUseCase,
+            ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUserUseCase,
+            AuthorizationAuditPort auditPort) {
+        this.getAuthenticatedUserUseCase = getAuthenticatedUserUseCase;
+        this.reactiveGetAuthenticatedUserUseCase = reactiveGetAuthenticatedUserUseCase;
+        this.auditPort = auditPort;
+    }
 
     /** Intercept @RequireRole annotation */
     @Around("@annotation(com.a1a.shared.auth.application.port.annotation.RequireRole)")
@@ -39,6 +78,16 @@ public class RoleCheckAspect {
         Method method = signature.getMethod();
         RequireRole annotation = method.getAnnotation(RequireRole.class);
 
+        if (isReactive(method)) {
+            String requiredRole = annotation.value();
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method, roles -> roles.contains(requiredRole), requiredRole, annotation.errorMessage()));
+        }
+
+        long start = System.nanoTime();
         UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
         String requiredRole = annotation.value();
 
@@ -50,6 +99,7 @@ public class RoleCheckAspect {
 
         List<String> userRoles = user.getRoles();
         boolean hasRole = userRoles != null && userRoles.contains(requiredRole);
+        audit(user, method, requiredRole, hasRole, start);
 
         if (!hasRole) {
             log.warn(
@@ -71,6 +121,19 @@ public class RoleCheckAspect {
         Method method = signature.getMethod();
         RequireAnyRole annotation = method.getAnnotation(RequireAnyRole.class);
 
+        if (isReactive(method)) {
+            String[] requiredRoles = annotation.value();
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            roles -> Arrays.stream(requiredRoles).anyMatch(roles::contains),
+                            Arrays.asList(requiredRoles),
+                            annotation.errorMessage()));
+        }
+
+        long start = System.nanoTime();
         UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
         String[] requiredRoles = annotation.value();
 
@@ -83,6 +146,7 @@ public class RoleCheckAspect {
         List<String> userRoles = user.getRoles();
         boolean hasAnyRole =
                 userRoles != null && Arrays.stream(requiredRoles).anyMatch(userRoles::contains);
+        audit(user, method, Arrays.asList(requiredRoles), hasAnyRole, start);
 
         if (!hasAnyRole) {
             log.warn(
@@ -105,6 +169,19 @@ public class RoleCheckAspect {
         Method method = signature.getMethod();
         RequireAllRoles annotation = method.getAnnotation(RequireAllRoles.class);
 
+        if (isReactive(method)) {
+            String[] requiredRoles = annotation.value();
+            return ReactiveAdvice.proceedAfter(
+                    joinPoint,
+                    method,
+                    checkReactive(
+                            method,
+                            roles -> Arrays.stream(requiredRoles).allMatch(roles::contains),
+                            Arrays.asList(requiredRoles),
+                            annotation.errorMessage()));
+        }
+
+        long start = System.nanoTime();
         UserContext user = getAuthenticatedUserUseCase.getCurrentUser();
         String[] requiredRoles = annotation.value();
 
@@ -117,6 +194,7 @@ public class RoleCheckAspect {
         List<String> userRoles = user.getRoles();
         boolean hasAllRoles =
                 userRoles != null && Arrays.stream(requiredRoles).allMatch(userRoles::contains);
+        audit(user, method, Arrays.asList(requiredRoles), hasAllRoles, start);
 
         if (!hasAllRoles) {
             log.warn(
@@ -130,5 +208,46 @@ public class RoleCheckAspect {
         log.debug("Role granted (ALL): User {} has all required roles", user.getAccountId());
         return joinPoint.proceed();
     }
-}
 
+    /** Checks if the method returns Mono/Flux and reactive checks are available */
+    private boolean isReactive(Method method) {
+        return reactiveGetAuthenticatedUserUseCase != null && ReactiveAdvice.returnsPublisher(method);
+    }
+
+    /**
+     * Role check run on subscription with the user from the Reactor context; a denial is
+     * signalled as AccessDeniedException.
+     */
+    private Mono<Void> checkReactive(
+            Method method, Predicate<List<String>> granted, Object required, String errorMessage) {
+        return ReactiveAdvice.currentUser(reactiveGetAuthenticatedUserUseCase)
+                .flatMap(
+                        user -> {
+                            long start = System.nanoTime();
+                            List<String> userRoles = user.getRoles();
+                            boolean allowed = userRoles != null && granted.test(userRoles);
+                            audit(user, method, required, allowed, start);
+                            if (allowed) {
+                                log.debug("Role granted (reactive): {} for user {}", required, user.getAccountId());
+                                return Mono.<Void>empty();
+                            }
+                            log.warn(
+                                    "Role check failed: User {} lacks {}. User roles: {}",
+                                    user.getAccountId(),
+                                    required,
+                                    userRoles);
+                            return Mono.<Void>error(new AccessDeniedException(errorMessage));
+                        });
+    }
+
+    private void audit(UserContext user, Method method, Object required, boolean granted, long start) {
+        auditPort.record(
+                AuthorizationAuditRecord.Check.ROLE,
+                user.getAccountId(),
+                user.getUsername(),
+                method,
+                required,
+                granted,
+                System.nanoTime() - start);
+    }
+}
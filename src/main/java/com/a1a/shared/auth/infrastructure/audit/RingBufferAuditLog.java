@@ -0,0 +1,338 @@
+package com.a1a.shared.auth.infrastructure.audit;
+
+import com.a1a.shared.auth.application.port.driven.AuditSinkPort;
+import com.a1a.shared.auth.application.port.driven.AuthorizationAuditPort;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous authorization audit log.
+ *
+ * <p>Decisions are written into a ring buffer of pre-allocated slots (bounded multi-producer queue
+ * with a sequence number per slot). A request thread claims a slot with one CAS, fills in its
+ * fields and publishes it with a volatile write; it never allocates, locks or wakes another
+ * thread. A single background thread polls the buffer, hands contiguous published slots to the
+ * {@link AuditSinkPort} in batches, and then returns the slots to the producers.
+ *
+ * <p>When the buffer is full, {@link BackPressure#DROP} discards the decision (counted in {@link
+ * #getDroppedCount()}), {@link BackPressure#BLOCK} makes the request thread wait for a free slot.
+ */
+@Slf4j
+public class RingBufferAuditLog implements AuthorizationAuditPort, SmartLifecycle {
+
+    /** What request threads do when the buffer is full */
+    public enum BackPressure {
+        DROP,
+        BLOCK
+    }
+
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AuditSinkPort sink;
+    private final BackPressure backPressure;
+    private final int batchSize;
+    private final long pollNanos;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private long head;
+    private Thread consumer;
+    private volatile boolean running;
+
+    /**
+     * @param sink destination of the batches
+     * @param bufferSize number of slots, rounded up to a power of two
+     * @param batchSize maximum number of records per sink call
+     * @param backPressure behaviour when the buffer is full
+     * @param pollInterval time the consumer sleeps when the buffer is empty
+     */
+    public RingBufferAuditLog(
+            AuditSinkPort sink,
+            int bufferSize,
+            int batchSize,
+            BackPressure backPressure,
+            Duration pollInterval) {
+        if (bufferSize < 2 || batchSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 2 and batchSize positive");
+        }
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = capacity - 1;
+        this.sink = sink;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.backPressure = backPressure;
+        this.pollNanos = Math.max(1L, pollInterval.toNanos());
+    }
+
+    @Override
+    public void record(
+            AuthorizationAuditRecord.Check check,
+            Long userId,
+            String username,
+            Method method,
+            Object requirement,
+            boolean granted,
+            long latencyNanos) {
+        publish(check, userId, username, method, requirement, granted, null, latencyNanos);
+    }
+
+    /** Only the class name of the error is kept, so the buffer does not retain exceptions */
+    @Override
+    public void recordError(
+            AuthorizationAuditRecord.Check check,
+            Long userId,
+            String username,
+            Method method,
+            Object requirement,
+            Throwable error,
+            long latencyNanos) {
+        publish(check, userId, username, method, requirement, false, error.getClass().getName(), latencyNanos);
+    }
+
+    private void publish(
+            AuthorizationAuditRecord.Check check,
+            Long userId,
+            String username,
+            Method method,
+            Object requirement,
+            boolean granted,
+            String error,
+            long latencyNanos) {
+        long position = claim();
+        if (position < 0) {
+            dropped.increment();
+            return;
+        }
+        Slot slot = slots[(int) position & mask];
+        slot.timestamp = System.currentTimeMillis();
+        slot.check = check;
+        slot.userId = userId;
+        slot.username = username;
+        slot.method = method;
+        slot.requirement = requirement;
+        slot.granted = granted;
+        slot.error = error;
+        slot.latencyNanos = latencyNanos;
+        slot.sequence = position + 1;
+        recorded.increment();
+    }
+
+    /** Claim the next slot; -1 if the buffer is full and decisions are dropped, or if stopped */
+    private long claim() {
+        int spins = 0;
+        long position = tail.get();
+        while (running) {
+            long available = slots[(int) position & mask].sequence - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (available < 0) {
+                // Full: the slot still holds the record of the previous lap
+                if (backPressure == BackPressure.DROP) {
+                    return -1;
+                }
+                if (++spins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+            position = tail.get();
+        }
+        return -1;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consume, "auth-audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /** Stop accepting decisions, write what is buffered and close the sink */
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit sink: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Number of decisions accepted into the buffer */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /** Number of decisions discarded because the buffer was full or the log was stopped */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Number of decisions written by the sink */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /** Number of decisions lost because the sink failed */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /** Number of decisions waiting to be written */
+    public long getPendingCount() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    private void consume() {
+        List<Slot> batch = new ArrayList<>(batchSize);
+        while (true) {
+            drain(batch);
+            if (batch.isEmpty()) {
+                // Claims still in progress when stopping are published before the next poll
+                if (!running && tail.get() == head) {
+                    return;
+                }
+                LockSupport.parkNanos(pollNanos);
+                continue;
+            }
+            try {
+                sink.write(batch);
+                written.add(batch.size());
+            } catch (IOException | RuntimeException e) {
+                failed.add(batch.size());
+                log.warn("Failed to write {} audit records: {}", batch.size(), e.getMessage());
+            }
+            release(batch);
+        }
+    }
+
+    /** Collect contiguous published slots from the head */
+    private void drain(List<Slot> batch) {
+        while (batch.size() < batchSize) {
+            Slot slot = slots[(int) head & mask];
+            if (slot.sequence != head + 1) {
+                return;
+            }
+            batch.add(slot);
+            head++;
+        }
+    }
+
+    /** Hand the slots back to the producers for the next lap */
+    private void release(List<Slot> batch) {
+        for (Slot slot : batch) {
+            slot.username = null;
+            slot.method = null;
+            slot.requirement = null;
+            slot.sequence = slot.sequence - 1 + slots.length;
+        }
+        batch.clear();
+    }
+
+    /**
+     * Slot of the ring buffer. The sequence is {@code position} when free for that position,
+     * {@code position + 1} once published; the other fields are ordered by its volatile accesses.
+     */
+    private static final class Slot implements AuthorizationAuditRecord {
+        private volatile long sequence;
+
+        private long timestamp;
+        private Check check;
+        private Long userId;
+        private String username;
+        private Method method;
+        private Object requirement;
+        private boolean granted;
+        private String error;
+        private long latencyNanos;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public Check getCheck() {
+            return check;
+        }
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object getRequirement() {
+            return requirement;
+        }
+
+        @Override
+        public boolean isGranted() {
+            return granted;
+        }
+
+        @Override
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+    }
+}
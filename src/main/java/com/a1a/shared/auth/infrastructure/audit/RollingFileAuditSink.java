@@ -0,0 +1,175 @@
+package com.a1a.shared.auth.infrastructure.audit;
+
+import com.a1a.shared.auth.application.port.driven.AuditSinkPort;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+import com.a1a.shared.auth.infrastructure.adapter.PrivateFiles;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit sink writing one JSON object per line to a local file.
+ *
+ * <p>When the file reaches {@code maxFileSize} it is renamed to {@code <name>.1}, older files are
+ * shifted up to {@code <name>.<maxHistory>} and the oldest is deleted. The file is flushed after
+ * every batch. Not thread-safe; it is only called from the audit thread.
+ *
+ * <p>The file is never opened through a symbolic link, and a file or directory that another user
+ * could have written is refused, see {@link PrivateFiles}. New files are readable by the owner
+ * only.
+ */
+public class RollingFileAuditSink implements AuditSinkPort {
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxHistory;
+
+    private final Map<Method, String> methodNames = new HashMap<>();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private OutputStream out;
+    private long size;
+
+    /**
+     * @param path audit log file
+     * @param maxFileSize size in bytes at which the file is rolled
+     * @param maxHistory number of rolled files kept
+     */
+    public RollingFileAuditSink(Path path, long maxFileSize, int maxHistory) {
+        this.path = path;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = Math.max(0, maxHistory);
+    }
+
+    @Override
+    public void write(List<? extends AuthorizationAuditRecord> batch) throws IOException {
+        if (out == null) {
+            open();
+        }
+        for (AuthorizationAuditRecord record : batch) {
+            byte[] bytes = encode(record).getBytes(StandardCharsets.UTF_8);
+            out.write(bytes);
+            size += bytes.length;
+        }
+        out.flush();
+
+        if (size >= maxFileSize) {
+            roll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        PrivateFiles.check(path);
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            create();
+        }
+        out = new BufferedOutputStream(
+                Files.newOutputStream(
+                        path, StandardOpenOption.WRITE, StandardOpenOption.APPEND, LinkOption.NOFOLLOW_LINKS),
+                64 * 1024);
+        size = Files.size(path);
+    }
+
+    /** Create the file readable by the owner only where the file system supports it */
+    private void create() throws IOException {
+        if (Files.getFileAttributeView(path.toAbsolutePath().getParent(), PosixFileAttributeView.class) != null) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        if (maxHistory == 0) {
+            Files.delete(path);
+        } else {
+            Files.deleteIfExists(rolled(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    private String encode(AuthorizationAuditRecord record) {
+        line.setLength(0);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(record.getTimestamp()));
+        line.append("\",\"check\":\"").append(record.getCheck());
+        line.append("\",\"userId\":").append(record.getUserId());
+        line.append(",\"username\":");
+        appendString(record.getUsername());
+        line.append(",\"method\":");
+        appendString(record.getMethod() != null ? methodName(record.getMethod()) : null);
+        line.append(",\"requirement\":");
+        appendString(record.getRequirement() != null ? record.getRequirement().toString() : null);
+        line.append(",\"granted\":").append(record.isGranted());
+        line.append(",\"error\":");
+        appendString(record.getError());
+        line.append(",\"latencyMicros\":").append(record.getLatencyNanos() / 1000);
+        return line.append("}\n").toString();
+    }
+
+    private String methodName(Method method) {
+        return methodNames.computeIfAbsent(
+                method, m -> m.getDeclaringClass().getName() + "#" + m.getName());
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -16,17 +16,16 @@ import com.a1a.shared.auth.application.service.RoleValidatorService;
 import com.a1a.shared.auth.application.service.TokenVerificationService;
 import com.a1a.shared.auth.infrastructure.adapter.JwksAdapter;
 import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.http.JdkHttpClientAdapter;
 import com.a1a.shared.auth.infrastructure.aspect.PermissionCheckAspect;
 import com.a1a.shared.auth.infrastructure.aspect.RoleCheckAspect;
 import com.a1a.shared.auth.infrastructure.security.JwtAuthFilter;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.crypto.SecretKey;
 import java.security.interfaces.RSAPublicKey;
@@ -41,12 +40,6 @@ import java.security.interfaces.RSAPublicKey;
 @EnableConfigurationProperties(AuthProperties.class)
 public class AuthConfig {
 
-    @Bean
-    @ConditionalOnMissingBean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
-    }
-
     /**
      * Creates a Caffeine-based cache for storing SecretKey instances.
      *
@@ -67,10 +60,13 @@ public class AuthConfig {
     /** JWKS adapter for fetching public/public keys for token verification */
     @Bean
     public JwksPort jwksPort(
-            WebClient.Builder webClientBuilder,
             CachePort<String, RSAPublicKey> publicKeyCache,
             AuthProperties properties) {
-        return new JwksAdapter(webClientBuilder, publicKeyCache, properties);
+        AuthProperties.JwksConfig jwks = properties.getJwks();
+        return new JwksAdapter(
+                new JdkHttpClientAdapter(jwks.getConnectTimeout(), jwks.getReadTimeout()),
+                publicKeyCache,
+                properties);
     }
 
     /** Token verification service - main use case for JWT authentication */
@@ -83,8 +79,11 @@ public class AuthConfig {
     /** Gateway permission client - fetches permissions from external API */
     @Bean
     public GatewayPermissionClientUseCase gatewayPermissionClient(
-            WebClient.Builder webClientBuilder, AuthProperties properties) {
-        return new GatewayPermissionClientService(webClientBuilder, properties);
+            AuthProperties properties) {
+        AuthProperties.PermissionConfig permission = properties.getPermission();
+        return new GatewayPermissionClientService(
+                new JdkHttpClientAdapter(permission.getConnectTimeout(), permission.getReadTimeout()),
+                properties);
     }
 
     /** Permission loader - loads permissions for users */
@@ -1,14 +1,20 @@
 package com.a1a.shared.auth.infrastructure.config;
 
+import com.a1a.shared.auth.infrastructure.audit.RingBufferAuditLog;
+
 import jakarta.validation.constraints.NotBlank;
 
 import lombok.Data;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for IAM domain.
@@ -26,6 +32,17 @@ public class AuthProperties {
     private ValidationConfig validation = new ValidationConfig();
     private CorsConfig cors = new CorsConfig();
     private SecurityConfig security = new SecurityConfig();
+    private SnapshotConfig snapshot = new SnapshotConfig();
+    private DenyPathConfig denyPath = new DenyPathConfig();
+    private AuditLogConfig auditLog = new AuditLogConfig();
+    private MetricsConfig metrics = new MetricsConfig();
+    private JfrConfig jfr = new JfrConfig();
+    private HealthConfig health = new HealthConfig();
+    private WarmUpConfig warmUp = new WarmUpConfig();
+    private HttpConfig http = new HttpConfig();
+
+    /** Declarative claim mappings by profile name, see app.auth.jwks.claim-mapping */
+    private Map<String, ClaimMappingConfig> claimMappings = new LinkedHashMap<>();
 
     // Convenience methods
     public String getJwksUrl() {
@@ -43,6 +60,63 @@ public class AuthProperties {
 
         private Duration connectTimeout;
         private Duration readTimeout;
+
+        /**
+         * Claim mapping of tokens when no issuers are configured: "account", a profile of
+         * app.auth.claim-mappings or the name of a ClaimMapper bean
+         */
+        private String claimMapping = "account";
+
+        /**
+         * Trusted token issuers by name. When set, tokens are routed on their "iss" claim and
+         * tokens of other issuers are rejected.
+         */
+        private Map<String, IssuerConfig> issuers = new LinkedHashMap<>();
+    }
+
+    /** Trusted token issuer */
+    @Data
+    public static class IssuerConfig {
+        /** Expected "iss" claim */
+        private String issuer;
+
+        /** JWKS endpoint of the issuer; the keys of app.auth.jwks.url are used when unset */
+        private String jwksUrl;
+
+        /** Accepted "aud" values; empty accepts any audience */
+        private List<String> audiences = new ArrayList<>();
+
+        /**
+         * Claim mapping of the issuer's tokens: "account", a profile of app.auth.claim-mappings or
+         * the name of a ClaimMapper bean
+         */
+        private String claimMapping = "account";
+
+        /** Time the issuer's keys are used; defaults to app.auth.cache.ttl */
+        private Duration cacheTtl;
+    }
+
+    /**
+     * Paths of the UserContext fields in the token claims, JSON pointers such as /account/id where
+     * a "*" segment steps into each array element. Unset fields keep the layout of the A1A Auth
+     * Service; a blank path leaves the field empty.
+     */
+    @Data
+    public static class ClaimMappingConfig {
+        /** Path of the account id, an integer every token must carry */
+        private String accountId = "/account/id";
+
+        private String username = "/account/username";
+        private String fullName = "/account/fullName";
+        private String employeeCode = "/account/employeeCode";
+        private String employeeFullCode = "/account/employeeFullCode";
+        private String firstLogin = "/account/firstLogin";
+
+        /** Path of the role codes, a string or a list of strings */
+        private String roles = "/account/groups/*/groupCode";
+
+        /** Paths of extra claims by UserContext attribute name */
+        private Map<String, String> attributes = new LinkedHashMap<>();
     }
 
     @Data
@@ -52,6 +126,148 @@ public class AuthProperties {
 
         private Duration connectTimeout;
         private Duration readTimeout;
+
+        /** Permission loader: "gateway" (per-user Gateway calls) or "matrix" (local role matrix) */
+        private String loader = "gateway";
+
+        /** Role to permission matrix settings, used when loader=matrix */
+        private MatrixConfig matrix = new MatrixConfig();
+
+        /** How long a loaded permission set is served without calling the Gateway (null = always call) */
+        private Duration cacheTtl;
+
+        /** Maximum number of users whose permission sets are kept */
+        private int cacheMaxSize = 10_000;
+
+        /** Resilience settings for Gateway calls */
+        private ResilienceConfig resilience = new ResilienceConfig();
+
+        /** Hedged request settings for Gateway calls */
+        private HedgingConfig hedging = new HedgingConfig();
+
+        /** Background permission loading right after authentication */
+        private PrefetchConfig prefetch = new PrefetchConfig();
+
+        /** Memoization of authorization decisions */
+        private DecisionCacheConfig decisionCache = new DecisionCacheConfig();
+    }
+
+    /** Authorization decision cache configuration */
+    @Data
+    public static class DecisionCacheConfig {
+        /** Memoize requirement outcomes per user while the user's permission set is unchanged */
+        private boolean enabled;
+
+        /** Maximum number of (user, requirement) decisions kept */
+        private int maxSize = 50_000;
+
+        /** How long an unused decision is kept */
+        private Duration expireAfterAccess = Duration.ofMinutes(10);
+    }
+
+    /** Role to permission matrix configuration */
+    @Data
+    public static class MatrixConfig {
+        /** URL of the endpoint returning the permissions of all groups */
+        private String url;
+
+        /** Bearer token sent to the matrix endpoint (nullable) */
+        private String token;
+
+        /** Time between matrix re-syncs */
+        private Duration syncInterval = Duration.ofMinutes(5);
+    }
+
+    /** Permission prefetch configuration */
+    @Data
+    public static class PrefetchConfig {
+        /** Start loading permissions on a virtual thread as soon as the token is verified */
+        private boolean enabled;
+    }
+
+    /** Hedged request configuration for calls to the permission Gateway */
+    @Data
+    public static class HedgingConfig {
+        /** Send a second request when the first one is slower than the observed percentile */
+        private boolean enabled;
+
+        /** Latency percentile after which a hedged request is sent */
+        private double percentile = 0.95;
+
+        /** Lower bound for the hedge delay */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /** Hedged requests allowed as a fraction of all calls */
+        private double maxHedgeRatio = 0.05;
+
+        /** Maximum number of hedged requests that can be sent in a burst */
+        private int budgetBurst = 10;
+
+        /** Length of the rolling window latencies are observed over */
+        private Duration window = Duration.ofSeconds(30);
+    }
+
+    /** Resilience configuration for calls to the permission Gateway */
+    @Data
+    public static class ResilienceConfig {
+        /** Enable bulkhead, circuit breaker, retries and stale-if-error */
+        private boolean enabled;
+
+        private BulkheadConfig bulkhead = new BulkheadConfig();
+        private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+        private RetryConfig retry = new RetryConfig();
+        private StaleIfErrorConfig staleIfError = new StaleIfErrorConfig();
+
+        @Data
+        public static class BulkheadConfig {
+            /** Maximum number of concurrent Gateway calls */
+            private int maxConcurrentCalls = 32;
+
+            /** How long a caller waits for a free slot before failing fast */
+            private Duration maxWait = Duration.ofMillis(50);
+        }
+
+        @Data
+        public static class CircuitBreakerConfig {
+            /** Failure rate in percent at which the circuit opens */
+            private int failureRateThreshold = 50;
+
+            /** Number of recent calls the failure rate is computed over */
+            private int slidingWindowSize = 20;
+
+            /** Minimum number of recorded calls before the failure rate is evaluated */
+            private int minimumCalls = 10;
+
+            /** How long the circuit stays open before trial calls are allowed */
+            private Duration openDuration = Duration.ofSeconds(30);
+
+            /** Number of successful trial calls required to close the circuit again */
+            private int halfOpenCalls = 3;
+        }
+
+        @Data
+        public static class RetryConfig {
+            /** Maximum number of attempts per call, including the first one */
+            private int maxAttempts = 2;
+
+            /** Pause between attempts */
+            private Duration backoff = Duration.ofMillis(100);
+
+            /** Retries allowed as a fraction of first-attempt calls */
+            private double budgetRatio = 0.1;
+
+            /** Maximum number of retries that can be spent in a burst */
+            private int budgetBurst = 10;
+        }
+
+        @Data
+        public static class StaleIfErrorConfig {
+            /** Serve the last known permission set when the Gateway is unavailable */
+            private boolean enabled = true;
+
+            /** How long after loading a permission set may still be served as a fallback */
+            private Duration maxStale = Duration.ofMinutes(15);
+        }
     }
 
     /** Cache configuration */
@@ -75,6 +291,12 @@ public class AuthProperties {
 
         /** Clock skew tolerance for exp/iat validation */
         private Duration clockSkew;
+
+        /**
+         * Parser of the token payload: "nimbus" (full claims set) or "streaming" (only the claims
+         * that are validated or mapped)
+         */
+        private String claimsParser = "nimbus";
     }
 
     /** CORS configuration */
@@ -104,5 +326,160 @@ public class AuthProperties {
     public static class SecurityConfig {
         /** List of URL patterns that bypass authentication */
         private List<String> whiteListUrls;
+
+        /** Skip token verification on white-listed URLs, even when a token is sent */
+        private boolean skipWhiteListAuthentication;
+
+        /** Throttling of clients that keep failing authentication */
+        private RateLimitConfig rateLimit = new RateLimitConfig();
+
+        @Data
+        public static class RateLimitConfig {
+            /** Answer clients exceeding the failure rate with 429 before parsing their token */
+            private boolean enabled;
+
+            /**
+             * Header identifying the client, e.g. X-Forwarded-For, remote address if not set. The
+             * edge proxy must overwrite or append to it; client-supplied values are ignored.
+             */
+            private String keyHeader;
+
+            /**
+             * Trusted proxies appending to the key header; the value the outermost one appended is
+             * used (the right-most value for 1)
+             */
+            private int trustedProxies = 1;
+
+            /** Failed authentications allowed at once before throttling */
+            private int burst = 20;
+
+            /** Sustained failed authentications per second allowed */
+            private double failuresPerSecond = 1.0;
+
+            /** Maximum number of tracked clients */
+            private long maxClients = 100_000;
+
+            /** Time after which a client without failures is forgotten */
+            private Duration idleTimeout = Duration.ofMinutes(10);
+        }
+    }
+
+    /** Warm-restart snapshot configuration */
+    @Data
+    public static class SnapshotConfig {
+        /** Persist permission cache and JWKS keys to a local file and restore them on startup */
+        private boolean enabled;
+
+        /**
+         * Snapshot file location, required. The file and its directory must not be writable by
+         * other users, so it must not be placed in a shared temporary directory.
+         */
+        private String path;
+
+        /** Secret the snapshot file is authenticated with (HMAC-SHA256), at least 32 bytes */
+        private String secret;
+
+        /** Time between periodic snapshot writes */
+        private Duration interval = Duration.ofMinutes(1);
+    }
+
+    /** Cost of rejected requests */
+    @Data
+    public static class DenyPathConfig {
+        /** Create IAM exceptions without stack traces and answer 401/403 with fixed bodies */
+        private boolean lean;
+
+        /** In lean mode, keep stack traces when the auth logger is at DEBUG level on startup */
+        private boolean stackTracesWhenDebug = true;
+    }
+
+    /** Asynchronous audit log of authorization decisions */
+    @Data
+    public static class AuditLogConfig {
+        /** Record every permission and role decision of the annotation aspects */
+        private boolean enabled;
+
+        /** Number of pre-allocated ring buffer slots (rounded up to a power of two) */
+        private int bufferSize = 8192;
+
+        /** Maximum number of records per sink write */
+        private int batchSize = 512;
+
+        /** What request threads do when the buffer is full */
+        private RingBufferAuditLog.BackPressure backPressure = RingBufferAuditLog.BackPressure.DROP;
+
+        /** Time the audit thread sleeps when there is nothing to write */
+        private Duration pollInterval = Duration.ofMillis(10);
+
+        /**
+         * Audit log file of the default sink, required unless the application defines its own
+         * sink. The file and its directory must not be writable by other users.
+         */
+        private String path;
+
+        /** File size at which the audit log is rolled */
+        private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+        /** Number of rolled audit log files kept */
+        private int maxHistory = 5;
+    }
+
+    /** Micrometer metrics of the auth pipeline */
+    @Data
+    public static class MetricsConfig {
+        /** Time token verification, JWKS fetches, Gateway calls and aspect checks */
+        private boolean enabled = true;
+
+        /** Publish percentile histograms for the timers */
+        private boolean histograms;
+
+        /** Record hit/miss/eviction statistics of the auto-configured Caffeine caches */
+        private boolean cacheStatistics = true;
+    }
+
+    /** Java Flight Recorder events of the auth pipeline */
+    @Data
+    public static class JfrConfig {
+        /** Emit flight recorder events while a recording has them enabled */
+        private boolean enabled = true;
+    }
+
+    /** Actuator health indicators for the JWKS keys and the permission Gateway */
+    @Data
+    public static class HealthConfig {
+        /** Register the authKeys and authGateway health indicators */
+        private boolean enabled = true;
+
+        /** Minimum time between two probes; results are cached in between */
+        private Duration interval = Duration.ofSeconds(10);
+
+        /** Maximum time the Gateway probe waits for an answer */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    /** Warm-up of the auth pipeline before the application accepts traffic */
+    @Data
+    public static class WarmUpConfig {
+        /** Fetch keys, open a Gateway connection and run synthetic checks on ApplicationReadyEvent */
+        private boolean enabled;
+
+        /** Maximum random delay before the warm-up, so pods started together do not stampede */
+        private Duration jitter = Duration.ofSeconds(2);
+
+        /** Number of synthetic token verifications and permission checks */
+        private int iterations = 2000;
+
+        /** Time after which the synthetic checks stop, whatever the iteration count */
+        private Duration maxDuration = Duration.ofSeconds(10);
+    }
+
+    /** HTTP client of the JWKS and Gateway calls */
+    @Data
+    public static class HttpConfig {
+        /**
+         * "webclient" (Spring WebFlux) or "jdk" (java.net.http); WebClient is used when WebFlux
+         * is on the classpath unless set to "jdk"
+         */
+        private String client;
     }
 }
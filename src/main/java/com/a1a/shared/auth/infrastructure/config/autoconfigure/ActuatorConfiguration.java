@@ -0,0 +1,89 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.infrastructure.actuator.AuthEndpoint;
+import com.a1a.shared.auth.infrastructure.actuator.GatewayHealthIndicator;
+import com.a1a.shared.auth.infrastructure.actuator.JwksHealthIndicator;
+import com.a1a.shared.auth.infrastructure.adapter.http.HttpClientFactory;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for the Spring Boot Actuator integration.
+ *
+ * <p>
+ * Activated when Spring Boot Actuator is on the classpath. The endpoint is
+ * only reachable once exposed with management.endpoints.web.exposure.include.
+ *
+ * <p>
+ * The authKeys and authGateway health indicators can hold pods out of
+ * rotation until they are warm:
+ * management.endpoint.health.group.readiness.include=readinessState,authKeys,authGateway
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+public class ActuatorConfiguration {
+
+    /** Key ring, permission cache and Gateway state, with forced refresh and invalidation */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthEndpoint authEndpoint(
+            ObjectProvider<JwksPort> jwksPort,
+            @Qualifier("permissionCache") ObjectProvider<CachePort<AccountKey, PermissionSnapshot>> permissionCache,
+            ObjectProvider<PermissionLoaderUseCase> permissionLoader,
+            ObjectProvider<GatewayPermissionClientUseCase> gatewayPermissionClient) {
+        return new AuthEndpoint(
+                jwksPort.getIfAvailable(),
+                permissionCache.getIfAvailable(),
+                permissionLoader.getIfAvailable(),
+                gatewayPermissionClient.getIfAvailable());
+    }
+
+    /** Health indicators, registered unless app.auth.health.enabled=false */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.auth.health", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class HealthIndicators {
+
+        /** Readiness of JWT verification: up once a valid key ring is loaded */
+        @Bean
+        @ConditionalOnMissingBean(name = "authKeysHealthIndicator")
+        @ConditionalOnBean(JwksPort.class)
+        @ConditionalOnProperty(prefix = "app.auth.jwks", name = "enabled", havingValue = "true")
+        public JwksHealthIndicator authKeysHealthIndicator(JwksPort jwksPort, AuthProperties properties) {
+            return new JwksHealthIndicator(jwksPort, properties.getHealth().getInterval());
+        }
+
+        /** Reachability of the permission Gateway */
+        @Bean
+        @ConditionalOnMissingBean(name = "authGatewayHealthIndicator")
+        @ConditionalOnProperty(prefix = "app.auth.permission", name = "url")
+        public GatewayHealthIndicator authGatewayHealthIndicator(
+                @Qualifier("gatewayHttpClient") ObjectProvider<HttpClientPort> gatewayHttpClient,
+                HttpClientFactory httpClientFactory,
+                AuthProperties properties,
+                ObjectProvider<GatewayPermissionClientUseCase> gatewayPermissionClient) {
+            AuthProperties.HealthConfig health = properties.getHealth();
+            return new GatewayHealthIndicator(
+                    gatewayHttpClient.getIfAvailable(
+                            () -> httpClientFactory.create(health.getTimeout(), health.getTimeout())),
+                    properties.getPermission().getUrl(),
+                    health.getTimeout(),
+                    gatewayPermissionClient.getIfAvailable(),
+                    health.getInterval());
+        }
+    }
+}
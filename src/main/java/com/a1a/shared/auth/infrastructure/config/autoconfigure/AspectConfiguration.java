@@ -1,10 +1,17 @@
 package com.a1a.shared.auth.infrastructure.config.autoconfigure;
 
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.application.port.driven.AuthorizationAuditPort;
 import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionValidatorUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.domain.model.FabricPermission;
+import com.a1a.shared.auth.domain.model.PermissionCodeRegistry;
 import com.a1a.shared.auth.infrastructure.aspect.PermissionCheckAspect;
+import com.a1a.shared.auth.infrastructure.aspect.PermissionExpressionCompiler;
 import com.a1a.shared.auth.infrastructure.aspect.RoleCheckAspect;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -23,20 +30,78 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 @EnableAspectJAutoProxy
 public class AspectConfiguration {
 
+    /**
+     * Known permission codes used to validate @RequirePermissionExpr expressions.
+     *
+     * <p>
+     * Defaults to {@link FabricPermission}; applications with other permission
+     * enums define their own registry bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PermissionCodeRegistry permissionCodeRegistry() {
+        return PermissionCodeRegistry.of(FabricPermission.values());
+    }
+
+    /**
+     * Compiles @RequirePermissionExpr expressions at startup; invalid expressions
+     * fail the application context. The registry is resolved on the first compile so
+     * that registering this post-processor does not instantiate it early
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static PermissionExpressionCompiler permissionExpressionCompiler(
+            ObjectProvider<PermissionCodeRegistry> permissionCodeRegistry) {
+        return new PermissionExpressionCompiler(permissionCodeRegistry::getIfAvailable);
+    }
+
     /** Permission check aspect for @RequirePermission annotations */
     @Bean
     @ConditionalOnMissingBean
     public PermissionCheckAspect permissionCheckAspect(
             GetAuthenticatedUserUseCase getAuthenticatedUser,
-            PermissionValidatorUseCase permissionValidator) {
-        return new PermissionCheckAspect(getAuthenticatedUser, permissionValidator);
+            PermissionValidatorUseCase permissionValidator,
+            PermissionExpressionCompiler permissionExpressionCompiler,
+            ObjectProvider<ReactiveGetAuthenticatedUserUseCase> reactiveGetAuthenticatedUser,
+            ObjectProvider<AuthorizationAuditPort> auditPort,
+            ObjectProvider<AuthMetricsPort> authMetrics) {
+        // Mono/Flux-returning methods are checked on subscription in reactive applications
+        return new PermissionCheckAspect(
+                getAuthenticatedUser,
+                permissionValidator,
+                permissionExpressionCompiler,
+                reactiveGetAuthenticatedUser.getIfAvailable(),
+                decisionPort(auditPort, authMetrics));
     }
 
     /** Role check aspect for @RequireRole annotations */
     @Bean
     @ConditionalOnMissingBean
-    public RoleCheckAspect roleCheckAspect(GetAuthenticatedUserUseCase getAuthenticatedUser) {
-        return new RoleCheckAspect(getAuthenticatedUser);
+    public RoleCheckAspect roleCheckAspect(
+            GetAuthenticatedUserUseCase getAuthenticatedUser,
+            ObjectProvider<ReactiveGetAuthenticatedUserUseCase> reactiveGetAuthenticatedUser,
+            ObjectProvider<AuthorizationAuditPort> auditPort,
+            ObjectProvider<AuthMetricsPort> authMetrics) {
+        return new RoleCheckAspect(
+                getAuthenticatedUser,
+                reactiveGetAuthenticatedUser.getIfAvailable(),
+                decisionPort(auditPort, authMetrics));
+    }
+
+    /** Decisions go to the audit log, if any, and to the metrics, if enabled */
+    private static AuthorizationAuditPort decisionPort(
+            ObjectProvider<AuthorizationAuditPort> auditPort, ObjectProvider<AuthMetricsPort> authMetrics) {
+        AuthorizationAuditPort audit = auditPort.getIfAvailable(() -> AuthorizationAuditPort.NONE);
+        AuthMetricsPort metrics = MetricsPorts.resolve(authMetrics);
+        if (metrics == AuthMetricsPort.NONE) {
+            return audit;
+        }
+        AuthorizationAuditPort timed = (check, userId, username, method, requirement, granted, latencyNanos) -> {
+            if (metrics.isEnabled()) {
+                metrics.authorizationDecided(check, method, granted, latencyNanos);
+            }
+        };
+        return audit == AuthorizationAuditPort.NONE ? timed : audit.andThen(timed);
     }
 }
 
@@ -0,0 +1,56 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.AuditSinkPort;
+import com.a1a.shared.auth.application.port.driven.AuthorizationAuditPort;
+import com.a1a.shared.auth.infrastructure.audit.RingBufferAuditLog;
+import com.a1a.shared.auth.infrastructure.audit.RollingFileAuditSink;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Auto-configuration for the authorization audit log.
+ *
+ * <p>
+ * Activated when app.auth.audit-log.enabled=true. Decisions of the permission
+ * and role aspects are buffered and written by a background thread to the
+ * {@link AuditSinkPort}, a rolling local file unless the application defines
+ * its own sink.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.auth.audit-log", name = "enabled", havingValue = "true")
+public class AuditLogConfiguration {
+
+    /** Default sink: JSON lines in a rolling local file */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditSinkPort auditSink(AuthProperties properties) {
+        AuthProperties.AuditLogConfig auditLog = properties.getAuditLog();
+        if (auditLog.getPath() == null || auditLog.getPath().isBlank()) {
+            throw new IllegalStateException(
+                    "app.auth.audit-log.path is required when the audit log is enabled without an AuditSinkPort bean");
+        }
+        return new RollingFileAuditSink(
+                Path.of(auditLog.getPath()),
+                auditLog.getMaxFileSize().toBytes(),
+                auditLog.getMaxHistory());
+    }
+
+    /** Ring buffer between the aspects and the sink */
+    @Bean
+    @ConditionalOnMissingBean(AuthorizationAuditPort.class)
+    public RingBufferAuditLog authorizationAuditLog(AuditSinkPort auditSink, AuthProperties properties) {
+        AuthProperties.AuditLogConfig auditLog = properties.getAuditLog();
+        return new RingBufferAuditLog(
+                auditSink,
+                auditLog.getBufferSize(),
+                auditLog.getBatchSize(),
+                auditLog.getBackPressure(),
+                auditLog.getPollInterval());
+    }
+}
@@ -1,10 +1,14 @@
 package com.a1a.shared.auth.infrastructure.config.autoconfigure;
 
 import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.exceptionhandler.DenyPathStackTraces;
+
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
 /**
@@ -17,9 +21,16 @@ import org.springframework.context.annotation.Import;
  * <p>
  * This is the entry point that imports all sub-configurations:
  * <ul>
+ * <li>{@link HttpClientConfiguration} - HTTP client for JWKS and Gateway calls
  * <li>{@link JwksConfiguration} - JWT token verification
  * <li>{@link PermissionConfiguration} - Permission and role validation
  * <li>{@link AspectConfiguration} - AOP aspects for annotations
+ * <li>{@link MetricsConfiguration} - Micrometer metrics (when on classpath)
+ * <li>{@link JfrConfiguration} - Flight recorder events (when available)
+ * <li>{@link ActuatorConfiguration} - Actuator endpoint (when on classpath)
+ * <li>{@link SnapshotConfiguration} - Warm-restart snapshots (opt-in)
+ * <li>{@link AuditLogConfiguration} - Authorization audit log (opt-in)
+ * <li>{@link WarmUpConfiguration} - Startup warm-up (opt-in)
  * </ul>
  *
  * <p>
@@ -31,9 +42,18 @@ import org.springframework.context.annotation.Import;
 @ConditionalOnClass(name = "org.springframework.security.core.Authentication")
 @ConditionalOnProperty(prefix = "a1a.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties(AuthProperties.class)
-@Import({ JwksConfiguration.class, PermissionConfiguration.class, AspectConfiguration.class })
+@Import({ HttpClientConfiguration.class, JwksConfiguration.class, PermissionConfiguration.class,
+        AspectConfiguration.class, MetricsConfiguration.class, JfrConfiguration.class, ActuatorConfiguration.class,
+        SnapshotConfiguration.class, AuditLogConfiguration.class, WarmUpConfiguration.class })
 public class AuthAutoConfiguration {
     // Main auto-configuration entry point
-    // Bean definitions are in imported configurations
+    // Feature bean definitions are in imported configurations
+
+    /** Applies app.auth.deny-path to IAM exceptions while the context is open */
+    @Bean
+    @ConditionalOnMissingBean
+    public DenyPathStackTraces denyPathStackTraces(AuthProperties properties) {
+        return new DenyPathStackTraces(properties.getDenyPath());
+    }
 }
 
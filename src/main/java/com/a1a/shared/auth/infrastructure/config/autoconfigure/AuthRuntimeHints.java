@@ -0,0 +1,73 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.dto.ApiError;
+import com.a1a.shared.auth.application.dto.GatewayPermissionResponse;
+import com.a1a.shared.auth.application.port.annotation.RequireAllPermissions;
+import com.a1a.shared.auth.application.port.annotation.RequireAllRoles;
+import com.a1a.shared.auth.application.port.annotation.RequireAnyPermission;
+import com.a1a.shared.auth.application.port.annotation.RequireAnyRole;
+import com.a1a.shared.auth.application.port.annotation.RequirePermission;
+import com.a1a.shared.auth.application.port.annotation.RequirePermissionExpr;
+import com.a1a.shared.auth.application.port.annotation.RequireRole;
+import com.a1a.shared.auth.infrastructure.aspect.PermissionCheckAspect;
+import com.a1a.shared.auth.infrastructure.aspect.RoleCheckAspect;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native image hints for what the library reaches through reflection or resources.
+ *
+ * <ul>
+ *   <li>Jackson binding of the Gateway response and the error body
+ *   <li>advice methods of the aspects and the attributes of the annotations they read with {@code
+ *       Method.getAnnotation}
+ *   <li>the RSA key factory and SHA256withRSA signature of the JDK provider, which {@code
+ *       KeyFactory.getInstance("RSA")} and Nimbus instantiate reflectively
+ *   <li>the flight recorder settings file
+ * </ul>
+ *
+ * <p>{@code AuthProperties} binding and the actuator endpoint's descriptors are covered by Spring
+ * Boot's own AOT processing. Registered through META-INF/spring/aot.factories.
+ */
+public class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ANNOTATIONS = List.of(
+            RequirePermission.class,
+            RequireAnyPermission.class,
+            RequireAllPermissions.class,
+            RequirePermissionExpr.class,
+            RequireRole.class,
+            RequireAnyRole.class,
+            RequireAllRoles.class);
+
+    private static final List<String> CRYPTO_SERVICES = List.of(
+            "sun.security.rsa.RSAKeyFactory$Legacy",
+            "sun.security.rsa.RSASignature$SHA256withRSA",
+            "sun.security.rsa.RSAKeyPairGenerator$Legacy");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar()
+                .registerReflectionHints(hints.reflection(), GatewayPermissionResponse.class, ApiError.class);
+
+        hints.reflection().registerTypes(
+                List.of(TypeReference.of(PermissionCheckAspect.class), TypeReference.of(RoleCheckAspect.class)),
+                type -> type.withMembers(MemberCategory.INVOKE_PUBLIC_METHODS));
+        for (Class<?> annotation : ANNOTATIONS) {
+            hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (String service : CRYPTO_SERVICES) {
+            hints.reflection().registerTypeIfPresent(
+                    classLoader, service, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        hints.resources().registerPattern("META-INF/jfr/a1a-auth.jfc");
+    }
+}
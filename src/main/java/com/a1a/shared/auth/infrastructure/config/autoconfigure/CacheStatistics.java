@@ -0,0 +1,28 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Caffeine builders for the auto-configured caches.
+ *
+ * <p>Statistics are only recorded when they can be exported, i.e. Micrometer is on the classpath
+ * and app.auth.metrics.enabled and app.auth.metrics.cache-statistics are not turned off.
+ */
+final class CacheStatistics {
+    private static final boolean MICROMETER_PRESENT = ClassUtils.isPresent(
+            "io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics", CacheStatistics.class.getClassLoader());
+
+    private CacheStatistics() {}
+
+    static Caffeine<Object, Object> newBuilder(AuthProperties properties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        AuthProperties.MetricsConfig metrics = properties.getMetrics();
+        if (MICROMETER_PRESENT && metrics.isEnabled() && metrics.isCacheStatistics()) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,51 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.infrastructure.adapter.http.HttpClientFactory;
+import com.a1a.shared.auth.infrastructure.adapter.http.JdkHttpClientAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.http.WebClientHttpAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Auto-configuration for the HTTP client of the JWKS and Gateway calls.
+ *
+ * <p>
+ * Uses WebClient when Spring WebFlux is on the classpath, and the JDK HTTP
+ * client otherwise or when app.auth.http.client=jdk. Servlet applications can
+ * exclude spring-boot-starter-webflux, which leaves Reactor Netty and its event
+ * loops out of the application.
+ */
+@Configuration
+public class HttpClientConfiguration {
+
+    /** WebClient-based clients, sharing the customizations of the application's WebClient.Builder */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+    @ConditionalOnProperty(prefix = "app.auth.http", name = "client", havingValue = "webclient", matchIfMissing = true)
+    static class WebClientHttp {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public HttpClientFactory authHttpClientFactory(ObjectProvider<WebClient.Builder> webClientBuilder) {
+            WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder);
+            return (connectTimeout, readTimeout) -> new WebClientHttpAdapter(builder, connectTimeout, readTimeout);
+        }
+    }
+
+    /** JDK HTTP client, when WebFlux is not on the classpath or app.auth.http.client=jdk */
+    @Bean
+    @ConditionalOnMissingBean
+    public HttpClientFactory jdkHttpClientFactory(ObjectProvider<ObjectMapper> objectMapper) {
+        ObjectMapper mapper = objectMapper.getIfAvailable();
+        return (connectTimeout, readTimeout) -> mapper != null
+                ? new JdkHttpClientAdapter(mapper, connectTimeout, readTimeout)
+                : new JdkHttpClientAdapter(connectTimeout, readTimeout);
+    }
+}
@@ -0,0 +1,30 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.infrastructure.jfr.JfrAuthMetrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for Java Flight Recorder events.
+ *
+ * <p>
+ * Activated when the runtime includes the jdk.jfr module. The events cost
+ * nothing until a recording enables them; see {@link JfrAuthMetrics} for
+ * using the recording settings in META-INF/jfr/a1a-auth.jfc.
+ */
+@Configuration
+@ConditionalOnClass(name = "jdk.jfr.Event")
+@ConditionalOnProperty(prefix = "app.auth.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfiguration {
+
+    /** Token verification, JWKS, Gateway and authorization decision events */
+    @Bean
+    @ConditionalOnMissingBean
+    public JfrAuthMetrics jfrAuthMetrics() {
+        return new JfrAuthMetrics();
+    }
+}
@@ -1,24 +1,44 @@
 package com.a1a.shared.auth.infrastructure.config.autoconfigure;
 
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
 import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
 import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveTokenVerificationUseCase;
 import com.a1a.shared.auth.application.port.driving.TokenVerificationUseCase;
+import com.a1a.shared.auth.application.service.ClaimMapper;
+import com.a1a.shared.auth.application.service.CompiledClaimMapper;
+import com.a1a.shared.auth.application.service.IssuerRegistry;
+import com.a1a.shared.auth.application.service.ReactiveTokenVerificationService;
 import com.a1a.shared.auth.application.service.TokenVerificationService;
+import com.a1a.shared.auth.application.service.TrustedIssuer;
 import com.a1a.shared.auth.infrastructure.adapter.JwksAdapter;
 import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.http.HttpClientFactory;
 import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.security.FailedAuthRateLimiter;
 import com.a1a.shared.auth.infrastructure.security.JwtAuthFilter;
+import com.a1a.shared.auth.infrastructure.security.JwtAuthWebFilter;
+import com.a1a.shared.auth.infrastructure.security.WhiteListMatcher;
 import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Auto-configuration for JWT/JWKS token verification.
@@ -40,7 +60,7 @@ public class JwksConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "publicKeyCache")
     public CachePort<String, RSAPublicKey> publicKeyCache(AuthProperties properties) {
-        Cache<String, RSAPublicKey> cache = Caffeine.newBuilder()
+        Cache<String, RSAPublicKey> cache = CacheStatistics.newBuilder(properties)
                 .maximumSize(properties.getCache().getMaxSize())
                 .expireAfterWrite(properties.getCache().getTtl())
                 .build();
@@ -48,29 +68,218 @@ public class JwksConfiguration {
         return new CaffeineAdapter<>(cache);
     }
 
+    /** HTTP client for the JWKS endpoint, with the JWKS timeouts */
+    @Bean
+    @ConditionalOnMissingBean(name = "jwksHttpClient")
+    public HttpClientPort jwksHttpClient(HttpClientFactory httpClientFactory, AuthProperties properties) {
+        AuthProperties.JwksConfig jwks = properties.getJwks();
+        return httpClientFactory.create(jwks.getConnectTimeout(), jwks.getReadTimeout());
+    }
+
     /** JWKS adapter for fetching public/public keys for token verification */
     @Bean
     @ConditionalOnMissingBean
     public JwksPort jwksPort(
-            WebClient.Builder webClientBuilder,
+            @Qualifier("jwksHttpClient") HttpClientPort jwksHttpClient,
             CachePort<String, RSAPublicKey> publicKeyCache,
-            AuthProperties properties) {
-        return new JwksAdapter(webClientBuilder, publicKeyCache, properties);
+            AuthProperties properties,
+            ObjectProvider<AuthMetricsPort> authMetrics) {
+        return new JwksAdapter(
+                jwksHttpClient, publicKeyCache, properties, MetricsPorts.resolve(authMetrics));
     }
 
-    /** Token verification service - main use case for JWT authentication */
+    /**
+     * Token verification service - main use case for JWT authentication.
+     *
+     * <p>
+     * Routes tokens on their issuer when app.auth.jwks.issuers is set.
+     */
     @Bean
     @ConditionalOnMissingBean
     public TokenVerificationUseCase tokenVerificationService(
-            JwksPort jwksPort, AuthProperties properties) {
-        return new TokenVerificationService(jwksPort, properties);
+            JwksPort jwksPort,
+            @Qualifier("jwksHttpClient") ObjectProvider<HttpClientPort> jwksHttpClient,
+            AuthProperties properties,
+            ObjectProvider<AuthMetricsPort> authMetrics,
+            ListableBeanFactory beanFactory) {
+        AuthMetricsPort metrics = MetricsPorts.resolve(authMetrics);
+        Map<String, ClaimMapper> claimMappers = new HashMap<>();
+        return new TokenVerificationService(
+                jwksPort,
+                properties,
+                metrics,
+                issuerRegistry(jwksPort, jwksHttpClient, properties, metrics, beanFactory, claimMappers),
+                claimMapper(
+                        "app.auth.jwks.claim-mapping",
+                        properties.getJwks().getClaimMapping(),
+                        properties,
+                        beanFactory,
+                        claimMappers));
     }
 
-    /** JWT authentication filter for Spring Security */
+    /** Trusted issuers of app.auth.jwks.issuers, null if none are configured */
+    private static IssuerRegistry issuerRegistry(
+            JwksPort jwksPort,
+            ObjectProvider<HttpClientPort> jwksHttpClient,
+            AuthProperties properties,
+            AuthMetricsPort metrics,
+            ListableBeanFactory beanFactory,
+            Map<String, ClaimMapper> claimMappers) {
+        Map<String, AuthProperties.IssuerConfig> configs = properties.getJwks().getIssuers();
+        if (configs.isEmpty()) {
+            return null;
+        }
+
+        List<TrustedIssuer> issuers = new ArrayList<>();
+        configs.forEach(
+                (name, config) -> {
+                    if (config.getIssuer() == null || config.getIssuer().isBlank()) {
+                        throw new IllegalStateException("app.auth.jwks.issuers." + name + ".issuer is required");
+                    }
+                    JwksPort issuerJwksPort = config.getJwksUrl() != null
+                            ? issuerJwksPort(config, jwksHttpClient.getObject(), properties, metrics)
+                            : jwksPort;
+                    issuers.add(new TrustedIssuer(
+                            name,
+                            config.getIssuer(),
+                            issuerJwksPort,
+                            List.copyOf(config.getAudiences()),
+                            claimMapper(
+                                    "app.auth.jwks.issuers." + name + ".claim-mapping",
+                                    config.getClaimMapping(),
+                                    properties,
+                                    beanFactory,
+                                    claimMappers)));
+                });
+        return new IssuerRegistry(issuers);
+    }
+
+    /** Keys of one issuer, with a cache of their own so they refresh independently */
+    private static JwksPort issuerJwksPort(
+            AuthProperties.IssuerConfig config,
+            HttpClientPort httpClient,
+            AuthProperties properties,
+            AuthMetricsPort metrics) {
+        Duration ttl = config.getCacheTtl() != null ? config.getCacheTtl() : properties.getCache().getTtl();
+        Cache<String, RSAPublicKey> cache = CacheStatistics.newBuilder(properties)
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build();
+        return new JwksAdapter(httpClient, config.getJwksUrl(), ttl, new CaffeineAdapter<>(cache), metrics);
+    }
+
+    /**
+     * Mapper of a profile: a mapping of app.auth.claim-mappings, compiled once per profile, the
+     * built-in "account" layout or a ClaimMapper bean
+     */
+    private static ClaimMapper claimMapper(
+            String property,
+            String profile,
+            AuthProperties properties,
+            ListableBeanFactory beanFactory,
+            Map<String, ClaimMapper> claimMappers) {
+        String name = profile != null ? profile : CompiledClaimMapper.ACCOUNT_PROFILE;
+        return claimMappers.computeIfAbsent(
+                name,
+                key -> {
+                    AuthProperties.ClaimMappingConfig config = properties.getClaimMappings().get(key);
+                    if (config != null) {
+                        try {
+                            return CompiledClaimMapper.compile(config);
+                        } catch (IllegalArgumentException ex) {
+                            throw new IllegalStateException(
+                                    "Invalid claim mapping app.auth.claim-mappings." + key + ": " + ex.getMessage(), ex);
+                        }
+                    }
+                    if (CompiledClaimMapper.ACCOUNT_PROFILE.equals(key)) {
+                        return CompiledClaimMapper.ACCOUNT;
+                    }
+                    if (!beanFactory.containsBean(key)) {
+                        throw new IllegalStateException("Unknown claim mapping '" + key + "' in " + property);
+                    }
+                    return beanFactory.getBean(key, ClaimMapper.class);
+                });
+    }
+
+    /** Reactive token verification for WebFlux applications */
     @Bean
     @ConditionalOnMissingBean
-    public JwtAuthFilter jwtAuthFilter(TokenVerificationUseCase tokenVerificationService) {
-        return new JwtAuthFilter(tokenVerificationService);
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveTokenVerificationUseCase reactiveTokenVerificationService(
+            TokenVerificationUseCase tokenVerificationService,
+            JwksPort jwksPort,
+            AuthProperties properties) {
+        return new ReactiveTokenVerificationService(tokenVerificationService, jwksPort, properties);
+    }
+
+    /** Limiter of failed authentications per client, shared by the servlet and reactive filters */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.auth.security.rate-limit", name = "enabled", havingValue = "true")
+    public FailedAuthRateLimiter failedAuthRateLimiter(AuthProperties properties) {
+        AuthProperties.SecurityConfig.RateLimitConfig rateLimit = properties.getSecurity().getRateLimit();
+        return new FailedAuthRateLimiter(
+                rateLimit.getKeyHeader(),
+                rateLimit.getTrustedProxies(),
+                rateLimit.getBurst(),
+                rateLimit.getFailuresPerSecond(),
+                rateLimit.getMaxClients(),
+                rateLimit.getIdleTimeout());
     }
-}
 
+    /**
+     * JWT authentication filter for Spring Security.
+     *
+     * <p>
+     * Prefetches permissions when app.auth.permission.prefetch.enabled=true, and
+     * skips white-listed URLs when
+     * app.auth.security.skip-white-list-authentication=true, and throttles
+     * failing clients when app.auth.security.rate-limit.enabled=true.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public JwtAuthFilter jwtAuthFilter(
+            TokenVerificationUseCase tokenVerificationService,
+            ObjectProvider<PermissionLoaderUseCase> permissionLoader,
+            ObjectProvider<FailedAuthRateLimiter> rateLimiter,
+            AuthProperties properties) {
+        return new JwtAuthFilter(
+                tokenVerificationService,
+                prefetchLoader(permissionLoader, properties),
+                whiteListMatcher(properties),
+                rateLimiter.getIfAvailable());
+    }
+
+    /**
+     * JWT authentication filter for Spring Security WebFlux, configured like
+     * {@link #jwtAuthFilter}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public JwtAuthWebFilter jwtAuthWebFilter(
+            ReactiveTokenVerificationUseCase reactiveTokenVerificationService,
+            ObjectProvider<PermissionLoaderUseCase> permissionLoader,
+            ObjectProvider<FailedAuthRateLimiter> rateLimiter,
+            AuthProperties properties) {
+        return new JwtAuthWebFilter(
+                reactiveTokenVerificationService,
+                prefetchLoader(permissionLoader, properties),
+                whiteListMatcher(properties),
+                rateLimiter.getIfAvailable());
+    }
+
+    private static PermissionLoaderUseCase prefetchLoader(
+            ObjectProvider<PermissionLoaderUseCase> permissionLoader, AuthProperties properties) {
+        return properties.getPermission().getPrefetch().isEnabled()
+                ? permissionLoader.getIfAvailable()
+                : null;
+    }
+
+    private static WhiteListMatcher whiteListMatcher(AuthProperties properties) {
+        return properties.getSecurity().isSkipWhiteListAuthentication()
+                ? new WhiteListMatcher(properties.getSecurity().getWhiteListUrls())
+                : null;
+    }
+}
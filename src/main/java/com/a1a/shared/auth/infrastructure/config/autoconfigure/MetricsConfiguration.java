@@ -0,0 +1,100 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.service.AuthorizationDecisionCache;
+import com.a1a.shared.auth.infrastructure.audit.RingBufferAuditLog;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.metrics.AuditLogMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.AuthCacheMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.AuthorizationDecisionMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.FailedAuthRateLimiterMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.GatewayHedgingMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.GatewayResilienceMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.JwtAuthFilterMetrics;
+import com.a1a.shared.auth.infrastructure.metrics.MicrometerAuthMetrics;
+import com.a1a.shared.auth.infrastructure.resilience.HedgePolicy;
+import com.a1a.shared.auth.infrastructure.security.AuthFilterStatistics;
+import com.a1a.shared.auth.infrastructure.security.FailedAuthRateLimiter;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for Micrometer metrics.
+ *
+ * <p>
+ * Activated when Micrometer is on the classpath. Meter binders are picked up
+ * by Spring Boot Actuator's meter registry; without Micrometer none of the
+ * metric classes are loaded.
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class MetricsConfiguration {
+
+    /** Timers and denial counters of the auth pipeline, recorded once bound to the registry */
+    @Bean
+    @ConditionalOnMissingBean(MicrometerAuthMetrics.class)
+    @ConditionalOnProperty(prefix = "app.auth.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MicrometerAuthMetrics authMetrics(AuthProperties properties) {
+        return new MicrometerAuthMetrics(properties.getMetrics().isHistograms());
+    }
+
+    /** Statistics of the Caffeine caches behind CachePort beans */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.auth.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AuthCacheMetrics authCacheMetrics(ListableBeanFactory beanFactory) {
+        return new AuthCacheMetrics(beanFactory.getBeansOfType(CachePort.class));
+    }
+
+    /** Circuit breaker, bulkhead and retry metrics for the permission Gateway */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.auth.permission.resilience", name = "enabled", havingValue = "true")
+    public GatewayResilienceMetrics gatewayResilienceMetrics(
+            GatewayPermissionClientUseCase gatewayPermissionClient,
+            PermissionLoaderUseCase permissionLoader) {
+        return new GatewayResilienceMetrics(gatewayPermissionClient, permissionLoader);
+    }
+
+    /** Hedged request metrics for the permission Gateway */
+    @Bean
+    @ConditionalOnBean(HedgePolicy.class)
+    public GatewayHedgingMetrics gatewayHedgingMetrics(HedgePolicy gatewayHedgePolicy) {
+        return new GatewayHedgingMetrics(gatewayHedgePolicy);
+    }
+
+    /** Authorization decision cache hit/miss metrics */
+    @Bean
+    @ConditionalOnBean(AuthorizationDecisionCache.class)
+    public AuthorizationDecisionMetrics authorizationDecisionMetrics(
+            AuthorizationDecisionCache authorizationDecisionCache) {
+        return new AuthorizationDecisionMetrics(authorizationDecisionCache);
+    }
+
+    /** Filtered versus white-list bypassed request counts of the JWT filter */
+    @Bean
+    @ConditionalOnBean(AuthFilterStatistics.class)
+    public JwtAuthFilterMetrics jwtAuthFilterMetrics(AuthFilterStatistics jwtAuthFilter) {
+        return new JwtAuthFilterMetrics(jwtAuthFilter);
+    }
+
+    /** Failed authentication rate limiter metrics */
+    @Bean
+    @ConditionalOnBean(FailedAuthRateLimiter.class)
+    public FailedAuthRateLimiterMetrics failedAuthRateLimiterMetrics(FailedAuthRateLimiter failedAuthRateLimiter) {
+        return new FailedAuthRateLimiterMetrics(failedAuthRateLimiter);
+    }
+
+    /** Authorization audit log throughput and loss metrics */
+    @Bean
+    @ConditionalOnBean(RingBufferAuditLog.class)
+    public AuditLogMetrics auditLogMetrics(RingBufferAuditLog authorizationAuditLog) {
+        return new AuditLogMetrics(authorizationAuditLog);
+    }
+}
@@ -0,0 +1,20 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Resolution of the {@link AuthMetricsPort} handed to the instrumented services.
+ *
+ * <p>Every AuthMetricsPort bean receives the measurements (e.g. Micrometer and JFR side by side);
+ * without any, the services get {@link AuthMetricsPort#NONE}.
+ */
+final class MetricsPorts {
+
+    private MetricsPorts() {}
+
+    static AuthMetricsPort resolve(ObjectProvider<AuthMetricsPort> ports) {
+        return AuthMetricsPort.composite(ports.orderedStream().toList());
+    }
+}
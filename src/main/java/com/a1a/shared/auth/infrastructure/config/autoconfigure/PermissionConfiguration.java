@@ -1,22 +1,47 @@
 package com.a1a.shared.auth.infrastructure.config.autoconfigure;
 
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driven.PermissionMatrixPort;
 import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
 import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveGetAuthenticatedUserUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
 import com.a1a.shared.auth.application.port.driving.PermissionValidatorUseCase;
 import com.a1a.shared.auth.application.port.driving.RoleValidatorUseCase;
+import com.a1a.shared.auth.application.service.AuthorizationDecisionCache;
 import com.a1a.shared.auth.application.service.GatewayPermissionClientService;
 import com.a1a.shared.auth.application.service.GatewayPermissionLoaderService;
 import com.a1a.shared.auth.application.service.GetAuthenticatedUserService;
+import com.a1a.shared.auth.application.service.ReactiveGetAuthenticatedUserService;
 import com.a1a.shared.auth.application.service.PermissionValidatorService;
+import com.a1a.shared.auth.application.service.RoleMatrixPermissionLoaderService;
 import com.a1a.shared.auth.application.service.RoleValidatorService;
-
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.infrastructure.adapter.GatewayPermissionMatrixAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.http.HttpClientFactory;
 import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.resilience.HedgePolicy;
+import com.a1a.shared.auth.infrastructure.resilience.ResilientGatewayPermissionClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Auto-configuration for permission and role validation.
@@ -24,6 +49,7 @@ import org.springframework.web.reactive.function.client.WebClient;
  * <p>
  * Activated when a1a.auth.permission.enabled=true (default).
  */
+@Slf4j
 @Configuration
 @ConditionalOnProperty(prefix = "a1a.auth.permission", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class PermissionConfiguration {
@@ -37,29 +63,192 @@ public class PermissionConfiguration {
         return new GetAuthenticatedUserService();
     }
 
-    /** Gateway permission client - fetches permissions from external API */
+    /** Reactive user lookup from the Reactor context, for WebFlux applications */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveGetAuthenticatedUserUseCase reactiveGetAuthenticatedUser() {
+        return new ReactiveGetAuthenticatedUserService();
+    }
+
+    /**
+     * Hedge policy for Gateway calls - tracks Gateway latency and caps the hedge
+     * rate
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.auth.permission.hedging", name = "enabled", havingValue = "true")
+    public HedgePolicy gatewayHedgePolicy(AuthProperties properties) {
+        return new HedgePolicy(
+                properties.getPermission().getHedging(), properties.getPermission().getReadTimeout());
+    }
+
+    /**
+     * HTTP client for the permission Gateway, with the Gateway timeouts; shared by
+     * the permission client, the matrix download, the health indicator and the
+     * warm-up, so they use the same connection pool
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "gatewayHttpClient")
+    public HttpClientPort gatewayHttpClient(HttpClientFactory httpClientFactory, AuthProperties properties) {
+        AuthProperties.PermissionConfig permission = properties.getPermission();
+        return httpClientFactory.create(permission.getConnectTimeout(), permission.getReadTimeout());
+    }
+
+    /**
+     * Gateway permission client - fetches permissions from external API.
+     *
+     * <p>
+     * Wrapped with bulkhead, circuit breaker and retries when
+     * app.auth.permission.resilience.enabled=true.
+     */
     @Bean
     @ConditionalOnMissingBean
     public GatewayPermissionClientUseCase gatewayPermissionClient(
-            WebClient.Builder webClientBuilder, AuthProperties properties) {
-        return new GatewayPermissionClientService(webClientBuilder, properties);
+            @Qualifier("gatewayHttpClient") HttpClientPort gatewayHttpClient,
+            AuthProperties properties,
+            ObjectProvider<HedgePolicy> gatewayHedgePolicy,
+            ObjectProvider<AuthMetricsPort> authMetrics) {
+        GatewayPermissionClientUseCase client = new GatewayPermissionClientService(
+                gatewayHttpClient,
+                properties,
+                gatewayHedgePolicy.getIfAvailable(),
+                MetricsPorts.resolve(authMetrics));
+
+        AuthProperties.ResilienceConfig resilience = properties.getPermission().getResilience();
+        if (resilience.isEnabled()) {
+            return new ResilientGatewayPermissionClient(client, resilience);
+        }
+        return client;
+    }
+
+    /**
+     * Creates a Caffeine-based cache for storing loaded permission sets per user.
+     *
+     * <p>
+     * Entries are kept for the longer of the fresh TTL and the stale-if-error
+     * window.
+     *
+     * @param properties Auth configuration properties
+     * @return CachePort for caching PermissionSnapshot objects
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "permissionCache")
+    public CachePort<AccountKey, PermissionSnapshot> permissionCache(AuthProperties properties) {
+        Duration retention = permissionRetention(properties);
+
+        Cache<AccountKey, PermissionSnapshot> cache = CacheStatistics.newBuilder(properties)
+                .maximumSize(properties.getPermission().getCacheMaxSize())
+                .expireAfterWrite(retention != null ? retention : Duration.ZERO)
+                .build();
+
+        return new CaffeineAdapter<>(cache);
+    }
+
+    /**
+     * Virtual-thread executor for permission prefetches started by the JWT filter
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "permissionPrefetchExecutor")
+    @ConditionalOnProperty(prefix = "app.auth.permission.prefetch", name = "enabled", havingValue = "true")
+    public ExecutorService permissionPrefetchExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("auth-permission-prefetch-", 0).factory());
     }
 
-    /** Permission loader - loads permissions for users */
+    /**
+     * Permission matrix source - downloads the role to permission matrix from the
+     * Gateway
+     */
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.auth.permission", name = "loader", havingValue = "matrix")
+    public PermissionMatrixPort permissionMatrixPort(
+            @Qualifier("gatewayHttpClient") HttpClientPort gatewayHttpClient, AuthProperties properties) {
+        return new GatewayPermissionMatrixAdapter(gatewayHttpClient, properties);
+    }
+
+    /**
+     * Permission loader evaluating permissions locally from the user's roles.
+     *
+     * <p>
+     * Active when app.auth.permission.loader=matrix.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean(PermissionLoaderUseCase.class)
+    @ConditionalOnProperty(prefix = "app.auth.permission", name = "loader", havingValue = "matrix")
+    public RoleMatrixPermissionLoaderService matrixPermissionLoader(
+            PermissionMatrixPort permissionMatrixPort,
+            GetAuthenticatedUserUseCase getAuthenticatedUser,
+            AuthProperties properties) {
+        return new RoleMatrixPermissionLoaderService(
+                permissionMatrixPort,
+                getAuthenticatedUser,
+                properties.getPermission().getMatrix().getSyncInterval());
+    }
+
+    /**
+     * Permission loader - loads permissions for users.
+     *
+     * <p>
+     * Prefetched permission sets are handed over through the permission cache, so
+     * prefetching needs app.auth.permission.cache-ttl to be configured.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.auth.permission", name = "loader", havingValue = "gateway", matchIfMissing = true)
     public PermissionLoaderUseCase permissionLoader(
             GatewayPermissionClientUseCase gatewayPermissionClient,
-            GetAuthenticatedUserUseCase getAuthenticatedUser) {
-        return new GatewayPermissionLoaderService(gatewayPermissionClient, getAuthenticatedUser);
+            GetAuthenticatedUserUseCase getAuthenticatedUser,
+            CachePort<AccountKey, PermissionSnapshot> permissionCache,
+            @Qualifier("permissionPrefetchExecutor") ObjectProvider<ExecutorService> prefetchExecutor,
+            AuthProperties properties) {
+        Duration freshTtl = freshTtl(properties);
+        Duration maxStale = maxStale(properties);
+        if (freshTtl == null && properties.getPermission().getPrefetch().isEnabled()) {
+            log.warn(
+                    "app.auth.permission.prefetch.enabled only overlaps in-flight loads without"
+                            + " app.auth.permission.cache-ttl; set it to reuse prefetched permissions");
+        }
+        if (freshTtl == null && maxStale == null) {
+            return new GatewayPermissionLoaderService(gatewayPermissionClient, getAuthenticatedUser);
+        }
+        return new GatewayPermissionLoaderService(
+                gatewayPermissionClient,
+                getAuthenticatedUser,
+                permissionCache,
+                freshTtl,
+                maxStale,
+                prefetchExecutor.getIfAvailable());
+    }
+
+    /**
+     * Authorization decision cache - memoizes requirement outcomes per issuer, user
+     * and permission set
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.auth.permission.decision-cache", name = "enabled", havingValue = "true")
+    public AuthorizationDecisionCache authorizationDecisionCache(AuthProperties properties) {
+        AuthProperties.DecisionCacheConfig config = properties.getPermission().getDecisionCache();
+
+        Cache<AuthorizationDecisionCache.Key, AuthorizationDecisionCache.Decision> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterAccess(config.getExpireAfterAccess())
+                .build();
+
+        return new AuthorizationDecisionCache(new CaffeineAdapter<>(cache));
     }
 
     /** Permission validator - validates user permissions */
     @Bean
     @ConditionalOnMissingBean
     public PermissionValidatorUseCase permissionValidator(
-            PermissionLoaderUseCase permissionLoader) {
-        return new PermissionValidatorService(permissionLoader);
+            PermissionLoaderUseCase permissionLoader,
+            ObjectProvider<AuthorizationDecisionCache> authorizationDecisionCache,
+            GetAuthenticatedUserUseCase getAuthenticatedUser) {
+        return new PermissionValidatorService(
+                permissionLoader, authorizationDecisionCache.getIfAvailable(), getAuthenticatedUser);
     }
 
     /** Role validator - validates user roles */
@@ -68,5 +257,34 @@ public class PermissionConfiguration {
     public RoleValidatorUseCase roleValidator(GetAuthenticatedUserUseCase getAuthenticatedUser) {
         return new RoleValidatorService(getAuthenticatedUser);
     }
-}
 
+    /**
+     * How long a loaded permission set stays useful: the longer of the fresh TTL
+     * and the stale-if-error window, null if neither is configured.
+     */
+    static Duration permissionRetention(AuthProperties properties) {
+        return longest(freshTtl(properties), maxStale(properties));
+    }
+
+    private static Duration freshTtl(AuthProperties properties) {
+        return properties.getPermission().getCacheTtl();
+    }
+
+    private static Duration maxStale(AuthProperties properties) {
+        AuthProperties.ResilienceConfig resilience = properties.getPermission().getResilience();
+        if (!resilience.isEnabled() || !resilience.getStaleIfError().isEnabled()) {
+            return null;
+        }
+        return resilience.getStaleIfError().getMaxStale();
+    }
+
+    private static Duration longest(Duration a, Duration b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,117 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.security.JwtAuthWebFilter;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+
+/**
+ * Auto-configuration for Spring Security in reactive (WebFlux) applications.
+ *
+ * <p>Activated when a1a.auth.security.enabled=true (default), Spring Security is on classpath and
+ * the application is a WebFlux application.
+ *
+ * <p>Configures:
+ *
+ * <ul>
+ *   <li>SecurityWebFilterChain with non-blocking JWT authentication
+ *   <li>CORS configuration
+ *   <li>No server-side security context (stateless)
+ *   <li>White-list URLs
+ * </ul>
+ */
+@AutoConfiguration(after = AuthAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(SecurityWebFilterChain.class)
+@ConditionalOnProperty(
+        prefix = "a1a.auth.security",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityWebFilterChain authSecurityWebFilterChain(
+            ServerHttpSecurity http, JwtAuthWebFilter jwtAuthWebFilter, AuthProperties authProperties) {
+
+        // Get white-list URLs from Auth properties
+        List<String> whiteListUrls = authProperties.getSecurity().getWhiteListUrls();
+        String[] whiteList =
+                whiteListUrls != null ? whiteListUrls.toArray(new String[0]) : new String[0];
+
+        http
+                // Disable CSRF and the interactive login mechanisms
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+
+                // CORS Configuration
+                .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource(authProperties)))
+
+                // Stateless: the user lives in the Reactor context of the request only
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+                // Public endpoints
+                .authorizeExchange(
+                        exchange ->
+                                exchange.pathMatchers(whiteList)
+                                        .permitAll()
+                                        // All other requests require authentication
+                                        .anyExchange()
+                                        .authenticated())
+
+                // Unauthenticated requests get a bare 401
+                .exceptionHandling(
+                        exceptions ->
+                                exceptions.authenticationEntryPoint(
+                                        new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+
+                // Add JWT filter at the authentication position
+                .addFilterAt(jwtAuthWebFilter, SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+
+    /** CORS Configuration Source. Reads values from application properties via AuthProperties. */
+    @Bean
+    @ConditionalOnMissingBean
+    public CorsConfigurationSource reactiveCorsConfigurationSource(AuthProperties authProperties) {
+        CorsConfiguration configuration = new CorsConfiguration();
+
+        var corsProps = authProperties.getCors();
+        if (corsProps.isEnabled()) {
+            configuration.setAllowedOrigins(corsProps.getAllowedOrigins());
+            configuration.setAllowedMethods(corsProps.getAllowedMethods());
+            configuration.setAllowedHeaders(corsProps.getAllowedHeaders());
+            configuration.setAllowCredentials(corsProps.isAllowCredentials());
+            if (corsProps.getMaxAge() != null) {
+                configuration.setMaxAge(corsProps.getMaxAge().toSeconds());
+            }
+        }
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
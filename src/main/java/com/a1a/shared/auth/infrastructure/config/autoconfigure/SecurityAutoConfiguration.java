@@ -7,6 +7,7 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,9 +23,10 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.List;
 
 /**
- * Auto-configuration for Spring Security.
+ * Auto-configuration for Spring Security in servlet applications.
  *
  * <p>Activated when a1a.auth.security.enabled=true (default) and Spring Security is on classpath.
+ * WebFlux applications get {@link ReactiveSecurityAutoConfiguration} instead.
  *
  * <p>Configures:
  *
@@ -36,6 +38,7 @@ import java.util.List;
  * </ul>
  */
 @AutoConfiguration(after = AuthAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @ConditionalOnClass(SecurityFilterChain.class)
 @ConditionalOnProperty(
         prefix = "a1a.auth.security",
@@ -0,0 +1,58 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.CachePort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.infrastructure.adapter.snapshot.FileSnapshotStore;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Auto-configuration for warm-restart snapshots.
+ *
+ * <p>
+ * Activated when app.auth.snapshot.enabled=true. Restores the permission cache
+ * and JWKS public keys from the snapshot file before the application reports ready.
+ * app.auth.snapshot.path and app.auth.snapshot.secret are required.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.auth.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfiguration {
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /** Snapshot store for the permission cache and JWKS key ring */
+    @Bean
+    @ConditionalOnMissingBean
+    public FileSnapshotStore authSnapshotStore(
+            AuthProperties properties,
+            ObjectProvider<JwksPort> jwksPort,
+            ObjectProvider<CachePort<AccountKey, PermissionSnapshot>> permissionCache) {
+        AuthProperties.SnapshotConfig snapshot = properties.getSnapshot();
+        if (snapshot.getPath() == null || snapshot.getPath().isBlank()) {
+            throw new IllegalStateException("app.auth.snapshot.path is required when snapshots are enabled");
+        }
+        byte[] secret = snapshot.getSecret() != null
+                ? snapshot.getSecret().getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.auth.snapshot.secret of at least " + MIN_SECRET_BYTES
+                    + " bytes is required when snapshots are enabled");
+        }
+        return new FileSnapshotStore(
+                Path.of(snapshot.getPath()),
+                snapshot.getInterval(),
+                jwksPort.getIfAvailable(),
+                permissionCache.getIfAvailable(),
+                PermissionConfiguration.permissionRetention(properties),
+                secret);
+    }
+}
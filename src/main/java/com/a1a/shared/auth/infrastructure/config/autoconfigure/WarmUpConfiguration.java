@@ -0,0 +1,41 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.warmup.AuthWarmUp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for the startup warm-up.
+ *
+ * <p>
+ * Activated when app.auth.warm-up.enabled=true. The warm-up runs before the
+ * readiness state changes to ACCEPTING_TRAFFIC.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.auth.warm-up", name = "enabled", havingValue = "true")
+public class WarmUpConfiguration {
+
+    /** Key fetch, Gateway connection and synthetic verifications on ApplicationReadyEvent */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthWarmUp authWarmUp(
+            AuthProperties properties,
+            ObjectProvider<JwksPort> jwksPort,
+            @Qualifier("gatewayHttpClient") ObjectProvider<HttpClientPort> gatewayHttpClient,
+            ObjectProvider<ObjectMapper> objectMapper) {
+        return new AuthWarmUp(
+                properties,
+                jwksPort.getIfAvailable(),
+                gatewayHttpClient.getIfAvailable(),
+                objectMapper.getIfAvailable());
+    }
+}
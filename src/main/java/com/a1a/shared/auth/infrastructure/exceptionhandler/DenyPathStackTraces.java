@@ -0,0 +1,41 @@
+package com.a1a.shared.auth.infrastructure.exceptionhandler;
+
+import com.a1a.shared.auth.domain.exception.IamDomainException;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Applies {@code app.auth.deny-path} to the stack traces of IAM exceptions for the lifetime of the
+ * application context.
+ *
+ * <p>The setting is turned on when the bean is initialized and the previous setting is restored
+ * when the context closes, so a closed context (a test context, a refreshed child context) does
+ * not leave IAM exceptions of the JVM without stack traces.
+ */
+@Slf4j
+public class DenyPathStackTraces implements InitializingBean, DisposableBean {
+    private final boolean stackTraces;
+    private boolean previous;
+
+    public DenyPathStackTraces(AuthProperties.DenyPathConfig denyPath) {
+        boolean debug = LoggerFactory.getLogger("com.a1a.shared.auth").isDebugEnabled();
+        this.stackTraces = !denyPath.isLean() || (denyPath.isStackTracesWhenDebug() && debug);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        previous = IamDomainException.isStackTraces();
+        IamDomainException.setStackTraces(stackTraces);
+        log.debug("IAM exceptions are created {} stack traces", stackTraces ? "with" : "without");
+    }
+
+    @Override
+    public void destroy() {
+        IamDomainException.setStackTraces(previous);
+    }
+}
@@ -7,11 +7,16 @@ import com.a1a.shared.auth.domain.exception.RoleException;
 import com.a1a.shared.auth.domain.exception.TokenExpiredException;
 import com.a1a.shared.auth.domain.exception.TokenVerificationException;
 import com.a1a.shared.auth.application.dto.ApiError;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.a1a.shared.auth.infrastructure.security.DenyResponses;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -28,11 +33,27 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * Uses {@link Order} with {@link Ordered#HIGHEST_PRECEDENCE} to ensure IAM
  * exceptions are
  * handled before generic exception handlers.
+ *
+ * <p>
+ * With {@code app.auth.deny-path.lean}, 401/403 responses are fixed pre-encoded
+ * bodies from {@link DenyResponses} (no date, debug message or user details)
+ * written without going through Jackson.
  */
 @Slf4j
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @RestControllerAdvice
 public class IamExceptionHandler {
+    private final boolean lean;
+
+    public IamExceptionHandler() {
+        this.lean = false;
+    }
+
+    @Autowired
+    public IamExceptionHandler(ObjectProvider<AuthProperties> authProperties) {
+        AuthProperties properties = authProperties.getIfAvailable();
+        this.lean = properties != null && properties.getDenyPath().isLean();
+    }
 
     /**
      * Handle token expiration errors.
@@ -41,8 +62,11 @@ public class IamExceptionHandler {
      * @return 401 Unauthorized response
      */
     @ExceptionHandler(TokenExpiredException.class)
-    public ResponseEntity<ApiError> handleTokenExpired(TokenExpiredException ex) {
+    public ResponseEntity<?> handleTokenExpired(TokenExpiredException ex) {
         log.warn("Token expired: {}", ex.getMessage());
+        if (lean) {
+            return fixed(HttpStatus.UNAUTHORIZED, DenyResponses.API_TOKEN_EXPIRED);
+        }
 
         ApiError apiError = new ApiError(
                 HttpStatus.UNAUTHORIZED,
@@ -59,8 +83,11 @@ public class IamExceptionHandler {
      * @return 401 Unauthorized response
      */
     @ExceptionHandler(TokenVerificationException.class)
-    public ResponseEntity<ApiError> handleTokenVerificationFailed(TokenVerificationException ex) {
+    public ResponseEntity<?> handleTokenVerificationFailed(TokenVerificationException ex) {
         log.warn("Token verification failed: {}", ex.getMessage());
+        if (lean) {
+            return fixed(HttpStatus.UNAUTHORIZED, DenyResponses.API_TOKEN_INVALID);
+        }
 
         ApiError apiError = new ApiError(
                 HttpStatus.UNAUTHORIZED,
@@ -78,8 +105,11 @@ public class IamExceptionHandler {
      * @return 401 Unauthorized response
      */
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ApiError> handleAuthenticationFailed(AuthenticationException ex) {
+    public ResponseEntity<?> handleAuthenticationFailed(AuthenticationException ex) {
         log.warn("Authentication failed: {}", ex.getMessage());
+        if (lean) {
+            return fixed(HttpStatus.UNAUTHORIZED, DenyResponses.API_AUTHENTICATION_FAILED);
+        }
 
         ApiError apiError = new ApiError(
                 HttpStatus.UNAUTHORIZED,
@@ -96,8 +126,11 @@ public class IamExceptionHandler {
      * @return 403 Forbidden response
      */
     @ExceptionHandler(PermissionException.class)
-    public ResponseEntity<ApiError> handlePermissionDenied(PermissionException ex) {
+    public ResponseEntity<?> handlePermissionDenied(PermissionException ex) {
         log.warn("Permission denied: {}", ex.getMessage());
+        if (lean) {
+            return fixed(HttpStatus.FORBIDDEN, DenyResponses.API_PERMISSION_REQUIRED);
+        }
 
         ApiError apiError = new ApiError(
                 HttpStatus.FORBIDDEN,
@@ -114,8 +147,11 @@ public class IamExceptionHandler {
      * @return 403 Forbidden response
      */
     @ExceptionHandler(RoleException.class)
-    public ResponseEntity<ApiError> handleRoleDenied(RoleException ex) {
+    public ResponseEntity<?> handleRoleDenied(RoleException ex) {
         log.warn("Role denied: {}", ex.getMessage());
+        if (lean) {
+            return fixed(HttpStatus.FORBIDDEN, DenyResponses.API_ROLE_REQUIRED);
+        }
 
         ApiError apiError = new ApiError(
                 HttpStatus.FORBIDDEN,
@@ -143,5 +179,11 @@ public class IamExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
-}
 
+    private static ResponseEntity<byte[]> fixed(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Permission or role check of the annotation aspects */
+@Name("com.a1a.auth.AuthorizationDecision")
+@Label("Authorization Decision")
+@Category({"A1A", "Auth"})
+@Description("Permission or role check of an annotated method")
+@StackTrace(false)
+class AuthorizationDecisionEvent extends Event {
+
+    @Label("Check")
+    String check;
+
+    @Label("Method")
+    String method;
+
+    @Label("Granted")
+    boolean granted;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Minimum Duration")
+    @Description("Only commit checks that took at least this long")
+    @Name("minDuration")
+    @SettingDefinition
+    boolean minDuration(MinDurationSetting setting) {
+        return setting.accepts(elapsed);
+    }
+}
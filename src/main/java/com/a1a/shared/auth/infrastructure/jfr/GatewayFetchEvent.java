@@ -0,0 +1,44 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Permission fetch from the Gateway */
+@Name("com.a1a.auth.GatewayFetch")
+@Label("Gateway Permission Fetch")
+@Category({"A1A", "Auth"})
+@Description("Call to the permission Gateway")
+@StackTrace(false)
+class GatewayFetchEvent extends Event {
+
+    @Label("Status")
+    @Description("HTTP status, 0 if there was no response")
+    int status;
+
+    @Label("Bytes")
+    @Description("Content-Length of the response, -1 if unknown")
+    @DataAmount
+    long bytes;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Minimum Duration")
+    @Description("Only commit calls that took at least this long")
+    @Name("minDuration")
+    @SettingDefinition
+    boolean minDuration(MinDurationSetting setting) {
+        return setting.accepts(elapsed);
+    }
+}
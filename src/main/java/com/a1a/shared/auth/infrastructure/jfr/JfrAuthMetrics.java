@@ -0,0 +1,102 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.lang.reflect.Method;
+
+/**
+ * Java Flight Recorder implementation of {@link AuthMetricsPort}.
+ *
+ * <p>Emits the events {@code com.a1a.auth.TokenVerification}, {@code com.a1a.auth.JwksRefresh},
+ * {@code com.a1a.auth.GatewayFetch} and {@code com.a1a.auth.AuthorizationDecision}, all without
+ * stack traces. They are enabled and filtered per recording, e.g. with the settings shipped as
+ * {@code META-INF/jfr/a1a-auth.jfc} in this library's jar. The JVM reads settings from the file
+ * system only, so extract the file first and pass its path:
+ *
+ * <pre>
+ * unzip -p auth-&lt;version&gt;.jar META-INF/jfr/a1a-auth.jfc &gt; /opt/app/a1a-auth.jfc
+ * java -XX:StartFlightRecording:settings=default,settings=/opt/app/a1a-auth.jfc ...
+ * </pre>
+ *
+ * <p>The port is called once an operation has ended, with the durations measured by the caller, so
+ * each event is committed at the end of its operation with a JFR duration of zero. The measured
+ * duration is the {@code elapsed} field; filter with the events' {@code minDuration} setting
+ * rather than {@code threshold}, and sort or chart by {@code elapsed} rather than by duration.
+ *
+ * <p>{@link #isEnabled()} is false while no recording has one of the events enabled, so the
+ * pipeline is not timed for JFR alone outside of recordings. Event fields are only filled in after
+ * {@link Event#shouldCommit()} accepted the event.
+ */
+public class JfrAuthMetrics implements AuthMetricsPort {
+    private final TokenVerificationEvent tokenProbe = new TokenVerificationEvent();
+    private final JwksRefreshEvent jwksProbe = new JwksRefreshEvent();
+    private final GatewayFetchEvent gatewayProbe = new GatewayFetchEvent();
+    private final AuthorizationDecisionEvent decisionProbe = new AuthorizationDecisionEvent();
+
+    public JfrAuthMetrics() {
+        FlightRecorder.register(TokenVerificationEvent.class);
+        FlightRecorder.register(JwksRefreshEvent.class);
+        FlightRecorder.register(GatewayFetchEvent.class);
+        FlightRecorder.register(AuthorizationDecisionEvent.class);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return tokenProbe.isEnabled()
+                || jwksProbe.isEnabled()
+                || gatewayProbe.isEnabled()
+                || decisionProbe.isEnabled();
+    }
+
+    @Override
+    public void tokenVerified(TokenOutcome outcome, long parseNanos, long signatureNanos, long claimsNanos) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.elapsed = parseNanos + signatureNanos + claimsNanos;
+        if (event.shouldCommit()) {
+            event.outcome = outcome.name();
+            event.parseTime = parseNanos;
+            event.signatureTime = signatureNanos;
+            event.claimsTime = claimsNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void jwksRefreshed(long nanos, boolean success) {
+        JwksRefreshEvent event = new JwksRefreshEvent();
+        event.elapsed = nanos;
+        if (event.shouldCommit()) {
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void gatewayFetched(long nanos, int status, long bytes, boolean success) {
+        GatewayFetchEvent event = new GatewayFetchEvent();
+        event.elapsed = nanos;
+        if (event.shouldCommit()) {
+            event.status = status;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void authorizationDecided(
+            AuthorizationAuditRecord.Check check, Method method, boolean granted, long nanos) {
+        AuthorizationDecisionEvent event = new AuthorizationDecisionEvent();
+        event.elapsed = nanos;
+        if (event.shouldCommit()) {
+            event.check = check.name();
+            event.method = method != null ? method.getDeclaringClass().getName() + "." + method.getName() : null;
+            event.granted = granted;
+            event.commit();
+        }
+    }
+}
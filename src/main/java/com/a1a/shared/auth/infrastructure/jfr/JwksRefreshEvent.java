@@ -0,0 +1,34 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Fetch of the JWKS signing keys */
+@Name("com.a1a.auth.JwksRefresh")
+@Label("JWKS Refresh")
+@Category({"A1A", "Auth"})
+@Description("Fetch of the JWKS signing keys")
+@StackTrace(false)
+class JwksRefreshEvent extends Event {
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Minimum Duration")
+    @Description("Only commit refreshes that took at least this long")
+    @Name("minDuration")
+    @SettingDefinition
+    boolean minDuration(MinDurationSetting setting) {
+        return setting.accepts(elapsed);
+    }
+}
@@ -0,0 +1,76 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import jdk.jfr.SettingControl;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JFR setting {@code minDuration} of the auth events: events measuring less are not committed.
+ *
+ * <p>The events are committed after the measured operation ended, so JFR's own {@code threshold}
+ * (which compares the duration between {@code begin()} and {@code end()}) does not apply; this
+ * setting compares the measured duration instead. Values use the JFR timespan syntax, e.g.
+ * {@code 0 ns}, {@code 500 us}, {@code 20 ms}. When several recordings run, the smallest value
+ * wins.
+ */
+public final class MinDurationSetting extends SettingControl {
+    private String value = "0 ns";
+    private long nanos;
+
+    @Override
+    public String combine(Set<String> values) {
+        String smallest = null;
+        long smallestNanos = Long.MAX_VALUE;
+        for (String candidate : values) {
+            long candidateNanos = parse(candidate);
+            if (candidateNanos < smallestNanos) {
+                smallest = candidate;
+                smallestNanos = candidateNanos;
+            }
+        }
+        return smallest != null ? smallest : "0 ns";
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.nanos = parse(value);
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+
+    boolean accepts(long durationNanos) {
+        return durationNanos >= nanos;
+    }
+
+    /** Parses a JFR timespan; malformed values count as 0 so that nothing is filtered */
+    static long parse(String timespan) {
+        if (timespan == null) {
+            return 0;
+        }
+        String text = timespan.trim();
+        int unitStart = 0;
+        while (unitStart < text.length() && Character.isDigit(text.charAt(unitStart))) {
+            unitStart++;
+        }
+        if (unitStart == 0) {
+            return 0;
+        }
+        long amount = Long.parseLong(text.substring(0, unitStart));
+        TimeUnit unit = switch (text.substring(unitStart).trim()) {
+            case "", "ns" -> TimeUnit.NANOSECONDS;
+            case "us" -> TimeUnit.MICROSECONDS;
+            case "ms" -> TimeUnit.MILLISECONDS;
+            case "s" -> TimeUnit.SECONDS;
+            case "m" -> TimeUnit.MINUTES;
+            case "h" -> TimeUnit.HOURS;
+            case "d" -> TimeUnit.DAYS;
+            default -> null;
+        };
+        return unit != null ? unit.toNanos(amount) : 0;
+    }
+}
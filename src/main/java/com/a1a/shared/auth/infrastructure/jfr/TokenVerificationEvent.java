@@ -0,0 +1,46 @@
+package com.a1a.shared.auth.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** JWT verification, with the duration of each stage */
+@Name("com.a1a.auth.TokenVerification")
+@Label("Token Verification")
+@Category({"A1A", "Auth"})
+@Description("JWT parse, signature and claims validation")
+@StackTrace(false)
+class TokenVerificationEvent extends Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Signature Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long signatureTime;
+
+    @Label("Claims Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long claimsTime;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Minimum Duration")
+    @Description("Only commit verifications that took at least this long")
+    @Name("minDuration")
+    @SettingDefinition
+    boolean minDuration(MinDurationSetting setting) {
+        return setting.accepts(elapsed);
+    }
+}
@@ -0,0 +1,49 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.infrastructure.audit.RingBufferAuditLog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer binding for {@link RingBufferAuditLog}.
+ *
+ * <p>Exports {@code auth.audit.records} tagged with {@code outcome=recorded|dropped|written|failed},
+ * and the gauge {@code auth.audit.pending}.
+ */
+@RequiredArgsConstructor
+public class AuditLogMetrics implements MeterBinder {
+
+    private final RingBufferAuditLog auditLog;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.audit.records", auditLog, RingBufferAuditLog::getRecordedCount)
+                .tag("outcome", "recorded")
+                .description("Authorization decisions accepted into the audit buffer")
+                .register(registry);
+
+        FunctionCounter.builder("auth.audit.records", auditLog, RingBufferAuditLog::getDroppedCount)
+                .tag("outcome", "dropped")
+                .description("Authorization decisions dropped because the audit buffer was full")
+                .register(registry);
+
+        FunctionCounter.builder("auth.audit.records", auditLog, RingBufferAuditLog::getWrittenCount)
+                .tag("outcome", "written")
+                .description("Authorization decisions written by the audit sink")
+                .register(registry);
+
+        FunctionCounter.builder("auth.audit.records", auditLog, RingBufferAuditLog::getFailedCount)
+                .tag("outcome", "failed")
+                .description("Authorization decisions lost because the audit sink failed")
+                .register(registry);
+
+        Gauge.builder("auth.audit.pending", auditLog, RingBufferAuditLog::getPendingCount)
+                .description("Authorization decisions waiting to be written")
+                .register(registry);
+    }
+}
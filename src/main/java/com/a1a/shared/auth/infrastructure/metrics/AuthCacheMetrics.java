@@ -0,0 +1,35 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Micrometer binding for the Caffeine caches behind {@link CaffeineAdapter} beans; other beans
+ * in the map are ignored.
+ *
+ * <p>Exports the standard {@code cache.*} meters, tagged with {@code cache=<bean name>}. Hit, miss
+ * and eviction counts require the cache to be built with statistics recording, which the
+ * auto-configured caches do when {@code app.auth.metrics.cache-statistics} is enabled.
+ */
+@RequiredArgsConstructor
+public class AuthCacheMetrics implements MeterBinder {
+
+    private final Map<String, ?> caches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.forEach(
+                (name, cache) -> {
+                    if (cache instanceof CaffeineAdapter<?, ?> adapter) {
+                        CaffeineCacheMetrics.monitor(registry, adapter.getCache(), name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,39 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.application.service.AuthorizationDecisionCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer binding for the authorization decision cache.
+ *
+ * <p>Exports {@code auth.decision.cache.requests} tagged with {@code result=hit|miss}.
+ */
+@RequiredArgsConstructor
+public class AuthorizationDecisionMetrics implements MeterBinder {
+
+    private final AuthorizationDecisionCache decisionCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(
+                        "auth.decision.cache.requests",
+                        decisionCache,
+                        AuthorizationDecisionCache::getHitCount)
+                .tag("result", "hit")
+                .description("Authorization decisions served from the decision cache")
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "auth.decision.cache.requests",
+                        decisionCache,
+                        AuthorizationDecisionCache::getMissCount)
+                .tag("result", "miss")
+                .description("Authorization decisions that had to be evaluated")
+                .register(registry);
+    }
+}
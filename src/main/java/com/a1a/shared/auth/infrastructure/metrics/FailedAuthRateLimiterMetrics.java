@@ -0,0 +1,45 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.infrastructure.security.FailedAuthRateLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer binding for {@link FailedAuthRateLimiter}.
+ *
+ * <p>Exports {@code auth.ratelimit.failures}, {@code auth.ratelimit.rejected}, and the gauges
+ * {@code auth.ratelimit.clients} tagged with {@code state=tracked|throttled}. Client keys are not
+ * used as tags, to keep the number of series bounded; the most throttled clients are available
+ * from {@link FailedAuthRateLimiter#topRejectedClients(int)}.
+ */
+@RequiredArgsConstructor
+public class FailedAuthRateLimiterMetrics implements MeterBinder {
+
+    private final FailedAuthRateLimiter rateLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.ratelimit.failures", rateLimiter, FailedAuthRateLimiter::getFailureCount)
+                .description("Failed authentications recorded by the rate limiter")
+                .register(registry);
+
+        FunctionCounter.builder("auth.ratelimit.rejected", rateLimiter, FailedAuthRateLimiter::getRejectedCount)
+                .description("Requests rejected with 429 after too many failed authentications")
+                .register(registry);
+
+        Gauge.builder("auth.ratelimit.clients", rateLimiter, FailedAuthRateLimiter::getTrackedClientCount)
+                .tag("state", "tracked")
+                .description("Clients tracked by the rate limiter")
+                .register(registry);
+
+        Gauge.builder("auth.ratelimit.clients", rateLimiter, FailedAuthRateLimiter::getThrottledClientCount)
+                .tag("state", "throttled")
+                .description("Clients currently throttled")
+                .register(registry);
+    }
+}
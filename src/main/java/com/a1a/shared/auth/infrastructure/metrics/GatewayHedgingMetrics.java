@@ -0,0 +1,58 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.infrastructure.resilience.HedgePolicy;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Micrometer binding for hedged permission Gateway requests.
+ *
+ * <p>Exports:
+ *
+ * <ul>
+ *   <li>{@code auth.gateway.hedges} - hedged requests sent
+ *   <li>{@code auth.gateway.hedge.wins} - hedged requests that answered first
+ *   <li>{@code auth.gateway.hedge.budget.exhausted} - hedges skipped by the rate cap
+ *   <li>{@code auth.gateway.hedge.delay} - current hedge trigger latency in seconds
+ * </ul>
+ */
+@RequiredArgsConstructor
+public class GatewayHedgingMetrics implements MeterBinder {
+
+    private final HedgePolicy hedgePolicy;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.gateway.hedges", hedgePolicy, HedgePolicy::getHedgeCount)
+                .description("Hedged Permission Gateway requests sent")
+                .register(registry);
+
+        FunctionCounter.builder("auth.gateway.hedge.wins", hedgePolicy, HedgePolicy::getHedgeWinCount)
+                .description("Hedged requests that answered before the original request")
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "auth.gateway.hedge.budget.exhausted",
+                        hedgePolicy,
+                        HedgePolicy::getBudgetExhaustedCount)
+                .description("Hedges skipped because the hedge rate cap was reached")
+                .register(registry);
+
+        Gauge.builder("auth.gateway.hedge.delay", hedgePolicy, GatewayHedgingMetrics::delaySeconds)
+                .description("Observed Gateway latency percentile used as hedge trigger")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static double delaySeconds(HedgePolicy policy) {
+        Duration estimate = policy.currentEstimate();
+        return estimate != null ? estimate.toNanos() / 1e9 : Double.NaN;
+    }
+}
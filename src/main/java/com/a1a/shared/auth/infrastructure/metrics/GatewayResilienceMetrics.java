@@ -0,0 +1,98 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.service.GatewayPermissionLoaderService;
+import com.a1a.shared.auth.infrastructure.resilience.CircuitBreaker;
+import com.a1a.shared.auth.infrastructure.resilience.ResilientGatewayPermissionClient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer binding for the permission Gateway resilience layer.
+ *
+ * <p>Exports:
+ *
+ * <ul>
+ *   <li>{@code auth.gateway.circuit.state} - 0 closed, 1 open, 2 half-open
+ *   <li>{@code auth.gateway.circuit.transitions} - transitions tagged by target state
+ *   <li>{@code auth.gateway.circuit.rejected} - calls rejected by the open circuit
+ *   <li>{@code auth.gateway.bulkhead.available} / {@code auth.gateway.bulkhead.rejected}
+ *   <li>{@code auth.gateway.retries} / {@code auth.gateway.retry.budget.exhausted}
+ *   <li>{@code auth.gateway.stale.served} - stale permission sets served on Gateway failure
+ * </ul>
+ *
+ * <p>Nothing is registered when the Gateway client is not wrapped by {@link
+ * ResilientGatewayPermissionClient}.
+ */
+@RequiredArgsConstructor
+public class GatewayResilienceMetrics implements MeterBinder {
+
+    private final GatewayPermissionClientUseCase gatewayPermissionClient;
+    private final PermissionLoaderUseCase permissionLoader;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(gatewayPermissionClient instanceof ResilientGatewayPermissionClient client)) {
+            return;
+        }
+        CircuitBreaker circuitBreaker = client.getCircuitBreaker();
+
+        Gauge.builder("auth.gateway.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Permission Gateway circuit state (0 closed, 1 open, 2 half-open)")
+                .register(registry);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            FunctionCounter.builder(
+                            "auth.gateway.circuit.transitions",
+                            circuitBreaker,
+                            cb -> cb.getTransitionCount(state))
+                    .tag("state", state.name().toLowerCase())
+                    .description("Permission Gateway circuit state transitions")
+                    .register(registry);
+        }
+
+        FunctionCounter.builder(
+                        "auth.gateway.circuit.rejected",
+                        circuitBreaker,
+                        CircuitBreaker::getRejectedCallCount)
+                .description("Calls rejected while the circuit was not closed")
+                .register(registry);
+
+        Gauge.builder("auth.gateway.bulkhead.available", client, c -> c.getBulkhead().getAvailableSlots())
+                .description("Free Permission Gateway call slots")
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "auth.gateway.bulkhead.rejected",
+                        client,
+                        c -> c.getBulkhead().getRejectedCallCount())
+                .description("Calls rejected because all Gateway call slots were busy")
+                .register(registry);
+
+        FunctionCounter.builder("auth.gateway.retries", client, ResilientGatewayPermissionClient::getRetryCount)
+                .description("Retried Permission Gateway calls")
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "auth.gateway.retry.budget.exhausted",
+                        client,
+                        c -> c.getRetryBudget().getExhaustedCount())
+                .description("Retries skipped because the retry budget was exhausted")
+                .register(registry);
+
+        if (permissionLoader instanceof GatewayPermissionLoaderService loader) {
+            FunctionCounter.builder(
+                            "auth.gateway.stale.served",
+                            loader,
+                            GatewayPermissionLoaderService::getStaleServedCount)
+                    .description("Stale permission sets served while the Gateway was unavailable")
+                    .register(registry);
+        }
+    }
+}
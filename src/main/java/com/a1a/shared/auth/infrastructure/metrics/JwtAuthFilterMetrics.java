@@ -0,0 +1,33 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.infrastructure.security.AuthFilterStatistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer binding for the JWT authentication filter, servlet or reactive.
+ *
+ * <p>Exports {@code auth.filter.requests} tagged with {@code outcome=filtered|bypassed}.
+ */
+@RequiredArgsConstructor
+public class JwtAuthFilterMetrics implements MeterBinder {
+
+    private final AuthFilterStatistics jwtAuthFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.filter.requests", jwtAuthFilter, AuthFilterStatistics::getFilteredCount)
+                .tag("outcome", "filtered")
+                .description("Requests processed by the JWT authentication filter")
+                .register(registry);
+
+        FunctionCounter.builder("auth.filter.requests", jwtAuthFilter, AuthFilterStatistics::getBypassedCount)
+                .tag("outcome", "bypassed")
+                .description("White-listed requests that skipped the JWT authentication filter")
+                .register(registry);
+    }
+}
@@ -0,0 +1,166 @@
+package com.a1a.shared.auth.infrastructure.metrics;
+
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.domain.model.AuthorizationAuditRecord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer implementation of {@link AuthMetricsPort}.
+ *
+ * <p>Exports:
+ *
+ * <ul>
+ *   <li>{@code auth.token.verification} - tagged with {@code stage=parse|signature|claims|total}
+ *       and {@code outcome=valid|expired|invalid}
+ *   <li>{@code auth.jwks.refresh} - tagged with {@code outcome=success|failure}
+ *   <li>{@code auth.gateway.fetch} - tagged with {@code outcome} and {@code status=2xx|4xx|5xx|none}
+ *   <li>{@code auth.authorization.decisions} - tagged with {@code check=permission|role} and
+ *       {@code outcome=granted|denied}
+ *   <li>{@code auth.denied} - denials tagged with the ApiError {@code code} (4011, 4012, 4013,
+ *       4031, 4032) and {@code reason}
+ * </ul>
+ *
+ * <p>All meters are registered up front with fixed tag values, so recording is an array lookup
+ * and no tag depends on request data. Measurements taken before the binder is bound to a registry
+ * are discarded.
+ */
+public class MicrometerAuthMetrics implements AuthMetricsPort, MeterBinder {
+    private static final String[] STAGES = {"parse", "signature", "claims", "total"};
+    private static final String[] STATUS_CLASSES = {"2xx", "4xx", "5xx", "none"};
+
+    private final boolean histograms;
+
+    private volatile Meters meters;
+
+    /**
+     * @param histograms publish percentile histograms for the timers
+     */
+    public MicrometerAuthMetrics(boolean histograms) {
+        this.histograms = histograms;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meters = new Meters(registry);
+    }
+
+    @Override
+    public void tokenVerified(TokenOutcome outcome, long parseNanos, long signatureNanos, long claimsNanos) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        Timer[] stages = current.token[outcome.ordinal()];
+        stages[0].record(parseNanos, TimeUnit.NANOSECONDS);
+        stages[1].record(signatureNanos, TimeUnit.NANOSECONDS);
+        stages[2].record(claimsNanos, TimeUnit.NANOSECONDS);
+        stages[3].record(parseNanos + signatureNanos + claimsNanos, TimeUnit.NANOSECONDS);
+        if (outcome == TokenOutcome.EXPIRED) {
+            current.tokenExpired.increment();
+        } else if (outcome == TokenOutcome.INVALID) {
+            current.tokenInvalid.increment();
+        }
+    }
+
+    @Override
+    public void jwksRefreshed(long nanos, boolean success) {
+        Meters current = meters;
+        if (current != null) {
+            current.jwks[success ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void gatewayFetched(long nanos, int status, long bytes, boolean success) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        int statusClass = status >= 200 && status < 300 ? 0 : status >= 400 && status < 500 ? 1 : status >= 500 ? 2 : 3;
+        current.gateway[success ? 0 : 1][statusClass].record(nanos, TimeUnit.NANOSECONDS);
+        if (status == 401) {
+            current.authenticationFailed.increment();
+        }
+    }
+
+    @Override
+    public void authorizationDecided(
+            AuthorizationAuditRecord.Check check, Method method, boolean granted, long nanos) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        current.decisions[check.ordinal()][granted ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+        if (!granted) {
+            (check == AuthorizationAuditRecord.Check.PERMISSION ? current.permissionRequired : current.roleRequired)
+                    .increment();
+        }
+    }
+
+    /** Meters of one registry, indexed by tag values */
+    private final class Meters {
+        private final Timer[][] token = new Timer[TokenOutcome.values().length][STAGES.length];
+        private final Timer[] jwks = new Timer[2];
+        private final Timer[][] gateway = new Timer[2][STATUS_CLASSES.length];
+        private final Timer[][] decisions = new Timer[AuthorizationAuditRecord.Check.values().length][2];
+        private final Counter tokenExpired;
+        private final Counter tokenInvalid;
+        private final Counter authenticationFailed;
+        private final Counter permissionRequired;
+        private final Counter roleRequired;
+
+        private Meters(MeterRegistry registry) {
+            for (TokenOutcome outcome : TokenOutcome.values()) {
+                for (int stage = 0; stage < STAGES.length; stage++) {
+                    token[outcome.ordinal()][stage] = timer("auth.token.verification", "JWT verification time by stage")
+                            .tag("stage", STAGES[stage])
+                            .tag("outcome", outcome.name().toLowerCase())
+                            .register(registry);
+                }
+            }
+            for (int i = 0; i < 2; i++) {
+                jwks[i] = timer("auth.jwks.refresh", "JWKS key fetch time")
+                        .tag("outcome", i == 0 ? "success" : "failure")
+                        .register(registry);
+                for (int status = 0; status < STATUS_CLASSES.length; status++) {
+                    gateway[i][status] = timer("auth.gateway.fetch", "Permission Gateway call time")
+                            .tag("outcome", i == 0 ? "success" : "failure")
+                            .tag("status", STATUS_CLASSES[status])
+                            .register(registry);
+                }
+            }
+            for (AuthorizationAuditRecord.Check check : AuthorizationAuditRecord.Check.values()) {
+                for (int i = 0; i < 2; i++) {
+                    decisions[check.ordinal()][i] = timer("auth.authorization.decisions", "Permission and role check time")
+                            .tag("check", check.name().toLowerCase())
+                            .tag("outcome", i == 0 ? "granted" : "denied")
+                            .register(registry);
+                }
+            }
+            tokenExpired = denied(registry, 4011, "token_expired");
+            tokenInvalid = denied(registry, 4012, "token_invalid");
+            authenticationFailed = denied(registry, 4013, "authentication_failed");
+            permissionRequired = denied(registry, 4031, "permission_required");
+            roleRequired = denied(registry, 4032, "role_required");
+        }
+
+        private Timer.Builder timer(String name, String description) {
+            return Timer.builder(name).description(description).publishPercentileHistogram(histograms);
+        }
+
+        private Counter denied(MeterRegistry registry, long code, String reason) {
+            return Counter.builder("auth.denied")
+                    .tag("code", Long.toString(code))
+                    .tag("reason", reason)
+                    .description("Denied requests by ApiError code")
+                    .register(registry);
+        }
+    }
+}
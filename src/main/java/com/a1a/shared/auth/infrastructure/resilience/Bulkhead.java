@@ -0,0 +1,65 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore-based bulkhead limiting the number of concurrent calls to a remote service.
+ *
+ * <p>Callers wait at most {@code maxWait} for a free slot, so request threads cannot pile up
+ * behind a slow dependency.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public Bulkhead(int maxConcurrentCalls, Duration maxWait) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.semaphore = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * Try to obtain a call slot.
+     *
+     * @return true if a slot was obtained and must be released with {@link #release()}
+     */
+    public boolean tryAcquire() {
+        try {
+            boolean acquired =
+                    maxWaitNanos <= 0
+                            ? semaphore.tryAcquire()
+                            : semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejectedCalls.increment();
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCalls.increment();
+            return false;
+        }
+    }
+
+    /** Release a slot obtained with {@link #tryAcquire()}. */
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailableSlots() {
+        return semaphore.availablePermits();
+    }
+
+    public long getRejectedCallCount() {
+        return rejectedCalls.sum();
+    }
+}
@@ -0,0 +1,178 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>Outcomes of the last {@code slidingWindowSize} calls are kept in a ring buffer. Once at least
+ * {@code minimumCalls} outcomes are recorded and the failure rate reaches the threshold, the
+ * breaker opens and rejects calls for {@code openDuration}. It then lets a limited number of trial
+ * calls through (half-open) and closes again only if all of them succeed.
+ *
+ * <p>State transitions are counted per target state so they can be exported as metrics.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /** Circuit breaker state */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+
+    private final boolean[] outcomes;
+    private final LongAdder[] transitions = new LongAdder[State.values().length];
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    private volatile State state = State.CLOSED;
+    private int recorded;
+    private int failures;
+    private int position;
+    private long openUntilMillis;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(
+            String name,
+            int failureRateThreshold,
+            int slidingWindowSize,
+            int minimumCalls,
+            Duration openDuration,
+            int halfOpenCalls,
+            Clock clock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Ask for permission to perform a call.
+     *
+     * @return true if the call may proceed, false if it must fail fast
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (clock.millis() < openUntilMillis) {
+                    rejectedCalls.increment();
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    rejectedCalls.increment();
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        }
+    }
+
+    /** Record a successful call (the remote side was healthy). */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    /** Record a failed call (timeout, network error or server error). */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED
+                && recorded >= minimumCalls
+                && failures * 100 >= failureRateThreshold * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Number of transitions into the given state since startup */
+    public long getTransitionCount(State target) {
+        return transitions[target.ordinal()].sum();
+    }
+
+    /** Number of calls rejected while open or half-open */
+    public long getRejectedCallCount() {
+        return rejectedCalls.sum();
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        transitions[target.ordinal()].increment();
+
+        switch (target) {
+            case OPEN -> openUntilMillis = clock.millis() + openDuration.toMillis();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                failures = 0;
+                position = 0;
+            }
+        }
+
+        if (target == State.CLOSED) {
+            log.info("Circuit breaker '{}' transitioned {} -> {}", name, previous, target);
+        } else {
+            log.warn("Circuit breaker '{}' transitioned {} -> {}", name, previous, target);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a second (hedged) request should be sent for a slow Gateway call.
+ *
+ * <p>The hedge delay follows the observed latency percentile (p95 by default), clamped between
+ * {@code minDelay} and {@code maxDelay}. Hedges are paid for from a token budget, so they never
+ * exceed {@code maxHedgeRatio} of the call volume even when the Gateway is slow across the board.
+ */
+public class HedgePolicy {
+    private static final long MIN_SAMPLES = 20;
+
+    private final LatencyHistogram histogram;
+    private final RetryBudget budget;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgePolicy(AuthProperties.HedgingConfig config, Duration maxDelay) {
+        this.histogram = new LatencyHistogram(config.getWindow(), Clock.systemUTC());
+        this.budget = new RetryBudget(config.getMaxHedgeRatio(), config.getBudgetBurst());
+        this.percentile = config.getPercentile();
+        this.minDelay = config.getMinDelay();
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Delay after which a hedged request should be sent.
+     *
+     * @return the delay, or null if not enough latency samples were observed yet
+     */
+    public Duration hedgeDelay() {
+        Duration observed = histogram.percentile(percentile, MIN_SAMPLES);
+        if (observed == null) {
+            return null;
+        }
+        if (observed.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        if (maxDelay != null && observed.compareTo(maxDelay) > 0) {
+            return maxDelay;
+        }
+        return observed;
+    }
+
+    /** Record a call about to be sent; funds the hedge budget. */
+    public void onCall() {
+        budget.deposit();
+    }
+
+    /**
+     * Ask for permission to send a hedged request.
+     *
+     * @return true if the hedge rate is within budget
+     */
+    public boolean tryHedge() {
+        if (!budget.tryWithdraw()) {
+            return false;
+        }
+        hedges.increment();
+        return true;
+    }
+
+    /** Record the latency of a successful response. */
+    public void recordLatency(long latencyNanos) {
+        histogram.record(latencyNanos);
+    }
+
+    /** Record that a hedged request answered before the original one. */
+    public void onHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /** Current latency estimate used as hedge trigger, or null without enough samples */
+    public Duration currentEstimate() {
+        return histogram.percentile(percentile, MIN_SAMPLES);
+    }
+
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budget.getExhaustedCount();
+    }
+}
@@ -0,0 +1,109 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lightweight rolling latency histogram.
+ *
+ * <p>Latencies are counted in log-linear buckets (four buckets per power of two microseconds, so
+ * a reported percentile is at most 25% above the real value). Two windows are kept: the current
+ * one and the previous one. Percentiles are computed over both, so the estimate follows changes in
+ * gateway latency within one or two windows without dropping to zero samples at each rotation.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final long windowMillis;
+    private final Clock clock;
+
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long windowStartMillis;
+
+    public LatencyHistogram(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.windowStartMillis = clock.millis();
+    }
+
+    /**
+     * Record one observed latency.
+     *
+     * @param latencyNanos latency in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        rotateIfNeeded();
+        current.incrementAndGet(bucketOf(Math.max(1, latencyNanos / 1000)));
+    }
+
+    /**
+     * Estimate a latency percentile over the current and previous window.
+     *
+     * @param percentile percentile between 0 and 1, e.g. 0.95
+     * @param minSamples minimum number of samples required for an estimate
+     * @return the estimated latency, or null if there are fewer than minSamples samples
+     */
+    public Duration percentile(double percentile, long minSamples) {
+        rotateIfNeeded();
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = cur.get(i) + prev.get(i);
+            total += counts[i];
+        }
+        if (total < minSamples || total == 0) {
+            return null;
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(upperBoundMicros(i) * 1000);
+            }
+        }
+        return Duration.ofNanos(upperBoundMicros(BUCKETS - 1) * 1000);
+    }
+
+    private void rotateIfNeeded() {
+        long now = clock.millis();
+        if (now - windowStartMillis < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (now - windowStartMillis < windowMillis) {
+                return;
+            }
+            // Drop both windows if nothing was recorded for longer than one window
+            previous = now - windowStartMillis < 2 * windowMillis ? current : new AtomicLongArray(BUCKETS);
+            current = new AtomicLongArray(BUCKETS);
+            windowStartMillis = now;
+        }
+    }
+
+    private static int bucketOf(long micros) {
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        if (msb < SUB_BUCKET_BITS) {
+            return (int) micros;
+        }
+        int sub = (int) (micros >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return msb * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        int msb = bucket / SUB_BUCKETS;
+        if (msb < SUB_BUCKET_BITS) {
+            return bucket + 1L;
+        }
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub + 1) << (msb - SUB_BUCKET_BITS);
+    }
+}
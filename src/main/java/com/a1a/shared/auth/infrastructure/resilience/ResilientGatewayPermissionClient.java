@@ -0,0 +1,132 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.domain.exception.GatewayUnavailableException;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator adding bulkhead, circuit breaker and budgeted retries around a Gateway client.
+ *
+ * <p>Only {@link GatewayUnavailableException}s count as failures: a 401/403 from the Gateway
+ * means the Gateway is healthy and is passed through unchanged. While the circuit is open or the
+ * bulkhead is full, calls fail fast with {@link GatewayUnavailableException} instead of blocking
+ * the request thread for the full read timeout.
+ */
+@Slf4j
+public class ResilientGatewayPermissionClient implements GatewayPermissionClientUseCase {
+
+    private final GatewayPermissionClientUseCase delegate;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final LongAdder retries = new LongAdder();
+
+    public ResilientGatewayPermissionClient(
+            GatewayPermissionClientUseCase delegate, AuthProperties.ResilienceConfig config) {
+        this.delegate = delegate;
+
+        var bulkheadConfig = config.getBulkhead();
+        this.bulkhead =
+                new Bulkhead(bulkheadConfig.getMaxConcurrentCalls(), bulkheadConfig.getMaxWait());
+
+        var breakerConfig = config.getCircuitBreaker();
+        this.circuitBreaker =
+                new CircuitBreaker(
+                        "permission-gateway",
+                        breakerConfig.getFailureRateThreshold(),
+                        breakerConfig.getSlidingWindowSize(),
+                        breakerConfig.getMinimumCalls(),
+                        breakerConfig.getOpenDuration(),
+                        breakerConfig.getHalfOpenCalls(),
+                        Clock.systemUTC());
+
+        var retryConfig = config.getRetry();
+        this.retryBudget =
+                new RetryBudget(retryConfig.getBudgetRatio(), retryConfig.getBudgetBurst());
+        this.maxAttempts = Math.max(1, retryConfig.getMaxAttempts());
+        this.backoffMillis = retryConfig.getBackoff().toMillis();
+    }
+
+    @Override
+    public Set<String> fetchUserPermissions(String accessToken) {
+        retryBudget.deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(accessToken);
+            } catch (GatewayUnavailableException e) {
+                if (attempt >= maxAttempts
+                        || circuitBreaker.getState() == CircuitBreaker.State.OPEN
+                        || !retryBudget.tryWithdraw()) {
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Retrying Gateway permission call (attempt {}): {}", attempt + 1, e.getMessage());
+                pause();
+            }
+        }
+    }
+
+    private Set<String> attempt(String accessToken) {
+        // Bulkhead first: a half-open circuit permit must always be completed by a call outcome
+        if (!bulkhead.tryAcquire()) {
+            throw new GatewayUnavailableException("Too many concurrent Permission Gateway calls");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            throw new GatewayUnavailableException("Permission Gateway circuit is open");
+        }
+
+        try {
+            Set<String> permissions = delegate.fetchUserPermissions(accessToken);
+            circuitBreaker.onSuccess();
+            return permissions;
+        } catch (GatewayUnavailableException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } catch (RuntimeException e) {
+            // The Gateway answered, so it is healthy even if the user was rejected
+            circuitBreaker.onSuccess();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void pause() {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GatewayUnavailableException("Interrupted while retrying Permission Gateway");
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /** Number of retries performed since startup */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+}
@@ -0,0 +1,53 @@
+package com.a1a.shared.auth.infrastructure.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket retry budget.
+ *
+ * <p>Every call deposits {@code ratio} of a token, every retry withdraws one full token. Retries
+ * therefore never exceed {@code ratio} of the call volume plus a burst of {@code maxTokens}, which
+ * keeps retries from multiplying load on a dependency that is already struggling.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /** Record a first-attempt call. */
+    public void deposit() {
+        balance.accumulateAndGet(depositPerCall, (current, add) -> Math.min(maxBalance, current + add));
+    }
+
+    /**
+     * Try to spend one token on a retry.
+     *
+     * @return true if the retry is within budget
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /** Number of retries refused because the budget was exhausted */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+/** Request counts of a JWT authentication filter, servlet or reactive */
+public interface AuthFilterStatistics {
+    /** Number of requests the filter processed */
+    long getFilteredCount();
+
+    /** Number of white-listed requests that skipped the filter */
+    long getBypassedCount();
+}
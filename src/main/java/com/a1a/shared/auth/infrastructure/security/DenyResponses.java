@@ -0,0 +1,61 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed error bodies of rejected requests, encoded once.
+ *
+ * <p>Rejections are the cheapest requests to send, so under a flood of bad tokens formatting and
+ * encoding the same few bodies again for each of them shows up. The arrays are shared and must not
+ * be modified.
+ */
+public final class DenyResponses {
+    /** Filter body for an expired token */
+    public static final byte[] TOKEN_EXPIRED = error("Token expired");
+
+    /** Filter body for a token that failed verification */
+    public static final byte[] INVALID_TOKEN = error("Invalid token");
+
+    /** Filter body for a client throttled after too many failed authentications */
+    public static final byte[] TOO_MANY_FAILURES = error("Too many failed authentication attempts");
+
+    /** ApiError body for TokenExpiredException, without date and debug message */
+    public static final byte[] API_TOKEN_EXPIRED =
+            apiError(HttpStatus.UNAUTHORIZED, 4011L, "Token expired");
+
+    /** ApiError body for TokenVerificationException */
+    public static final byte[] API_TOKEN_INVALID =
+            apiError(HttpStatus.UNAUTHORIZED, 4012L, "Invalid token");
+
+    /** ApiError body for AuthenticationException */
+    public static final byte[] API_AUTHENTICATION_FAILED =
+            apiError(HttpStatus.UNAUTHORIZED, 4013L, "Authentication failed");
+
+    /** ApiError body for PermissionException */
+    public static final byte[] API_PERMISSION_REQUIRED =
+            apiError(HttpStatus.FORBIDDEN, 4031L, "Permission denied");
+
+    /** ApiError body for RoleException */
+    public static final byte[] API_ROLE_REQUIRED = apiError(HttpStatus.FORBIDDEN, 4032L, "Role denied");
+
+    private DenyResponses() {}
+
+    /** Same shape as the filters' former {@code {"error": "..."}} body; message must not need escaping */
+    private static byte[] error(String message) {
+        return ("{\"error\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Same fields and order as ApiError serialized by Jackson; message must not need escaping */
+    private static byte[] apiError(HttpStatus status, long errorCode, String message) {
+        return ("{\"status\":\""
+                        + status.name()
+                        + "\",\"errorCode\":"
+                        + errorCode
+                        + ",\"message\":\""
+                        + message
+                        + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,202 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles clients that keep sending tokens failing verification.
+ *
+ * <p>Each client key (IP address, or the value of a configured header) gets a token bucket of
+ * {@code burst} failures refilled at {@code failuresPerSecond}. A client whose bucket is empty is
+ * throttled: the filters answer it with 429 before parsing its token, until the bucket refills.
+ * Successful requests do not touch the bucket.
+ *
+ * <p>A bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (generic cell rate algorithm), updated lock-free, so clients never contend with each other and
+ * one client only contends with its own requests. Buckets live in a Caffeine cache bounded by
+ * {@code maxClients} and expire after {@code idleTimeout} without failures or checks.
+ *
+ * <p>A key header such as X-Forwarded-For is partly written by the client. Only the value appended
+ * by the trusted proxies in front of the application is used, counted from the right, and the
+ * edge proxy must overwrite or append to the header rather than pass the client's value through.
+ */
+public class FailedAuthRateLimiter {
+    private final String keyHeader;
+    private final int trustedProxies;
+    private final long interval;
+    private final long tolerance;
+    private final Cache<String, Bucket> buckets;
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param keyHeader header identifying the client (right-most comma-separated value), null for
+     *     the remote address
+     * @param burst failures allowed at once before throttling
+     * @param failuresPerSecond sustained failure rate allowed
+     * @param maxClients maximum number of tracked client keys
+     * @param idleTimeout time after which an idle client is forgotten
+     */
+    public FailedAuthRateLimiter(
+            String keyHeader,
+            int burst,
+            double failuresPerSecond,
+            long maxClients,
+            Duration idleTimeout) {
+        this(keyHeader, 1, burst, failuresPerSecond, maxClients, idleTimeout);
+    }
+
+    /**
+     * @param keyHeader header identifying the client, null for the remote address
+     * @param trustedProxies number of trusted proxies appending to the header; the value the
+     *     outermost one appended is used, i.e. the right-most value for one proxy
+     * @param burst failures allowed at once before throttling
+     * @param failuresPerSecond sustained failure rate allowed
+     * @param maxClients maximum number of tracked client keys
+     * @param idleTimeout time after which an idle client is forgotten
+     */
+    public FailedAuthRateLimiter(
+            String keyHeader,
+            int trustedProxies,
+            int burst,
+            double failuresPerSecond,
+            long maxClients,
+            Duration idleTimeout) {
+        if (burst < 1 || failuresPerSecond <= 0 || trustedProxies < 1) {
+            throw new IllegalArgumentException("burst, failuresPerSecond and trustedProxies must be positive");
+        }
+        this.trustedProxies = trustedProxies;
+        this.keyHeader = keyHeader != null && !keyHeader.isBlank() ? keyHeader.trim() : null;
+        this.interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / failuresPerSecond));
+        this.tolerance = interval * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /** Header identifying the client, null if the remote address is used */
+    public String getKeyHeader() {
+        return keyHeader;
+    }
+
+    /**
+     * Client key of a request.
+     *
+     * <p>Values left of the one appended by the outermost trusted proxy come from the client and
+     * are ignored, so a client can neither rotate its key nor take the key of another client.
+     *
+     * @param headerValue value of {@link #getKeyHeader()}, nullable
+     * @param remoteAddress remote address of the connection
+     * @return value appended by the outermost trusted proxy, or the remote address if the header
+     *     is absent or has fewer values than there are trusted proxies
+     */
+    public String clientKey(String headerValue, String remoteAddress) {
+        if (keyHeader == null || headerValue == null || headerValue.isBlank()) {
+            return remoteAddress;
+        }
+        int end = headerValue.length();
+        for (int skipped = 1; skipped < trustedProxies; skipped++) {
+            end = headerValue.lastIndexOf(',', end - 1);
+            if (end < 0) {
+                return remoteAddress;
+            }
+        }
+        int start = headerValue.lastIndexOf(',', end - 1) + 1;
+        String key = headerValue.substring(start, end).trim();
+        return key.isEmpty() ? remoteAddress : key;
+    }
+
+    /**
+     * Checks if a client is throttled, counting the rejection if so.
+     *
+     * @return seconds until the client may retry, or 0 if it is not throttled
+     */
+    public long retryAfterSeconds(String key) {
+        if (key == null) {
+            return 0;
+        }
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            return 0;
+        }
+        long wait = bucket.full.get() - System.nanoTime() - tolerance;
+        if (wait <= 0) {
+            return 0;
+        }
+        bucket.rejected.incrementAndGet();
+        rejected.increment();
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /** Record a failed authentication of a client */
+    public void recordFailure(String key) {
+        if (key == null) {
+            return;
+        }
+        failures.increment();
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key, k -> new Bucket(now));
+        bucket.full.accumulateAndGet(
+                now, (full, time) -> Math.min(Math.max(full, time) + interval, time + tolerance + interval));
+    }
+
+    /** Number of failed authentications recorded */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /** Number of requests rejected with 429 */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Number of client keys currently tracked */
+    public long getTrackedClientCount() {
+        return buckets.estimatedSize();
+    }
+
+    /** Number of client keys currently throttled (walks all tracked keys) */
+    public long getThrottledClientCount() {
+        long now = System.nanoTime();
+        return buckets.asMap().values().stream()
+                .filter(bucket -> bucket.full.get() - now > tolerance)
+                .count();
+    }
+
+    /**
+     * Clients with the most rejected requests, for diagnostics.
+     *
+     * @param limit maximum number of clients
+     * @return rejected request count per client key, highest first
+     */
+    public Map<String, Long> topRejectedClients(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        buckets.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().rejected.get() > 0)
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, Bucket> entry) -> entry.getValue().rejected.get()).reversed())
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue().rejected.get()));
+        return top;
+    }
+
+    /** Per-client state: the nanoTime at which the bucket is full again, and rejections */
+    private static final class Bucket {
+        private final AtomicLong full;
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Bucket(long now) {
+            this.full = new AtomicLong(now);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.a1a.shared.auth.infrastructure.security;
 
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
 import com.a1a.shared.auth.application.port.driving.TokenVerificationUseCase;
 import com.a1a.shared.auth.domain.exception.TokenExpiredException;
 import com.a1a.shared.auth.domain.exception.TokenVerificationException;
@@ -10,17 +11,14 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.jspecify.annotations.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT authentication filter for Spring Security.
@@ -31,13 +29,82 @@ import java.util.List;
  *   <li>Extracts JWT token from Authorization header
  *   <li>Verifies token signature and expiration
  *   <li>Extracts UserContext and stores in thread-local
+ *   <li>Optionally starts loading the user's permissions in the background, so the Gateway call
+ *       overlaps with the rest of the request instead of waiting for the first permission check
  *   <li>Returns 401 Unauthorized on authentication errors
  * </ul>
+ *
+ * <p>With a {@link WhiteListMatcher}, requests to white-listed paths skip the filter entirely, so
+ * public endpoints and health probes do not pay for token verification.
+ *
+ * <p>With a {@link FailedAuthRateLimiter}, clients that keep failing verification are answered
+ * with 429 Too Many Requests before their token is parsed.
  */
-@RequiredArgsConstructor
 @Slf4j
-public class JwtAuthFilter extends OncePerRequestFilter {
+public class JwtAuthFilter extends OncePerRequestFilter implements AuthFilterStatistics {
     private final TokenVerificationUseCase tokenVerificationService;
+    private final PermissionLoaderUseCase permissionLoader;
+    private final WhiteListMatcher whiteListMatcher;
+    private final FailedAuthRateLimiter rateLimiter;
+
+    private final RoleAuthorities roleAuthorities = new RoleAuthorities();
+
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public JwtAuthFilter(TokenVerificationUseCase tokenVerificationService) {
+        this(tokenVerificationService, null);
+    }
+
+    /**
+     * @param permissionLoader loader to prefetch permissions with, null disables prefetching
+     */
+    public JwtAuthFilter(
+            TokenVerificationUseCase tokenVerificationService,
+            PermissionLoaderUseCase permissionLoader) {
+        this(tokenVerificationService, permissionLoader, null);
+    }
+
+    /**
+     * @param permissionLoader loader to prefetch permissions with, null disables prefetching
+     * @param whiteListMatcher paths that skip the filter, null filters every request
+     */
+    public JwtAuthFilter(
+            TokenVerificationUseCase tokenVerificationService,
+            PermissionLoaderUseCase permissionLoader,
+            WhiteListMatcher whiteListMatcher) {
+        this(tokenVerificationService, permissionLoader, whiteListMatcher, null);
+    }
+
+    /**
+     * @param permissionLoader loader to prefetch permissions with, null disables prefetching
+     * @param whiteListMatcher paths that skip the filter, null filters every request
+     * @param rateLimiter limiter of failed authentications, null disables throttling
+     */
+    public JwtAuthFilter(
+            TokenVerificationUseCase tokenVerificationService,
+            PermissionLoaderUseCase permissionLoader,
+            WhiteListMatcher whiteListMatcher,
+            FailedAuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.tokenVerificationService = tokenVerificationService;
+        this.permissionLoader = permissionLoader;
+        this.whiteListMatcher =
+                whiteListMatcher != null && !whiteListMatcher.isEmpty() ? whiteListMatcher : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (whiteListMatcher == null) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (whiteListMatcher.matches(path)) {
+            bypassed.increment();
+            return true;
+        }
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -45,6 +112,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
+        filtered.increment();
 
         // Extract token from Authorization header
         String authHeader = request.getHeader("Authorization");
@@ -55,18 +123,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 authHeader != null ? "Present" : "Missing");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String client = clientKey(request);
+            long retryAfter = rateLimiter != null ? rateLimiter.retryAfterSeconds(client) : 0;
+            if (retryAfter > 0) {
+                log.debug("Client {} throttled after failed authentications", client);
+                handleTooManyFailures(response, retryAfter);
+                return;
+            }
+
             String token = authHeader.substring(7);
 
             try {
                 // Verify token and extract user
                 UserContext user = tokenVerificationService.verifyAndExtract(token);
 
-                // Set Spring Security Context
-                List<SimpleGrantedAuthority> authorities =
-                        user.getRoles().stream().map(SimpleGrantedAuthority::new).toList();
+                // Start the permission load now, the permission check joins it later
+                if (permissionLoader != null) {
+                    permissionLoader.prefetch(user);
+                }
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(user, null, authorities);
+                // Set Spring Security Context, sharing the authorities of the role combination
+                UserContextAuthentication authentication =
+                        new UserContextAuthentication(user, roleAuthorities.authoritiesFor(user.getRoles()));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -74,11 +152,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             } catch (TokenExpiredException ex) {
                 log.warn("Token expired: {}", ex.getMessage());
-                handleAuthenticationError(response, "Token expired");
+                recordFailure(client);
+                handleAuthenticationError(response, DenyResponses.TOKEN_EXPIRED);
                 return;
             } catch (TokenVerificationException ex) {
                 log.warn("Token verification failed: {}", ex.getMessage());
-                handleAuthenticationError(response, "Invalid token");
+                recordFailure(client);
+                handleAuthenticationError(response, DenyResponses.INVALID_TOKEN);
                 return;
             }
         }
@@ -87,11 +167,47 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void handleAuthenticationError(HttpServletResponse response, String message)
+    @Override
+    public long getFilteredCount() {
+        return filtered.sum();
+    }
+
+    @Override
+    public long getBypassedCount() {
+        return bypassed.sum();
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (rateLimiter == null) {
+            return null;
+        }
+        String header = rateLimiter.getKeyHeader();
+        return rateLimiter.clientKey(
+                header != null ? request.getHeader(header) : null, request.getRemoteAddr());
+    }
+
+    private void recordFailure(String client) {
+        if (rateLimiter != null) {
+            rateLimiter.recordFailure(client);
+        }
+    }
+
+    private void handleTooManyFailures(HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        byte[] body = DenyResponses.TOO_MANY_FAILURES;
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void handleAuthenticationError(HttpServletResponse response, byte[] body)
             throws IOException {
         response.setStatus(401);
         response.setContentType("application/json");
-        response.getWriter().write(String.format("{\"error\": \"%s\"}", message));
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
 
@@ -0,0 +1,213 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.port.driving.ReactiveTokenVerificationUseCase;
+import com.a1a.shared.auth.domain.exception.TokenExpiredException;
+import com.a1a.shared.auth.domain.exception.TokenVerificationException;
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWT authentication filter for Spring Security WebFlux.
+ *
+ * <p>Reactive counterpart of {@link JwtAuthFilter}:
+ *
+ * <ul>
+ *   <li>Extracts JWT token from Authorization header
+ *   <li>Verifies token signature and expiration without blocking the event loop
+ *   <li>Stores the authenticated user in the Reactor context of the request, see {@link
+ *       ReactiveSecurityContextHolder}
+ *   <li>Optionally starts loading the user's permissions in the background
+ *   <li>Returns 401 Unauthorized on authentication errors
+ *   <li>Optionally returns 429 Too Many Requests to clients that keep failing verification, see
+ *       {@link FailedAuthRateLimiter}
+ * </ul>
+ */
+@Slf4j
+public class JwtAuthWebFilter implements WebFilter, AuthFilterStatistics {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveTokenVerificationUseCase tokenVerificationService;
+    private final PermissionLoaderUseCase permissionLoader;
+    private final WhiteListMatcher whiteListMatcher;
+    private final FailedAuthRateLimiter rateLimiter;
+
+    private final RoleAuthorities roleAuthorities = new RoleAuthorities();
+
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public JwtAuthWebFilter(ReactiveTokenVerificationUseCase tokenVerificationService) {
+        this(tokenVerificationService, null, null);
+    }
+
+    /**
+     * @param permissionLoader loader to prefetch permissions with, null disables prefetching
+     * @param whiteListMatcher paths that skip the filter, null filters every request
+     */
+    public JwtAuthWebFilter(
+            ReactiveTokenVerificationUseCase tokenVerificationService,
+            PermissionLoaderUseCase permissionLoader,
+            WhiteListMatcher whiteListMatcher) {
+        this(tokenVerificationService, permissionLoader, whiteListMatcher, null);
+    }
+
+    /**
+     * @param permissionLoader loader to prefetch permissions with, null disables prefetching
+     * @param whiteListMatcher paths that skip the filter, null filters every request
+     * @param rateLimiter limiter of failed authentications, null disables throttling
+     */
+    public JwtAuthWebFilter(
+            ReactiveTokenVerificationUseCase tokenVerificationService,
+            PermissionLoaderUseCase permissionLoader,
+            WhiteListMatcher whiteListMatcher,
+            FailedAuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.tokenVerificationService = tokenVerificationService;
+        this.permissionLoader = permissionLoader;
+        this.whiteListMatcher =
+                whiteListMatcher != null && !whiteListMatcher.isEmpty() ? whiteListMatcher : null;
+    }
+
+    @Override
+    public @NonNull Mono<Void> filter(
+            @NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (whiteListMatcher != null
+                && whiteListMatcher.matches(request.getPath().pathWithinApplication().value())) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+        filtered.increment();
+
+        // Extract token from Authorization header
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        log.debug(
+                "JwtAuthWebFilter processing request: {} {}, Header: {}",
+                request.getMethod(),
+                request.getPath(),
+                authHeader != null ? "Present" : "Missing");
+
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        String client = clientKey(request);
+        long retryAfter = rateLimiter != null ? rateLimiter.retryAfterSeconds(client) : 0;
+        if (retryAfter > 0) {
+            log.debug("Client {} throttled after failed authentications", client);
+            return handleTooManyFailures(exchange.getResponse(), retryAfter);
+        }
+
+        String token = authHeader.substring(BEARER_PREFIX.length());
+
+        return tokenVerificationService
+                .verifyAndExtract(token)
+                .map(this::authenticate)
+                .onErrorResume(
+                        TokenExpiredException.class,
+                        ex -> {
+                            log.warn("Token expired: {}", ex.getMessage());
+                            recordFailure(client);
+                            return handleAuthenticationError(exchange.getResponse(), DenyResponses.TOKEN_EXPIRED)
+                                    .then(Mono.empty());
+                        })
+                .onErrorResume(
+                        TokenVerificationException.class,
+                        ex -> {
+                            log.warn("Token verification failed: {}", ex.getMessage());
+                            recordFailure(client);
+                            return handleAuthenticationError(exchange.getResponse(), DenyResponses.INVALID_TOKEN)
+                                    .then(Mono.empty());
+                        })
+                // Any other verification error (e.g. keys unavailable) is still a 401, not a 500;
+                // it is not the client's fault, so it does not count towards the rate limit
+                .onErrorResume(
+                        ex -> {
+                            log.error("Token verification failed unexpectedly", ex);
+                            return handleAuthenticationError(exchange.getResponse(), DenyResponses.INVALID_TOKEN)
+                                    .then(Mono.empty());
+                        })
+                // Errors of the rest of the chain are not authentication errors
+                .flatMap(
+                        authentication ->
+                                chain.filter(exchange)
+                                        .contextWrite(
+                                                ReactiveSecurityContextHolder.withAuthentication(
+                                                        authentication)));
+    }
+
+    /** Number of requests the filter processed */
+    @Override
+    public long getFilteredCount() {
+        return filtered.sum();
+    }
+
+    /** Number of white-listed requests that skipped the filter */
+    @Override
+    public long getBypassedCount() {
+        return bypassed.sum();
+    }
+
+    private UserContextAuthentication authenticate(UserContext user) {
+        // Start the permission load now, the permission check joins it later
+        if (permissionLoader != null) {
+            permissionLoader.prefetch(user);
+        }
+
+        log.debug("User authenticated: {}", user.getUsername());
+        return new UserContextAuthentication(user, roleAuthorities.authoritiesFor(user.getRoles()));
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        if (rateLimiter == null) {
+            return null;
+        }
+        String header = rateLimiter.getKeyHeader();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return rateLimiter.clientKey(
+                header != null ? request.getHeaders().getFirst(header) : null,
+                remoteAddress != null ? remoteAddress.getHostString() : null);
+    }
+
+    private void recordFailure(String client) {
+        if (rateLimiter != null) {
+            rateLimiter.recordFailure(client);
+        }
+    }
+
+    private Mono<Void> handleTooManyFailures(ServerHttpResponse response, long retryAfterSeconds) {
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return writeError(response, HttpStatus.TOO_MANY_REQUESTS, DenyResponses.TOO_MANY_FAILURES);
+    }
+
+    private Mono<Void> handleAuthenticationError(ServerHttpResponse response, byte[] body) {
+        return writeError(response, HttpStatus.UNAUTHORIZED, body);
+    }
+
+    private Mono<Void> writeError(ServerHttpResponse response, HttpStatus status, byte[] body) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,110 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import com.a1a.shared.auth.domain.model.SystemRole;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared, immutable authority lists per role combination.
+ *
+ * <p>Users with the same roles get the same list instance instead of a fresh list of fresh
+ * authorities per request:
+ *
+ * <ul>
+ *   <li>an authority for every {@link SystemRole} is created up front
+ *   <li>combinations of system roles are keyed by a bitmask over {@link SystemRole#ordinal()}, so
+ *       a lookup allocates nothing
+ *   <li>combinations containing other roles are keyed by the role list itself
+ * </ul>
+ *
+ * <p>At most {@value #MAX_COMBINATIONS} combinations of each kind are kept; further combinations
+ * are built per call.
+ */
+public final class RoleAuthorities {
+    /** Maximum number of interned combinations per key kind */
+    public static final int MAX_COMBINATIONS = 1024;
+
+    private static final SystemRole[] SYSTEM_ROLES = SystemRole.values();
+    private static final boolean MASKS_SUPPORTED = SYSTEM_ROLES.length <= Long.SIZE;
+
+    private final GrantedAuthority[] systemAuthorities = new GrantedAuthority[SYSTEM_ROLES.length];
+    private final Map<String, Integer> systemRoleIndex = new HashMap<>();
+    private final ConcurrentMap<Long, List<GrantedAuthority>> byMask = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<String>, List<GrantedAuthority>> byRoles =
+            new ConcurrentHashMap<>();
+
+    public RoleAuthorities() {
+        for (SystemRole role : SYSTEM_ROLES) {
+            systemAuthorities[role.ordinal()] = new SimpleGrantedAuthority(role.getCode());
+            systemRoleIndex.put(role.getCode(), role.ordinal());
+        }
+    }
+
+    /**
+     * Authorities for a role combination.
+     *
+     * @param roles role codes, e.g. {@link com.a1a.shared.auth.domain.model.UserContext#getRoles()}
+     * @return immutable authority list, shared by all callers with the same roles
+     */
+    public List<GrantedAuthority> authoritiesFor(List<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+
+        long mask = MASKS_SUPPORTED ? systemRoleMask(roles) : -1L;
+        if (mask != -1L) {
+            List<GrantedAuthority> cached = byMask.get(mask);
+            return cached != null ? cached : intern(byMask, mask, forMask(mask));
+        }
+
+        List<GrantedAuthority> cached = byRoles.get(roles);
+        return cached != null ? cached : intern(byRoles, List.copyOf(roles), forRoles(roles));
+    }
+
+    /** Bitmask of the roles, -1 if any of them is not a system role */
+    private long systemRoleMask(List<String> roles) {
+        long mask = 0;
+        for (int i = 0; i < roles.size(); i++) {
+            Integer index = systemRoleIndex.get(roles.get(i));
+            if (index == null) {
+                return -1L;
+            }
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+    private List<GrantedAuthority> forMask(long mask) {
+        List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            authorities.add(systemAuthorities[Long.numberOfTrailingZeros(bits)]);
+        }
+        return List.copyOf(authorities);
+    }
+
+    private List<GrantedAuthority> forRoles(List<String> roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            Integer index = systemRoleIndex.get(role);
+            authorities.add(index != null ? systemAuthorities[index] : new SimpleGrantedAuthority(role));
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static <K> List<GrantedAuthority> intern(
+            ConcurrentMap<K, List<GrantedAuthority>> interned, K key, List<GrantedAuthority> authorities) {
+        if (interned.size() >= MAX_COMBINATIONS) {
+            return authorities;
+        }
+        List<GrantedAuthority> existing = interned.putIfAbsent(key, authorities);
+        return existing != null ? existing : authorities;
+    }
+}
@@ -0,0 +1,89 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import com.a1a.shared.auth.domain.model.UserContext;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Authentication of a user verified from a JWT token.
+ *
+ * <p>Unlike {@code UsernamePasswordAuthenticationToken}, the authority list is used as given
+ * rather than copied, so tokens built from {@link RoleAuthorities} share it; the token itself is
+ * the only per-request allocation.
+ */
+public final class UserContextAuthentication implements Authentication {
+    private final UserContext user;
+    private final List<GrantedAuthority> authorities;
+    private volatile boolean authenticated = true;
+
+    /**
+     * @param user verified user, the principal
+     * @param authorities immutable authority list
+     */
+    public UserContextAuthentication(UserContext user, List<GrantedAuthority> authorities) {
+        this.user = Objects.requireNonNull(user, "user");
+        this.authorities = authorities;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /** Always null; the raw token is available from the principal */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public UserContext getPrincipal() {
+        return user;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    /** Can only be revoked; a token is never marked authenticated after construction */
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (isAuthenticated) {
+            throw new IllegalArgumentException("Cannot set this token to trusted");
+        }
+        authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return user.getUsername() != null ? user.getUsername() : String.valueOf(user.getAccountId());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof UserContextAuthentication other
+                && user.equals(other.user)
+                && authenticated == other.authenticated
+                && authorities.equals(other.authorities);
+    }
+
+    @Override
+    public int hashCode() {
+        return user.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserContextAuthentication [Principal=" + getName() + ", Authorities=" + authorities + "]";
+    }
+}
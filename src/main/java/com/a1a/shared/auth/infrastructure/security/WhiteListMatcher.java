@@ -0,0 +1,151 @@
+package com.a1a.shared.auth.infrastructure.security;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Request path matcher for white-list URL patterns, compiled once at startup.
+ *
+ * <p>Patterns are split by shape:
+ *
+ * <ul>
+ *   <li>literal paths ({@code /health}) go into a hash set
+ *   <li>literal prefixes ending in {@code /**} ({@code /actuator/**}) go into a prefix trie that
+ *       matches the prefix itself and everything below it
+ *   <li>anything else ({@code /files/{id}}, {@code /docs/*.html}) is parsed once into a
+ *       {@link PathPattern}
+ * </ul>
+ *
+ * <p>The common cases therefore cost a hash lookup and a walk over the path characters; only the
+ * remaining patterns need the path to be parsed.
+ */
+public final class WhiteListMatcher {
+    private final Set<String> exact = new HashSet<>();
+    private final Node prefixes = new Node();
+    private final List<PathPattern> patterns = new ArrayList<>();
+    private boolean hasPrefixes;
+
+    /**
+     * @param whiteListUrls white-list URL patterns, nullable
+     */
+    public WhiteListMatcher(List<String> whiteListUrls) {
+        if (whiteListUrls == null) {
+            return;
+        }
+        for (String url : whiteListUrls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            String pattern = url.trim();
+            if (isLiteral(pattern)) {
+                exact.add(pattern);
+            } else if (pattern.endsWith("/**") && isLiteral(pattern.substring(0, pattern.length() - 3))) {
+                prefixes.insert(pattern.substring(0, pattern.length() - 3));
+                hasPrefixes = true;
+            } else {
+                patterns.add(PathPatternParser.defaultInstance.parse(pattern));
+            }
+        }
+    }
+
+    /** Checks if no pattern was configured */
+    public boolean isEmpty() {
+        return exact.isEmpty() && !hasPrefixes && patterns.isEmpty();
+    }
+
+    /**
+     * Checks if a request path is white-listed.
+     *
+     * @param path request path within the application (without context path)
+     * @return true if any pattern matches
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        if (exact.contains(path) || (hasPrefixes && prefixes.matchesPrefixOf(path))) {
+            return true;
+        }
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Prefix trie node; a terminal node matches when the path ends or continues with '/' */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        void insert(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefixOf(String path) {
+            Node node = this;
+            int length = path.length();
+            for (int i = 0; ; i++) {
+                if (node.terminal && (i == length || path.charAt(i) == '/' || i == 0)) {
+                    return true;
+                }
+                if (i == length) {
+                    return false;
+                }
+                node = node.child(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+
+        private Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                int n = keys.length;
+                keys = Arrays.copyOf(keys, n + 1);
+                children = Arrays.copyOf(children, n + 1);
+                keys[n] = key;
+                children[n] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.a1a.shared.auth.infrastructure.warmup;
+
+import com.a1a.shared.auth.application.dto.GatewayPermissionResponse;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.application.service.PermissionValidatorService;
+import com.a1a.shared.auth.application.service.TokenVerificationService;
+import com.a1a.shared.auth.domain.model.KeyRing;
+import com.a1a.shared.auth.domain.model.Requirement;
+import com.a1a.shared.auth.domain.model.WildcardPermissionSet;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Warm-up of the auth pipeline before the application accepts traffic.
+ *
+ * <p>Runs on {@link ApplicationReadyEvent}, which Spring Boot publishes before the readiness state
+ * changes to ACCEPTING_TRAFFIC, so a pod only becomes ready once the warm-up is done:
+ *
+ * <ol>
+ *   <li>waits a random delay of up to the configured jitter, so pods started together do not
+ *       fetch the keys at the same moment
+ *   <li>fetches the JWKS key ring unless a valid one was restored
+ *   <li>sends one unauthenticated request to the permission Gateway, which opens a pooled
+ *       connection (the answer is ignored)
+ *   <li>binds a sample Gateway response with Jackson
+ *   <li>verifies tokens minted and signed with a throw-away key, and runs permission checks
+ *       against a fixed permission set, until the iteration count or the time limit is reached
+ * </ol>
+ *
+ * <p>Synthetic work uses separate service instances without metrics, so it shares the JIT-compiled
+ * code with real requests but does not show up in metrics, audit logs or caches. Failures are
+ * logged and never prevent startup.
+ */
+@Slf4j
+public class AuthWarmUp implements ApplicationListener<ApplicationReadyEvent> {
+    private static final String SAMPLE_RESPONSE = "{\"code\":200,\"message\":\"OK\",\"data\":["
+            + "{\"groupId\":1,\"groupCode\":\"WARM_UP\",\"permissionId\":1,\"permissionCode\":\"WARM_UP_VIEW\"}]}";
+
+    private static final Requirement SAMPLE_REQUIREMENT =
+            Requirement.parse("WARM_UP_VIEW && (WARM_UP_EDIT || WARM_UP_DELETE)");
+
+    private final AuthProperties properties;
+    private final JwksPort jwksPort;
+    private final HttpClientPort gatewayHttpClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param jwksPort keys to fetch, nullable
+     * @param gatewayHttpClient client for the Gateway request, nullable
+     * @param objectMapper mapper used for Gateway responses, nullable
+     */
+    public AuthWarmUp(
+            AuthProperties properties,
+            JwksPort jwksPort,
+            HttpClientPort gatewayHttpClient,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jwksPort = jwksPort;
+        this.gatewayHttpClient = gatewayHttpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        AuthProperties.WarmUpConfig warmUp = properties.getWarmUp();
+        long start = System.nanoTime();
+        long deadline = start + warmUp.getMaxDuration().toNanos();
+
+        sleepJitter(warmUp.getJitter());
+        fetchKeys();
+        openGatewayConnection();
+        bindSampleResponse();
+        int verifications = verifyTokens(warmUp.getIterations(), deadline);
+        int checks = checkPermissions(warmUp.getIterations(), deadline);
+
+        log.info(
+                "Auth warm-up finished in {} ms ({} token verifications, {} permission checks)",
+                (System.nanoTime() - start) / 1_000_000,
+                verifications,
+                checks);
+    }
+
+    private static void sleepJitter(Duration jitter) {
+        long maxMillis = jitter.toMillis();
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fetchKeys() {
+        if (jwksPort == null || !properties.getJwks().isEnabled()) {
+            return;
+        }
+        if (jwksPort.getKeyRing().filter(ring -> ring.isValidAt(Instant.now())).isPresent()) {
+            log.debug("Auth warm-up: valid key ring already loaded");
+            return;
+        }
+        try {
+            jwksPort.refreshKeys();
+            log.debug(
+                    "Auth warm-up: fetched {} JWKS key(s)",
+                    jwksPort.getKeyRing().map(KeyRing::getKeys).map(List::size).orElse(0));
+        } catch (RuntimeException e) {
+            log.warn("Auth warm-up: failed to fetch JWKS keys: {}", e.getMessage());
+        }
+    }
+
+    private void openGatewayConnection() {
+        String url = properties.getPermission().getUrl();
+        if (gatewayHttpClient == null || url == null || url.isBlank()) {
+            return;
+        }
+        Duration timeout = properties.getPermission().getReadTimeout();
+        try {
+            Integer status = gatewayHttpClient
+                    .get(url, Map.of(), Void.class)
+                    .map(HttpClientPort.Response::status)
+                    .block(timeout != null ? timeout : Duration.ofSeconds(5));
+            log.debug("Auth warm-up: Gateway answered {}", status);
+        } catch (RuntimeException e) {
+            log.warn("Auth warm-up: Gateway not reachable: {}", e.getMessage());
+        }
+    }
+
+    private void bindSampleResponse() {
+        if (objectMapper == null) {
+            return;
+        }
+        try {
+            objectMapper.readValue(SAMPLE_RESPONSE, GatewayPermissionResponse.class);
+        } catch (Exception e) {
+            log.warn("Auth warm-up: failed to bind sample Gateway response: {}", e.getMessage());
+        }
+    }
+
+    private int verifyTokens(int iterations, long deadline) {
+        KeyPair keyPair;
+        String token;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            keyPair = generator.generateKeyPair();
+            token = mintToken((RSAPrivateKey) keyPair.getPrivate());
+        } catch (NoSuchAlgorithmException | JOSEException e) {
+            log.warn("Auth warm-up: failed to mint a token: {}", e.getMessage());
+            return 0;
+        }
+
+        AuthProperties verifierProperties = new AuthProperties();
+        verifierProperties.getJwks().setEnabled(true);
+        verifierProperties.getValidation().setValidateExpiration(true);
+        verifierProperties.getValidation().setClockSkew(Duration.ZERO);
+        verifierProperties.getValidation().setClaimsParser(properties.getValidation().getClaimsParser());
+        TokenVerificationService verifier = new TokenVerificationService(null, verifierProperties);
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        int done = 0;
+        try {
+            while (done < iterations && System.nanoTime() < deadline) {
+                verifier.verifyAndExtract(token, publicKey);
+                done++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Auth warm-up: token verification failed: {}", e.getMessage());
+        }
+        return done;
+    }
+
+    private static String mintToken(RSAPrivateKey privateKey) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("warm-up")
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .claim(
+                        "account",
+                        Map.of(
+                                "id", 0L,
+                                "username", "warm-up",
+                                "groups", List.of(Map.of("groupCode", "WARM_UP"))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        jwt.sign(new RSASSASigner(privateKey));
+        return jwt.serialize();
+    }
+
+    private static int checkPermissions(int iterations, long deadline) {
+        Set<String> permissions = WildcardPermissionSet.of(List.of("WARM_UP_VIEW", "WARM_UP_EDIT", "OTHER_*"));
+        PermissionLoaderUseCase loader = new PermissionLoaderUseCase() {
+            @Override
+            public Set<String> loadPermissions(Long userId) {
+                return permissions;
+            }
+
+            @Override
+            public void invalidate(Long userId) {}
+        };
+        PermissionValidatorService validator = new PermissionValidatorService(loader);
+
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            validator.hasPermission(0L, "WARM_UP_VIEW");
+            validator.hasAnyPermission(0L, "WARM_UP_DELETE", "OTHER_VIEW");
+            validator.hasAllPermissions(0L, "WARM_UP_VIEW", "WARM_UP_EDIT");
+            validator.satisfies(0L, SAMPLE_REQUIREMENT);
+            done++;
+        }
+        return done;
+    }
+}
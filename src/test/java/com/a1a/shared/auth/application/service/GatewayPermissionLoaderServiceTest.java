@@ -0,0 +1,173 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driving.GatewayPermissionClientUseCase;
+import com.a1a.shared.auth.application.port.driving.GetAuthenticatedUserUseCase;
+import com.a1a.shared.auth.domain.exception.GatewayUnavailableException;
+import com.a1a.shared.auth.domain.model.AccountKey;
+import com.a1a.shared.auth.domain.model.PermissionSnapshot;
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Users of two trusted issuers that share an account id must never see each other's permissions,
+ * whether from the cache, an in-flight prefetch or the stale-if-error fallback; an invalidation
+ * must not be undone by a load that was already in flight.
+ */
+class GatewayPermissionLoaderServiceTest {
+    private static final long SHARED_ACCOUNT_ID = 7L;
+
+    private static final UserContext PRIMARY_USER = user("https://auth.a1a.test", "primary-token");
+    private static final UserContext PARTNER_USER = user("https://idp.partner.test", "partner-token");
+
+    private static final Map<String, Set<String>> PERMISSIONS_BY_TOKEN = Map.of(
+            "primary-token", Set.of("ORDER_READ", "ORDER_WRITE"),
+            "partner-token", Set.of("ORDER_READ"));
+
+    private final AtomicReference<UserContext> currentUser = new AtomicReference<>();
+    private final AtomicBoolean gatewayDown = new AtomicBoolean();
+    private final CaffeineAdapter<AccountKey, PermissionSnapshot> cache =
+            new CaffeineAdapter<>(Caffeine.newBuilder().build());
+
+    @Test
+    void cachedPermissionsAreNotServedToAnotherIssuersUser() {
+        GatewayPermissionLoaderService loader = loader(this::fetch, null);
+
+        assertThat(loadAs(loader, PRIMARY_USER)).containsExactlyInAnyOrder("ORDER_READ", "ORDER_WRITE");
+        assertThat(loadAs(loader, PARTNER_USER)).containsExactly("ORDER_READ");
+        assertThat(loadAs(loader, PRIMARY_USER)).containsExactlyInAnyOrder("ORDER_READ", "ORDER_WRITE");
+    }
+
+    @Test
+    void inFlightPrefetchIsNotJoinedByAnotherIssuersUser() throws Exception {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        GatewayPermissionClientUseCase slowPrimary = token -> {
+            if (token.equals("primary-token")) {
+                release.join();
+            }
+            return fetch(token);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GatewayPermissionLoaderService loader = loader(slowPrimary, executor);
+            loader.prefetch(PRIMARY_USER);
+
+            assertThat(loadAs(loader, PARTNER_USER)).containsExactly("ORDER_READ");
+            assertThat(loader.getPrefetchJoinCount()).isZero();
+        } finally {
+            release.complete(null);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stalePermissionsAreNotServedToAnotherIssuersUser() {
+        GatewayPermissionLoaderService loader = loader(this::fetch, null, Duration.ZERO);
+        loadAs(loader, PRIMARY_USER);
+
+        gatewayDown.set(true);
+
+        assertThat(loadAs(loader, PARTNER_USER)).isEmpty();
+        assertThat(loadAs(loader, PRIMARY_USER)).containsExactlyInAnyOrder("ORDER_READ", "ORDER_WRITE");
+    }
+
+    @Test
+    void invalidateDropsTheAccountOfEveryIssuer() {
+        GatewayPermissionLoaderService loader = loader(this::fetch, null);
+        loadAs(loader, PRIMARY_USER);
+        loadAs(loader, PARTNER_USER);
+
+        loader.invalidate(SHARED_ACCOUNT_ID);
+
+        assertThat(cache.entries()).isEmpty();
+    }
+
+    @Test
+    void invalidateIsNotUndoneByALoadThatWasInFlight() throws Exception {
+        CompletableFuture<Void> called = new CompletableFuture<>();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        AtomicBoolean revoked = new AtomicBoolean();
+        GatewayPermissionClientUseCase slowClient = token -> {
+            if (!revoked.get()) {
+                // Answer of before the revocation, delivered after it
+                called.complete(null);
+                release.join();
+                return Set.of("ORDER_READ", "ORDER_WRITE");
+            }
+            return Set.of("ORDER_READ");
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GatewayPermissionLoaderService loader = loader(slowClient, executor);
+            loader.prefetch(PRIMARY_USER);
+            called.join();
+
+            revoked.set(true);
+            loader.invalidate(SHARED_ACCOUNT_ID);
+            release.complete(null);
+            executor.submit(() -> {}).get();
+
+            assertThat(cache.entries()).isEmpty();
+            assertThat(loadAs(loader, PRIMARY_USER)).containsExactly("ORDER_READ");
+            assertThat(loader.getPrefetchJoinCount()).isZero();
+        } finally {
+            release.complete(null);
+            executor.shutdown();
+        }
+    }
+
+    private Set<String> fetch(String token) {
+        if (gatewayDown.get()) {
+            throw new GatewayUnavailableException("Gateway is down");
+        }
+        return PERMISSIONS_BY_TOKEN.get(token);
+    }
+
+    private GatewayPermissionLoaderService loader(GatewayPermissionClientUseCase client, ExecutorService prefetch) {
+        return loader(client, prefetch, Duration.ofMinutes(5));
+    }
+
+    private GatewayPermissionLoaderService loader(
+            GatewayPermissionClientUseCase client, ExecutorService prefetch, Duration freshTtl) {
+        GetAuthenticatedUserUseCase getAuthenticatedUser = new GetAuthenticatedUserUseCase() {
+            @Override
+            public UserContext getCurrentUser() {
+                return currentUser.get();
+            }
+
+            @Override
+            public boolean isAuthenticated() {
+                return currentUser.get() != null;
+            }
+        };
+        return new GatewayPermissionLoaderService(
+                client, getAuthenticatedUser, cache, freshTtl, Duration.ofHours(1), prefetch);
+    }
+
+    private Set<String> loadAs(GatewayPermissionLoaderService loader, UserContext user) {
+        currentUser.set(user);
+        return loader.loadPermissions(user.getAccountId());
+    }
+
+    private static UserContext user(String issuer, String token) {
+        return UserContext.builder()
+                .accountId(SHARED_ACCOUNT_ID)
+                .username("user-" + SHARED_ACCOUNT_ID)
+                .issuer(issuer)
+                .rawToken(token)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.a1a.shared.auth.application.service;
+
+import com.a1a.shared.auth.application.port.driven.JwksPort;
+import com.a1a.shared.auth.application.port.driving.PermissionLoaderUseCase;
+import com.a1a.shared.auth.domain.exception.TokenVerificationException;
+import com.a1a.shared.auth.domain.model.Requirement;
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.infrastructure.config.AuthProperties;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies a minted RS256 token and checks the user's permissions, end to end through the
+ * services. Also runs as a native executable with {@code mvn -Pnative test}.
+ */
+class TokenVerificationAndPermissionTest {
+    private static final long ACCOUNT_ID = 42L;
+
+    private static KeyPair keyPair;
+
+    @BeforeAll
+    static void generateKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    void verifiesTokenAndChecksPermissions() throws Exception {
+        UserContext user = verificationService(keyPair).verifyAndExtract(mint(keyPair));
+
+        assertThat(user.getAccountId()).isEqualTo(ACCOUNT_ID);
+        assertThat(user.getUsername()).isEqualTo("jdoe");
+        assertThat(user.getRoles()).containsExactly("ACC_LEADER");
+
+        PermissionValidatorService validator = new PermissionValidatorService(loader(Set.of("ORDER_READ")));
+        assertThat(validator.hasPermission(user.getAccountId(), "ORDER_READ")).isTrue();
+        assertThat(validator.hasAllPermissions(user.getAccountId(), "ORDER_READ", "ORDER_WRITE")).isFalse();
+        assertThat(validator.satisfies(user.getAccountId(), Requirement.parse("ORDER_READ || ORDER_WRITE")))
+                .isTrue();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = mint(generator.generateKeyPair());
+
+        assertThatThrownBy(() -> verificationService(keyPair).verifyAndExtract(token))
+                .isInstanceOf(TokenVerificationException.class);
+    }
+
+    private static TokenVerificationService verificationService(KeyPair trusted) {
+        AuthProperties properties = new AuthProperties();
+        properties.getJwks().setEnabled(true);
+        RSAPublicKey publicKey = (RSAPublicKey) trusted.getPublic();
+        JwksPort jwksPort = new JwksPort() {
+            @Override
+            public RSAPublicKey getPublicKey() {
+                return publicKey;
+            }
+
+            @Override
+            public void refreshKeys() {}
+        };
+        return new TokenVerificationService(jwksPort, properties);
+    }
+
+    private static String mint(KeyPair signer) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer("https://auth.example.test")
+                .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                .claim(
+                        "account",
+                        Map.of(
+                                "id", ACCOUNT_ID,
+                                "username", "jdoe",
+                                "groups", List.of(Map.of("groupCode", "ACC_LEADER"))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        jwt.sign(new RSASSASigner(signer.getPrivate()));
+        return jwt.serialize();
+    }
+
+    private static PermissionLoaderUseCase loader(Set<String> permissions) {
+        return new PermissionLoaderUseCase() {
+            @Override
+            public Set<String> loadPermissions(Long userId) {
+                return userId == ACCOUNT_ID ? permissions : Set.of();
+            }
+
+            @Override
+            public void invalidate(Long userId) {}
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.a1a.shared.auth.infrastructure.adapter.snapshot;
+
+import com.a1a.shared.auth.application.port.driven.AuthMetricsPort;
+import com.a1a.shared.auth.application.port.driven.HttpClientPort;
+import com.a1a.shared.auth.infrastructure.adapter.JwksAdapter;
+import com.a1a.shared.auth.infrastructure.adapter.cache.CaffeineAdapter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JWKS public keys written to the snapshot are served after a restart until the JWKS endpoint
+ * confirms or replaces them.
+ */
+class FileSnapshotStoreTest {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private static RSAPublicKey previousKey;
+    private static RSAPublicKey rotatedKey;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        previousKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+        rotatedKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+    }
+
+    @Test
+    void restoredKeysAreServedWhileTheJwksEndpointIsDown() {
+        Path file = writeSnapshotOf(previousKey, "previous");
+        JwksAdapter restarted = jwksAdapter(Mono.error(new IllegalStateException("JWKS endpoint is down")));
+
+        store(file, restarted, SECRET).restore();
+
+        assertThat(restarted.getPublicKey()).isEqualTo(previousKey);
+        assertThat(restarted.getKeyRing()).map(ring -> ring.getKeys().get(0).getKeyId()).contains("previous");
+    }
+
+    @Test
+    void fetchedKeysReplaceTheRestoredOnes() {
+        Path file = writeSnapshotOf(previousKey, "previous");
+        JwksAdapter restarted = jwksAdapter(Mono.just(jwks(rotatedKey, "rotated")));
+
+        store(file, restarted, SECRET).restore();
+
+        assertThat(restarted.getPublicKey()).isEqualTo(rotatedKey);
+        assertThat(restarted.getKeyRing()).map(ring -> ring.getKeys().get(0).getKeyId()).contains("rotated");
+    }
+
+    @Test
+    void keysOfASnapshotWrittenWithAnotherSecretAreNotRestored() {
+        Path file = writeSnapshotOf(previousKey, "previous");
+        JwksAdapter restarted = jwksAdapter(Mono.never());
+        byte[] otherSecret = Arrays.copyOf(SECRET, SECRET.length);
+        otherSecret[0] ^= 1;
+
+        store(file, restarted, otherSecret).restore();
+
+        assertThat(restarted.getKeyRing()).isEmpty();
+    }
+
+    private Path writeSnapshotOf(RSAPublicKey key, String keyId) {
+        Path file = directory.resolve("auth.snapshot");
+        JwksAdapter running = jwksAdapter(Mono.just(jwks(key, keyId)));
+        running.refreshKeys();
+        store(file, running, SECRET).write();
+        return file;
+    }
+
+    private static FileSnapshotStore store(Path file, JwksAdapter jwksAdapter, byte[] secret) {
+        return new FileSnapshotStore(file, Duration.ofMinutes(1), jwksAdapter, null, null, secret);
+    }
+
+    private static JwksAdapter jwksAdapter(Mono<Map<String, Object>> body) {
+        HttpClientPort httpClient = new HttpClientPort() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> Mono<Response<T>> get(String url, Map<String, String> headers, Class<T> bodyType) {
+                return body.map(jwks -> new Response<>(200, null, -1, (T) jwks));
+            }
+        };
+        return new JwksAdapter(
+                httpClient,
+                "https://auth.a1a.test/jwks",
+                Duration.ofMinutes(5),
+                new CaffeineAdapter<String, RSAPublicKey>(Caffeine.newBuilder().build()),
+                AuthMetricsPort.NONE);
+    }
+
+    private static Map<String, Object> jwks(RSAPublicKey key, String keyId) {
+        return Map.of("keys", List.of(Map.of(
+                "kty", "RSA",
+                "alg", "RS256",
+                "kid", keyId,
+                "n", base64Url(key.getModulus()),
+                "e", base64Url(key.getPublicExponent()))));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
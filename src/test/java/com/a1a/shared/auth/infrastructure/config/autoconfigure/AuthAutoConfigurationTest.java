@@ -0,0 +1,153 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.port.annotation.RequireAllPermissions;
+import com.a1a.shared.auth.application.port.annotation.RequirePermission;
+import com.a1a.shared.auth.domain.exception.PermissionException;
+import com.a1a.shared.auth.domain.model.UserContext;
+import com.a1a.shared.auth.infrastructure.aspect.PermissionCheckAspect;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Starts the auto-configuration against a stub Gateway: annotated beans are proxied by the
+ * permission aspect, and the Gateway's JSON answer is bound with the application's ObjectMapper.
+ */
+class AuthAutoConfigurationTest {
+    private static final String GATEWAY_RESPONSE = """
+            {
+              "code": 200,
+              "message": "OK",
+              "data": [
+                {
+                  "groupId": 1,
+                  "groupCode": "ACC_LEADER",
+                  "groupName": "Account leader",
+                  "permissionId": 10,
+                  "permissionCode": "ORDER_READ",
+                  "permissionGroupName": "Orders",
+                  "menuId": 100,
+                  "menuCode": "ORDERS"
+                }
+              ]
+            }
+            """;
+
+    private static HttpServer gateway;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    AopAutoConfiguration.class, JacksonAutoConfiguration.class, AuthAutoConfiguration.class))
+            .withUserConfiguration(OrderServiceConfiguration.class)
+            .withPropertyValues(
+                    "a1a.auth.jwks.enabled=false",
+                    "app.auth.http.client=jdk",
+                    "app.auth.permission.url=http://localhost:" + gateway.getAddress().getPort() + "/permissions");
+
+    @BeforeAll
+    static void startGateway() throws IOException {
+        gateway = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        gateway.createContext("/permissions", exchange -> {
+            boolean authorized = "Bearer access-token".equals(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] body = GATEWAY_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(authorized ? 200 : 401, authorized ? body.length : -1);
+            if (authorized) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        gateway.start();
+    }
+
+    @AfterAll
+    static void stopGateway() {
+        gateway.stop(0);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void annotatedBeanIsProxiedByThePermissionAspect() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(PermissionCheckAspect.class);
+            assertThat(AopUtils.isAopProxy(context.getBean(OrderService.class))).isTrue();
+        });
+    }
+
+    @Test
+    void permissionsBoundFromTheGatewayResponseDecideAnnotatedCalls() {
+        contextRunner.run(context -> {
+            OrderService orders = context.getBean(OrderService.class);
+            authenticate();
+
+            assertThat(orders.read()).isEqualTo("orders");
+            assertThatThrownBy(orders::write).isInstanceOf(PermissionException.class);
+            assertThatThrownBy(orders::readAndWrite).isInstanceOf(PermissionException.class);
+        });
+    }
+
+    private static void authenticate() {
+        UserContext user = UserContext.builder()
+                .accountId(42L)
+                .username("jdoe")
+                .issuer("https://auth.a1a.test")
+                .rawToken("access-token")
+                .build();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class OrderServiceConfiguration {
+
+        @Bean
+        OrderService orderService() {
+            return new OrderService();
+        }
+    }
+
+    static class OrderService {
+
+        @RequirePermission("ORDER_READ")
+        public String read() {
+            return "orders";
+        }
+
+        @RequirePermission("ORDER_WRITE")
+        public String write() {
+            return "written";
+        }
+
+        @RequireAllPermissions({"ORDER_READ", "ORDER_WRITE"})
+        public String readAndWrite() {
+            return "read and written";
+        }
+    }
+}
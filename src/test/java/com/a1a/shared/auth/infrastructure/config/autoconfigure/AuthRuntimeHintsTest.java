@@ -0,0 +1,82 @@
+package com.a1a.shared.auth.infrastructure.config.autoconfigure;
+
+import com.a1a.shared.auth.application.dto.ApiError;
+import com.a1a.shared.auth.application.dto.GatewayPermissionResponse;
+import com.a1a.shared.auth.application.port.annotation.RequireAnyRole;
+import com.a1a.shared.auth.application.port.annotation.RequirePermission;
+import com.a1a.shared.auth.application.port.annotation.RequirePermissionExpr;
+import com.a1a.shared.auth.infrastructure.aspect.PermissionCheckAspect;
+import com.a1a.shared.auth.infrastructure.aspect.RoleCheckAspect;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Native image hints registered by {@link AuthRuntimeHints}. */
+class AuthRuntimeHintsTest {
+
+    private final RuntimeHints hints = registeredHints();
+
+    @Test
+    void isRegisteredThroughAotFactories() {
+        assertThat(SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+                        .load(RuntimeHintsRegistrar.class))
+                .hasAtLeastOneElementOfType(AuthRuntimeHints.class);
+    }
+
+    @Test
+    void registersJacksonBindingOfResponseBodies() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(GatewayPermissionResponse.class, "setData").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                        .onMethod(GatewayPermissionResponse.PermissionData.class, "setPermissionCode").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ApiError.class, "getMessage").invoke())
+                .accepts(hints);
+    }
+
+    @Test
+    void registersAdviceMethodsAndAnnotationAttributes() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                        .onMethod(PermissionCheckAspect.class, "checkSinglePermission").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(RoleCheckAspect.class, "checkAnyRole").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(RequirePermission.class, "value").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(RequirePermissionExpr.class, "value").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(RequireAnyRole.class, "value").invoke())
+                .accepts(hints);
+    }
+
+    @Test
+    void registersJdkRsaProviderClasses() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                        .onType(TypeReference.of("sun.security.rsa.RSAKeyFactory$Legacy"))
+                        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                        .onType(TypeReference.of("sun.security.rsa.RSASignature$SHA256withRSA"))
+                        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                .accepts(hints);
+    }
+
+    @Test
+    void registersFlightRecorderSettings() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/jfr/a1a-auth.jfc"))
+                .accepts(hints);
+    }
+
+    private static RuntimeHints registeredHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new AuthRuntimeHints().registerHints(hints, AuthRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+}